@@ -52,7 +52,11 @@
  * longitude is within the area returned.
  *
  * The output CSV file contains the input truth and the result fields for easy
- * evaluation.
+ * evaluation. A summary CSV file is also written with the distance and area
+ * percentiles, and the proportion of areas containing the true location,
+ * overall and for each location confidence, continent and address family.
+ * The summary is aggregated as the results are produced so that evaluating a
+ * data file needs only one pass.
  *
  * This example is available in full on [GitHub](https://github.com/51Degrees/ip-intelligence-java-examples/blob/main/console/src/main/java/fiftyone/ipintelligence/examples/console/CompareOnPrem.java).
  *
@@ -71,6 +75,10 @@ import fiftyone.ipintelligence.IPIntelligencePipelineBuilder;
 import fiftyone.ipintelligence.engine.onpremise.flowelements.IPIntelligenceOnPremiseEngine;
 import fiftyone.ipintelligence.examples.console.areas.Calculations;
 import fiftyone.ipintelligence.examples.console.areas.Result;
+import fiftyone.ipintelligence.examples.console.areas.WkbCache;
+import fiftyone.ipintelligence.examples.console.batch.OrderedProcessor;
+import fiftyone.ipintelligence.examples.console.comparison.AccuracySummary;
+import fiftyone.ipintelligence.examples.console.comparison.IpDeduplicator;
 import fiftyone.ipintelligence.examples.shared.DataFileHelper;
 import fiftyone.ipintelligence.shared.IPIntelligenceData;
 import fiftyone.pipeline.core.data.FlowData;
@@ -80,19 +88,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileWriter;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
 
 import static fiftyone.common.testhelpers.LogbackHelper.configureLogback;
 import static fiftyone.ipintelligence.examples.shared.DataFileHelper.ENTERPRISE_DATA_FILE_REL_PATH;
@@ -122,12 +129,42 @@ public class CompareOnPrem {
      */
     public static final String DEFAULT_OUTPUT_FILE = "compare-output.csv";
 
+    /**
+     * Default name of the summary file written to the working directory.
+     */
+    public static final String DEFAULT_SUMMARY_FILE = "compare-summary.csv";
+
     /**
      * Mean radius of the earth in kilometers, used in the haversine distance
      * calculation.
      */
     private static final double EARTH_RADIUS_KM = 6371.0;
 
+    /**
+     * Number of truth records per processor that can be read ahead of the
+     * output writer. Limits the memory used regardless of the size of the
+     * truth file.
+     */
+    private static final int WINDOW_PER_PROCESSOR = 64;
+
+    /**
+     * De-duplication mode that records every IP address exactly.
+     */
+    public static final String DEDUP_EXACT = "exact";
+
+    /**
+     * Prefix of the de-duplication mode that records IP addresses exactly up
+     * to a limit, then changes to a Bloom filter, for example
+     * "exact:4000000:0.001".
+     */
+    public static final String DEDUP_BOUNDED_PREFIX = DEDUP_EXACT + ":";
+
+    /**
+     * Approximate number of bytes per record in a truth file, used to size
+     * the IP address de-duplicator from the size of the file.
+     */
+    private static final long BYTES_PER_TRUTH = 64;
+
     /**
      * A record of latitude, longitude, IP address, and a date time that is
      * considered truthful for the purposes of comparing with an IP to
@@ -155,6 +192,30 @@ public class CompareOnPrem {
         }
     }
 
+    /**
+     * The result of comparing a truth record with the IP Intelligence
+     * result, holding the output CSV line and the fields aggregated in the
+     * summary.
+     */
+    private static class Comparison {
+        final String line;
+        final String confidence;
+        final String continent;
+        final String addressFamily;
+        final double distanceKms;
+        final Result area;
+
+        Comparison(String line, String confidence, String continent,
+                   String addressFamily, double distanceKms, Result area) {
+            this.line = line;
+            this.confidence = confidence;
+            this.continent = continent;
+            this.addressFamily = addressFamily;
+            this.distanceKms = distanceKms;
+            this.area = area;
+        }
+    }
+
     public static void main(String[] args) throws Exception {
         configureLogback(getFilePath("logback.xml"));
 
@@ -164,11 +225,22 @@ public class CompareOnPrem {
         String csvTruthFile = args.length > 1 ? args[1] : GEOIP_COMPARISON_EVIDENCE_REL_PATH;
         // Get the location for the output file
         String outputFile = args.length > 2 ? args[2] : DEFAULT_OUTPUT_FILE;
-
+        // Either "exact", a false positive rate such as 0.001 to use an
+        // approximate de-duplicator of fixed size for very large files, or
+        // "exact:<limit>:<rate>" to be exact up to the limit then approximate
+        String dedup = args.length > 3 ? args[3] : DEDUP_EXACT;
+        // Get the location for the summary file
+        String summaryFile = args.length > 4 ? args[4] : DEFAULT_SUMMARY_FILE;
+
+        AccuracySummary summary;
         try (PrintWriter writer = new PrintWriter(new FileWriter(outputFile))) {
-            run(dataFile, csvTruthFile, writer);
+            summary = run(dataFile, csvTruthFile, writer, dedup);
         }
         logger.info("Output written to '{}'", outputFile);
+        try (PrintWriter writer = new PrintWriter(new FileWriter(summaryFile))) {
+            summary.write(writer);
+        }
+        logger.info("Summary written to '{}'", summaryFile);
     }
 
     /**
@@ -180,6 +252,28 @@ public class CompareOnPrem {
     public static void run(String dataFile,
                            String csvTruthFile,
                            PrintWriter output) throws Exception {
+        run(dataFile, csvTruthFile, output, DEDUP_EXACT);
+    }
+
+    /**
+     * Run the example
+     * @param dataFile an IP Intelligence data file
+     * @param csvTruthFile a CSV file of truth records
+     * @param output somewhere for the result CSV
+     * @param dedup {@link #DEDUP_EXACT} to skip every repeated IP address,
+     *              a false positive rate such as "0.001" to use a fixed size
+     *              Bloom filter which may also skip that proportion of unique
+     *              IP addresses, or {@link #DEDUP_BOUNDED_PREFIX} followed by
+     *              a limit and false positive rate, such as
+     *              "exact:4000000:0.001", to skip every repeated IP address
+     *              until there are more than the limit, then use a Bloom
+     *              filter
+     * @return summary of the accuracy of the results
+     */
+    public static AccuracySummary run(String dataFile,
+                                      String csvTruthFile,
+                                      PrintWriter output,
+                                      String dedup) throws Exception {
         logger.info("Running CompareOnPrem example");
 
         String dataFileLocation;
@@ -219,93 +313,203 @@ public class CompareOnPrem {
                 .setConcurrency(processors)
                 .build()) {
 
-            // Read the truth records, skipping duplicate IP addresses.
-            List<Truth> truths = readTruths(truthFile);
-            logger.info("Read '{}' unique truth records from '{}'",
-                    truths.size(), truthFile);
-
             // Write the output header combining the truth and result fields.
             output.println("DateTimeUtc,Latitude,Longitude,Ip,AddressFamily," +
                     "Continent,Country,LatitudeResult,LongitudeResult," +
                     "Confidence,DistanceKms,SquareKms,Geometries,Contains");
 
-            // Process the truth records in parallel. The IP Intelligence
-            // engine and the area calculations are thread safe.
-            ExecutorService executor = Executors.newFixedThreadPool(processors);
-            try {
-                List<Future<String>> futures = new ArrayList<>();
-                for (Truth truth : truths) {
-                    futures.add(executor.submit(() -> processTruth(pipeline, truth)));
-                }
-                int processed = 0;
-                for (Future<String> future : futures) {
-                    String line = future.get();
-                    if (line != null) {
-                        output.println(line);
-                    }
-                    processed++;
-                    if (processed % 1000 == 0) {
-                        logger.info("Processed '{}' truth records", processed);
-                    }
-                }
-                logger.info("Finished processing '{}' truth records", processed);
-            } finally {
-                executor.shutdown();
+            // Many IP addresses share the same areas. Keep the binary form of
+            // each area so that the WKT text is only parsed once.
+            WkbCache areaCache = new WkbCache();
+
+            // Aggregate the accuracy as the results are written. Results
+            // are passed to the sink on a single thread so no locking is
+            // needed.
+            AccuracySummary summary = new AccuracySummary();
+
+            // Stream the truth records through the workers in parallel. The
+            // IP Intelligence engine and the area calculations are thread
+            // safe. Only a fixed window of records is held in memory, and
+            // the results are written in the same order as the truth file.
+            OrderedProcessor<Truth, Comparison> processor = new OrderedProcessor<>(
+                    processors,
+                    processors * WINDOW_PER_PROCESSOR);
+            try (IpDeduplicator ips = createDeduplicator(dedup, truthFile);
+                 TruthReader truths = new TruthReader(truthFile, ips)) {
+                long processed = processor.run(
+                        truths,
+                        truth -> processTruth(pipeline, areaCache, truth),
+                        (sequence, comparison) -> {
+                            if (comparison != null) {
+                                output.println(comparison.line);
+                                summary.add(
+                                        comparison.confidence,
+                                        comparison.continent,
+                                        comparison.addressFamily,
+                                        comparison.distanceKms,
+                                        comparison.area.getSquareKms(),
+                                        comparison.area.getContains());
+                            }
+                            if ((sequence + 1) % 1000 == 0) {
+                                logger.info("Processed '{}' truth records",
+                                        sequence + 1);
+                            }
+                        });
+                logger.info("Finished processing '{}' unique truth records " +
+                        "from '{}'", processed, truthFile);
+                logger.info("Cached '{}' distinct areas using '{}' bytes",
+                        areaCache.size(), areaCache.getBytes());
             }
             output.flush();
 
+            AccuracySummary.Group all = summary.getGroup(
+                    AccuracySummary.ALL, AccuracySummary.ALL);
+            if (all != null) {
+                logger.info("Median distance '{}' kms, 90th percentile " +
+                        "'{}' kms, area contains truth for '{}' of '{}' " +
+                        "results",
+                        String.format("%.3f", all.getDistanceKms().getQuantile(0.5)),
+                        String.format("%.3f", all.getDistanceKms().getQuantile(0.9)),
+                        all.getContains(),
+                        all.getCount());
+            }
+
             // Finally log the data file used for consistency with the other
             // examples.
             IPIntelligenceOnPremiseEngine engine =
                     pipeline.getElement(IPIntelligenceOnPremiseEngine.class);
             DataFileHelper.logDataFileInfo(engine);
+            return summary;
         }
     }
 
     /**
-     * Read the truth records from the CSV file provided, skipping records
-     * with IP addresses that have already been seen.
+     * Creates the de-duplicator for the mode provided, sized for the number
+     * of records estimated from the size of the truth file.
      */
-    private static List<Truth> readTruths(File csvFile) throws Exception {
-        List<Truth> truths = new ArrayList<>();
-        Set<String> ips = new HashSet<>();
-        try (BufferedReader reader = Files.newBufferedReader(
-                csvFile.toPath(), StandardCharsets.UTF_8)) {
-            // skip the header line
-            String line = reader.readLine();
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) {
-                    continue;
-                }
-                String[] fields = line.split(",", -1);
-                if (fields.length < 4) {
-                    continue;
+    private static IpDeduplicator createDeduplicator(String dedup, File truthFile) {
+        long expected = Math.max(1, truthFile.length() / BYTES_PER_TRUTH);
+        if (dedup == null || DEDUP_EXACT.equalsIgnoreCase(dedup)) {
+            return IpDeduplicator.exact(expected);
+        }
+        if (dedup.regionMatches(true, 0, DEDUP_BOUNDED_PREFIX, 0,
+                DEDUP_BOUNDED_PREFIX.length())) {
+            String[] parts = dedup.substring(
+                    DEDUP_BOUNDED_PREFIX.length()).split(":");
+            long limit;
+            double falsePositiveRate;
+            try {
+                if (parts.length != 2) {
+                    throw new NumberFormatException();
                 }
-                // Fields are DateTimeUtc, Latitude, Longitude, Ip,
-                // AddressFamily, Continent, Country
-                String ip = fields[3].trim();
-                if (ips.add(ip) == false) {
-                    continue;
+                limit = Long.parseLong(parts[0]);
+                falsePositiveRate = Double.parseDouble(parts[1]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(
+                        "De-duplication mode must be '" + DEDUP_BOUNDED_PREFIX +
+                        "<limit>:<false positive rate>', not '" + dedup + "'", e);
+            }
+            logger.info("Using exact de-duplication of up to '{}' IP " +
+                    "addresses, then a false positive rate of '{}'",
+                    limit, falsePositiveRate);
+            return IpDeduplicator.bounded(limit, expected, falsePositiveRate);
+        }
+        double falsePositiveRate;
+        try {
+            falsePositiveRate = Double.parseDouble(dedup);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(
+                    "De-duplication mode must be '" + DEDUP_EXACT + "', '" +
+                    DEDUP_BOUNDED_PREFIX + "<limit>:<false positive rate>' " +
+                    "or a false positive rate, not '" + dedup + "'", e);
+        }
+        logger.info("Using approximate de-duplication of '{}' expected IP " +
+                "addresses with a false positive rate of '{}'",
+                expected, falsePositiveRate);
+        return IpDeduplicator.approximate(expected, falsePositiveRate);
+    }
+
+    /**
+     * Reads the truth records from the CSV file provided one at a time,
+     * skipping records with IP addresses that have already been seen.
+     */
+    private static class TruthReader implements Iterator<Truth>, Closeable {
+
+        private final BufferedReader reader;
+
+        private final IpDeduplicator ips;
+
+        private Truth next;
+
+        TruthReader(File csvFile, IpDeduplicator ips) throws IOException {
+            this.ips = ips;
+            reader = Files.newBufferedReader(
+                    csvFile.toPath(), StandardCharsets.UTF_8);
+            // skip the header line
+            reader.readLine();
+            next = readNext();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Truth next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Truth current = next;
+            next = readNext();
+            return current;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+        private Truth readNext() {
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.trim().isEmpty()) {
+                        continue;
+                    }
+                    String[] fields = line.split(",", -1);
+                    if (fields.length < 4) {
+                        continue;
+                    }
+                    // Fields are DateTimeUtc, Latitude, Longitude, Ip,
+                    // AddressFamily, Continent, Country
+                    String ip = fields[3].trim();
+                    if (ips.add(ip) == false) {
+                        continue;
+                    }
+                    return new Truth(
+                            fields[0].trim(),
+                            Double.parseDouble(fields[1].trim()),
+                            Double.parseDouble(fields[2].trim()),
+                            ip,
+                            fields.length > 4 ? fields[4].trim() : "",
+                            fields.length > 5 ? fields[5].trim() : "",
+                            fields.length > 6 ? fields[6].trim() : "");
                 }
-                truths.add(new Truth(
-                        fields[0].trim(),
-                        Double.parseDouble(fields[1].trim()),
-                        Double.parseDouble(fields[2].trim()),
-                        ip,
-                        fields.length > 4 ? fields[4].trim() : "",
-                        fields.length > 5 ? fields[5].trim() : "",
-                        fields.length > 6 ? fields[6].trim() : ""));
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
         }
-        return truths;
     }
 
     /**
-     * Process the specific truth record returning the output CSV line, or
-     * null where the IP address was not found in the data file.
+     * Process the specific truth record returning the comparison, or null
+     * where the IP address was not found in the data file.
      */
-    private static String processTruth(Pipeline pipeline, Truth truth)
-            throws Exception {
+    private static Comparison processTruth(Pipeline pipeline,
+                                       WkbCache areaCache,
+                                       Truth truth) throws Exception {
         // Get the data for the IP address.
         try (FlowData flowData = pipeline.createFlowData()) {
             flowData.addEvidence("query.client-ip", truth.ip);
@@ -337,13 +541,15 @@ public class CompareOnPrem {
                     latitude, longitude);
 
             // Get the area result for the returned data and the true latitude
-            // and longitude.
+            // and longitude. Large areas are split across the common pool so
+            // that a single very large area does not hold up the worker.
             Result area = Calculations.getAreas(
-                    areas.toString(),
+                    areaCache.getGeometry(areas.toString()),
                     truth.latitude,
-                    truth.longitude);
+                    truth.longitude,
+                    ForkJoinPool.commonPool());
 
-            return truth.dateTimeUtc + "," +
+            String line = truth.dateTimeUtc + "," +
                     truth.latitude + "," +
                     truth.longitude + "," +
                     truth.ip + "," +
@@ -357,6 +563,8 @@ public class CompareOnPrem {
                     area.getSquareKms() + "," +
                     area.getGeometries() + "," +
                     area.getContains();
+            return new Comparison(line, confidence, truth.continent,
+                    addressFamily, distanceKms, area);
         }
     }
 
@@ -0,0 +1,209 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+/*!
+ * @example console/EnrichAccessLog.java
+ *
+ * This example enriches a web server access log, such as the nginx or Apache
+ * combined log format, with IP Intelligence properties for the client IP
+ * address at the start of each line.
+ *
+ * The log file is memory mapped and split at line boundaries into chunks which
+ * are processed in parallel. The client IP address is found by scanning the
+ * bytes of each line, and repeated IP addresses are answered from a result
+ * cache. Each line is written unchanged followed by a tab and the value of
+ * each selected property, separated by tabs, in the same order as the input.
+ *
+ * The example takes the following arguments:
+ *
+ * - IP Intelligence data file
+ * - access log file
+ * - output file (default enriched-access.log)
+ * - comma separated property names (default RegisteredCountry,RegisteredName)
+ *
+ * This example is available in full on [GitHub](https://github.com/51Degrees/ip-intelligence-java-examples/blob/main/console/src/main/java/fiftyone/ipintelligence/examples/console/EnrichAccessLog.java).
+ *
+ * This example requires an enterprise IP Intelligence data file (.ipi).
+ * To obtain an enterprise data file for testing, please [contact us](https://51degrees.com/contact-us?utm_source=code&utm_medium=example&utm_campaign=ip-intelligence-java-examples&utm_content=console-src-main-java-fiftyone-ipintelligence-examples-console-enrichaccesslog.java&utm_term=contact-us).
+ *
+ * Required Maven Dependencies:
+ * - [com.51degrees:ip-intelligence](https://central.sonatype.com/artifact/com.51degrees/ip-intelligence)
+ */
+
+package fiftyone.ipintelligence.examples.console;
+
+import fiftyone.ipintelligence.IPIntelligenceOnPremisePipelineBuilder;
+import fiftyone.ipintelligence.IPIntelligencePipelineBuilder;
+import fiftyone.ipintelligence.engine.onpremise.flowelements.IPIntelligenceOnPremiseEngine;
+import fiftyone.ipintelligence.examples.console.offline.AccessLogEnricher;
+import fiftyone.ipintelligence.examples.shared.DataFileHelper;
+import fiftyone.ipintelligence.examples.shared.IpResultCache;
+import fiftyone.pipeline.core.flowelements.Pipeline;
+import fiftyone.pipeline.engines.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import static fiftyone.common.testhelpers.LogbackHelper.configureLogback;
+import static fiftyone.ipintelligence.examples.shared.DataFileHelper.ENTERPRISE_DATA_FILE_REL_PATH;
+import static fiftyone.pipeline.util.FileFinder.getFilePath;
+
+/**
+ * Enriches a web server access log with IP Intelligence properties for the
+ * client IP address of each line.
+ */
+public class EnrichAccessLog {
+    private static final Logger logger = LoggerFactory.getLogger(EnrichAccessLog.class);
+
+    /**
+     * Default name of the output file written to the working directory.
+     */
+    public static final String DEFAULT_OUTPUT_FILE = "enriched-access.log";
+
+    /**
+     * Properties added to each line if none are provided.
+     */
+    public static final List<String> DEFAULT_PROPERTIES = Arrays.asList(
+            "RegisteredCountry",
+            "RegisteredName");
+
+    /**
+     * Number of distinct IP addresses to cache the results for.
+     */
+    private static final int CACHE_SIZE = 1000000;
+
+    /**
+     * Size of the buffer used to write the output.
+     */
+    private static final int OUTPUT_BUFFER_SIZE = 1024 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        configureLogback(getFilePath("logback.xml"));
+
+        String dataFile = args.length > 0 ? args[0] : ENTERPRISE_DATA_FILE_REL_PATH;
+        if (args.length < 2) {
+            logger.error("Please provide the path to an access log file " +
+                    "after the data file");
+            return;
+        }
+        Path logFile = Paths.get(args[1]);
+        Path outputFile = Paths.get(args.length > 2 ? args[2] : DEFAULT_OUTPUT_FILE);
+        List<String> properties = args.length > 3 ?
+                Arrays.asList(args[3].split(",")) :
+                DEFAULT_PROPERTIES;
+
+        try (OutputStream output = new BufferedOutputStream(
+                Files.newOutputStream(outputFile), OUTPUT_BUFFER_SIZE)) {
+            run(dataFile, logFile, properties, output);
+        }
+        logger.info("Output written to '{}'", outputFile);
+    }
+
+    /**
+     * Run the example
+     * @param dataFile an IP Intelligence data file
+     * @param logFile an access log with the client IP address at the start of
+     *                each line
+     * @param properties names of the properties to add to each line
+     * @param output somewhere for the enriched log
+     * @return the number of lines enriched
+     */
+    public static long run(String dataFile,
+                           Path logFile,
+                           List<String> properties,
+                           OutputStream output) throws Exception {
+        logger.info("Running EnrichAccessLog example");
+
+        String dataFileLocation;
+        try {
+            dataFileLocation = DataFileHelper.getDataFileLocation(dataFile);
+        } catch (Exception e) {
+            logger.error("Failed to find IP Intelligence data file at '{}'. " +
+                    "Please provide a valid path to an IP Intelligence data file (.ipi).", dataFile);
+            throw e;
+        }
+
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        // Build a pipeline restricted to the properties needed so that each
+        // lookup does as little work as possible.
+        IPIntelligenceOnPremisePipelineBuilder builder = new IPIntelligencePipelineBuilder()
+                .useOnPremise(dataFileLocation, false)
+                .setPerformanceProfile(Constants.PerformanceProfiles.MaxPerformance)
+                // inhibit sharing usage for this example
+                .setShareUsage(false)
+                // inhibit auto-update of the data file for this example
+                .setAutoUpdate(false)
+                .setDataUpdateOnStartup(false)
+                .setDataFileSystemWatcher(false)
+                // Optimize for the number of worker threads.
+                .setConcurrency(threads);
+        for (String property : properties) {
+            builder.setProperty(property);
+        }
+
+        try (Pipeline pipeline = builder.build()) {
+
+            // Access logs repeat the same clients many times, so cache the
+            // results for each IP address.
+            IpResultCache cache = new IpResultCache.Builder()
+                    .setMaximumSize(CACHE_SIZE)
+                    .setConcurrency(threads)
+                    .setProperties(properties)
+                    .build(pipeline);
+
+            AccessLogEnricher enricher = new AccessLogEnricher(
+                    ip -> {
+                        IpResultCache.Result result = cache.lookup(ip);
+                        String[] values = new String[properties.size()];
+                        for (int i = 0; i < values.length; i++) {
+                            values[i] = result.get(i);
+                        }
+                        return values;
+                    },
+                    threads,
+                    AccessLogEnricher.DEFAULT_CHUNK_SIZE);
+
+            long start = System.nanoTime();
+            long lines = enricher.enrich(logFile, output);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            logger.info("Enriched '{}' lines in '{}' seconds, '{}' MB/s, " +
+                    "cache hit rate '{}'",
+                    lines,
+                    String.format("%.1f", seconds),
+                    String.format("%.1f", Files.size(logFile) / 1e6 / seconds),
+                    String.format("%.3f", cache.getHitRate()));
+
+            IPIntelligenceOnPremiseEngine engine =
+                    pipeline.getElement(IPIntelligenceOnPremiseEngine.class);
+            DataFileHelper.logDataFileInfo(engine);
+            return lines;
+        }
+    }
+}
@@ -40,6 +40,15 @@
  * advanced operation this example can be used to experiment with tuning IP Intelligence for
  * performance using Performance Profile settings.
  *
+ * For production use the example also provides a batch mode, see `runBatch`,
+ * which processes every record in the evidence stream across several worker
+ * threads sharing the same pipeline. Results are written in the same order as
+ * the evidence and the output is flushed once per batch rather than once per
+ * record. As well as YAML, the batch mode can write newline delimited JSON or
+ * CSV with a fixed set of columns, which are much faster to write and for
+ * other tools to read, or a compact columnar binary file for loading into
+ * analytics tools.
+ *
  * Evidence files can be obtained from the [ip-intelligence-data repository](https://github.com/51Degrees/ip-intelligence-data).
  *
  * This example is available in full on [GitHub](https://github.com/51Degrees/ip-intelligence-java-examples/blob/main/console/src/main/java/fiftyone/ipintelligence/examples/console/OfflineProcessing.java).
@@ -54,7 +63,13 @@
 package fiftyone.ipintelligence.examples.console;
 
 import fiftyone.ipintelligence.IPIntelligencePipelineBuilder;
+import fiftyone.ipintelligence.examples.console.batch.OrderedProcessor;
+import fiftyone.ipintelligence.examples.console.offline.ColumnarWriter;
+import fiftyone.ipintelligence.examples.console.offline.DistinctIpBatch;
+import fiftyone.ipintelligence.examples.console.offline.OutputFormat;
 import fiftyone.ipintelligence.examples.shared.DataFileHelper;
+import fiftyone.ipintelligence.examples.shared.IpResultCache;
+import fiftyone.ipintelligence.examples.shared.PropertyHelper;
 import fiftyone.ipintelligence.engine.onpremise.flowelements.IPIntelligenceOnPremiseEngine;
 import fiftyone.ipintelligence.shared.IPIntelligenceData;
 import fiftyone.pipeline.core.data.FlowData;
@@ -67,10 +82,15 @@ import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static fiftyone.common.testhelpers.LogbackHelper.configureLogback;
@@ -92,6 +112,10 @@ import static fiftyone.pipeline.util.FileFinder.getFilePath;
  * As well as explaining the basic operation of offline processing using the defaults, for advanced
  * operation this example can be used to experiment with tuning IP Intelligence for performance
  * using Performance Profile settings.
+ * <p>
+ * {@link #runBatch(String, InputStream, OutputStream, int, int, OutputFormat)}
+ * processes an unlimited stream of evidence in parallel for offline
+ * enrichment of large log files.
  */
 public class OfflineProcessing {
     static final Logger logger = LoggerFactory.getLogger(OfflineProcessing.class);
@@ -106,12 +130,89 @@ public class OfflineProcessing {
     public static final String HEADER_EVIDENCE_YML =
             dataDir + "/evidence.yml";
 
+    /**
+     * Number of records written between each flush of the output in batch
+     * mode.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * Number of records per worker thread that can be read ahead of the
+     * output writer in batch mode.
+     */
+    private static final int WINDOW_PER_THREAD = 64;
+
+    /**
+     * Size of the output buffer in batch mode.
+     */
+    private static final int OUTPUT_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Evidence written to the output in batch mode.
+     */
+    private static final String[] EVIDENCE_COLUMNS = {"server.client-ip"};
+
+    /**
+     * Columns written to the output in batch mode, the evidence followed by
+     * the IP Intelligence properties.
+     */
+    public static final String[] BATCH_COLUMNS = {
+            EVIDENCE_COLUMNS[0],
+            "ip.RegisteredName",
+            "ip.RegisteredOwner",
+            "ip.RegisteredCountry"};
+
+    /**
+     * IP Intelligence properties in the {@link #BATCH_COLUMNS} stored by the
+     * optional result cache.
+     */
+    private static final List<String> CACHED_PROPERTIES = Arrays.asList(
+            "RegisteredName",
+            "RegisteredOwner",
+            "RegisteredCountry");
+
     public static void main(String[] args) throws Exception {
         configureLogback(getFilePath("logback.xml"));
 
         // Use provided data file argument, or fall back to default data file path
         String dataFile = (args.length > 0) ? args[0] : ENTERPRISE_DATA_FILE_REL_PATH;
-        
+
+        if (args.length > 1) {
+            // An evidence file was provided so process all of it in batch
+            // mode. Optionally an output file, the number of threads, and
+            // the output format (yaml, ndjson, csv or columnar) can also be
+            // provided, followed by the number of IP addresses to cache where
+            // the evidence contains repeated IP addresses.
+            File evidenceFile = getFilePath(args[1]);
+            int threads = args.length > 3 ?
+                    Integer.parseInt(args[3]) :
+                    Runtime.getRuntime().availableProcessors();
+            String formatName = args.length > 4 ? args[4] : "yaml";
+            int cacheSize = args.length > 5 ? Integer.parseInt(args[5]) : 0;
+            try (InputStream is = new BufferedInputStream(
+                    Files.newInputStream(evidenceFile.toPath()))) {
+                if ("columnar".equalsIgnoreCase(formatName)) {
+                    // The binary output must be written to a file.
+                    try (OutputStream os = Files.newOutputStream(new File(
+                            args.length > 2 ? args[2] : "offline-output.col").toPath())) {
+                        runColumnar(dataFile, is, os, threads,
+                                ColumnarWriter.DEFAULT_ROW_GROUP_SIZE, cacheSize);
+                    }
+                    return;
+                }
+                OutputFormat format = OutputFormat.forName(formatName, BATCH_COLUMNS);
+                if (args.length > 2) {
+                    try (OutputStream os = Files.newOutputStream(
+                            new File(args[2]).toPath())) {
+                        runBatch(dataFile, is, os, threads, DEFAULT_BATCH_SIZE, format, cacheSize);
+                    }
+                } else {
+                    runBatch(dataFile, is, System.out, threads, DEFAULT_BATCH_SIZE, format, cacheSize);
+                }
+            }
+            return;
+        }
+
         File evidenceFile = getFilePath(HEADER_EVIDENCE_YML);
         run(dataFile, Files.newInputStream(evidenceFile.toPath()), System.out);
     }
@@ -258,6 +359,299 @@ public class OfflineProcessing {
         }
     }
 	
+    /**
+     * Process all the YAML evidence documents in parallel and create a YAML
+     * output containing the processed evidence in the same order.
+     *
+     * @param dataFile  the 51Degrees on premise data file containing
+     *                  information about IP addresses
+     * @param is        an InputStream containing YAML documents - one per IP
+     *                  address
+     * @param os        an OutputStream for the processed data
+     * @param threads   number of worker threads
+     * @param batchSize number of records written between each flush
+     * @return the number of records processed
+     */
+    public static long runBatch(
+            String dataFile,
+            InputStream is,
+            OutputStream os,
+            int threads,
+            int batchSize) throws Exception {
+        return runBatch(dataFile, is, os, threads, batchSize,
+                OutputFormat.forName("yaml", BATCH_COLUMNS), 0);
+    }
+
+    /**
+     * Process all the YAML evidence documents in parallel and write the
+     * {@link #BATCH_COLUMNS} of each record in the output format provided,
+     * in the same order as the evidence. Each worker thread shares the
+     * pipeline and renders its own records, the calling thread writes them
+     * to a buffered writer which is flushed after each batch.
+     *
+     * @param dataFile  the 51Degrees on premise data file containing
+     *                  information about IP addresses
+     * @param is        an InputStream containing YAML documents - one per IP
+     *                  address
+     * @param os        an OutputStream for the processed data
+     * @param threads   number of worker threads
+     * @param batchSize number of records written between each flush
+     * @param format    the format of the output
+     * @param cacheSize number of IP addresses to cache the results for, or 0
+     *                  to process every record with the pipeline
+     * @return the number of records processed
+     */
+    public static long runBatch(
+            String dataFile,
+            InputStream is,
+            OutputStream os,
+            int threads,
+            int batchSize,
+            OutputFormat format,
+            int cacheSize) throws Exception {
+        // Each worker reuses its own builder to render the records.
+        ThreadLocal<StringBuilder> builders = ThreadLocal.withInitial(
+                () -> new StringBuilder(256));
+
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(os, StandardCharsets.UTF_8),
+                OUTPUT_BUFFER_SIZE)) {
+            format.start(writer);
+            long count = processBatch(
+                    dataFile,
+                    is,
+                    threads,
+                    cacheSize,
+                    values -> {
+                        StringBuilder builder = builders.get();
+                        builder.setLength(0);
+                        format.format(values, builder);
+                        return builder.toString();
+                    },
+                    (sequence, document) -> {
+                        writer.write(document);
+                        if ((sequence + 1) % batchSize == 0) {
+                            writer.flush();
+                            logger.info("Processed {} records", sequence + 1);
+                        }
+                    });
+            format.end(writer);
+            writer.flush();
+            return count;
+        }
+    }
+
+    /**
+     * Process all the YAML evidence documents in parallel and write the
+     * {@link #BATCH_COLUMNS} of each record to a columnar binary file that
+     * can be read one column at a time. See {@link ColumnarWriter} for the
+     * layout. Repeated values such as countries are dictionary encoded in
+     * each row group, so the output is much smaller than the text formats.
+     *
+     * @param dataFile     the 51Degrees on premise data file containing
+     *                     information about IP addresses
+     * @param is           an InputStream containing YAML documents - one per
+     *                     IP address
+     * @param os           an OutputStream for the columnar file
+     * @param threads      number of worker threads
+     * @param rowGroupSize number of rows in each row group
+     * @param cacheSize    number of IP addresses to cache the results for,
+     *                     or 0 to process every record with the pipeline
+     * @return the number of records processed
+     */
+    public static long runColumnar(
+            String dataFile,
+            InputStream is,
+            OutputStream os,
+            int threads,
+            int rowGroupSize,
+            int cacheSize) throws Exception {
+        try (ColumnarWriter writer = new ColumnarWriter(
+                os, BATCH_COLUMNS, rowGroupSize)) {
+            return processBatch(
+                    dataFile,
+                    is,
+                    threads,
+                    cacheSize,
+                    values -> values,
+                    (sequence, values) -> {
+                        writer.write(values);
+                        if ((sequence + 1) % rowGroupSize == 0) {
+                            logger.info("Processed {} records", sequence + 1);
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Processes the YAML evidence documents across the worker threads
+     * sharing a single pipeline. The {@link #BATCH_COLUMNS} values for each
+     * record are rendered by the worker, and the results passed to the sink
+     * on the calling thread in the same order as the evidence. If the cache
+     * size is greater than zero repeated IP addresses are answered from an
+     * {@link IpResultCache}, which holds the same strings as are written
+     * without the cache.
+     */
+    @SuppressWarnings("unchecked")
+    private static <R> long processBatch(
+            String dataFile,
+            InputStream is,
+            int threads,
+            int cacheSize,
+            Function<String[], R> render,
+            OrderedProcessor.Sink<R> sink) throws Exception {
+
+        String dataFileLocation;
+        try {
+            dataFileLocation = DataFileHelper.getDataFileLocation(dataFile);
+        } catch (Exception e) {
+            logger.error("Failed to find IP Intelligence data file at '{}'. " +
+                    "Please provide a valid path to an IP Intelligence data file (.ipi). " +
+                    "An explicit path can be supplied via the {} environment variable.",
+                    dataFile, DataFileHelper.IPI_PATH_ENV_VAR);
+            throw e;
+        }
+
+        // The loader is only used by the single thread reading the evidence.
+        Iterator<Object> evidenceIterator = new Yaml().loadAll(is).iterator();
+
+        logger.info("Constructing pipeline with on-premise IP Intelligence " +
+                "engine from file {} for {} threads", dataFile, threads);
+        try (Pipeline pipeline = new IPIntelligencePipelineBuilder()
+                .useOnPremise(dataFileLocation, false)
+                .setShareUsage(false)
+                .setAutoUpdate(false)
+                .setPerformanceProfile(Constants.PerformanceProfiles.MaxPerformance)
+                // Optimize for the number of worker threads.
+                .setConcurrency(threads)
+                .build()) {
+
+            IPIntelligenceOnPremiseEngine engine = pipeline.getElement(IPIntelligenceOnPremiseEngine.class);
+            logger.info("IP Intelligence data file was created {}", engine.getDataFilePublishedDate());
+
+            OrderedProcessor<Map<String, String>, R> processor =
+                    new OrderedProcessor<>(threads, threads * WINDOW_PER_THREAD);
+            Iterator<Map<String, String>> records = new Iterator<Map<String, String>>() {
+                @Override
+                public boolean hasNext() {
+                    return evidenceIterator.hasNext();
+                }
+
+                @Override
+                public Map<String, String> next() {
+                    return (Map<String, String>) evidenceIterator.next();
+                }
+            };
+
+            IpResultCache cache = cacheSize > 0 ?
+                    new IpResultCache.Builder()
+                            .setMaximumSize(cacheSize)
+                            .setConcurrency(threads)
+                            .setProperties(CACHED_PROPERTIES)
+                            .setFormatter(PropertyHelper::valueAsString)
+                            .build(pipeline) :
+                    null;
+
+            long count = processor.run(
+                    records,
+                    // Records without an IP address are processed as
+                    // they would be without the cache.
+                    evidence -> render.apply(
+                            cache == null || evidence.get(EVIDENCE_COLUMNS[0]) == null ?
+                                    processRecord(pipeline, evidence) :
+                                    processRecord(cache, evidence)),
+                    sink);
+            logger.info("Finished processing {} records", count);
+            if (cache != null) {
+                logger.info("Result cache hit rate {}",
+                        String.format("%.3f", cache.getHitRate()));
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Process a single evidence record returning the values of the
+     * {@link #BATCH_COLUMNS}. Called concurrently by the batch mode workers.
+     */
+    private static String[] processRecord(
+            Pipeline pipeline,
+            Map<String, String> evidence) throws Exception {
+        try (FlowData flowData = pipeline.createFlowData()) {
+            flowData.addEvidence(filterEvidence(evidence, "server."));
+            flowData.process();
+            IPIntelligenceData ipData = flowData.get(IPIntelligenceData.class);
+
+            // Values in the same order as the BATCH_COLUMNS.
+            String[] values = new String[BATCH_COLUMNS.length];
+            Object ip = evidence.get(EVIDENCE_COLUMNS[0]);
+            values[0] = ip == null ? null : ip.toString();
+            values[1] = asStringProperty(ipData.getRegisteredName());
+            values[2] = asStringProperty(ipData.getRegisteredOwner());
+            values[3] = asStringProperty(ipData.getRegisteredCountry());
+            return values;
+        }
+    }
+
+    /**
+     * Get the values of the {@link #BATCH_COLUMNS} for every record in a
+     * batch of evidence, such as the requests from a few seconds of an
+     * access log. Each distinct client IP address is processed by the
+     * pipeline once and the result shared by all the records with that IP
+     * address, so the number of lookups depends on the distinct IP
+     * addresses rather than the number of records.
+     *
+     * @param pipeline a pipeline containing an IP Intelligence engine
+     * @param batch    evidence records containing a client IP address
+     * @return the values for each record in the same order as the batch
+     */
+    public static List<String[]> processDistinct(
+            Pipeline pipeline,
+            List<Map<String, String>> batch) throws Exception {
+        DistinctIpBatch<String[]> results = DistinctIpBatch.processWithStats(
+                batch,
+                evidence -> {
+                    // Use whichever evidence key the record has for the IP
+                    // address, the value is the same for every record in
+                    // the group.
+                    Map<String, String> ipEvidence = new HashMap<>();
+                    String ip = DistinctIpBatch.ipOf(evidence);
+                    if (ip != null) {
+                        ipEvidence.put(EVIDENCE_COLUMNS[0], ip);
+                    }
+                    return processRecord(pipeline, ipEvidence);
+                });
+        logger.debug("Processed {} records with {} lookups",
+                batch.size(), results.getLookups());
+
+        // Records with the same IP address share the result, so give each
+        // record its own copy with its own evidence value.
+        List<String[]> values = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            String[] recordValues = results.getResults().get(i).clone();
+            recordValues[0] = DistinctIpBatch.ipOf(batch.get(i));
+            values.add(recordValues);
+        }
+        return values;
+    }
+
+    /**
+     * Get the values of the {@link #BATCH_COLUMNS} for a single evidence
+     * record with an IP address from the result cache, only processing IP
+     * addresses which are not already cached.
+     */
+    private static String[] processRecord(
+            IpResultCache cache,
+            Map<String, String> evidence) throws Exception {
+        String[] values = new String[BATCH_COLUMNS.length];
+        values[0] = evidence.get(EVIDENCE_COLUMNS[0]).toString();
+        IpResultCache.Result result = cache.lookup(values[0]);
+        for (int i = 0; i < CACHED_PROPERTIES.size(); i++) {
+            values[i + 1] = result.get(i);
+        }
+        return values;
+    }
+
     /**
      * Filter entries that are not keyed on the required prefix
      *
@@ -0,0 +1,146 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+/*!
+ * @example console/SharedEngineOnPrem.java
+ *
+ * This example shows how several pipelines in one process can share a single on-premise IP
+ * Intelligence engine, so that the data file is loaded into memory once rather than once for
+ * each pipeline.
+ *
+ * A service often needs more than one pipeline, for example one with only IP Intelligence,
+ * one which also includes Device Detection, and one which builds JSON responses. Building each
+ * with `useOnPremise(...)` creates an engine per pipeline, each with its own copy of the data.
+ * Instead the engine is taken from a `SharedEngineRegistry`, keyed by the data file and
+ * performance profile, and added to each pipeline:
+ * ``` {java}
+ *     SharedEngineRegistry.SharedPipeline shared = SharedEngineRegistry.getInstance()
+ *         .build(dataFileLocation, Constants.PerformanceProfiles.MaxPerformance,
+ *             engine -> new PipelineBuilder()
+ *                 .addFlowElement(engine)
+ *                 .build());
+ * ```
+ * The registry counts the pipelines using each engine, and closes the engine when the last of
+ * them is closed. The pipelines must not be set to close their elements themselves.
+ *
+ * This example is available in full on [GitHub](https://github.com/51Degrees/ip-intelligence-java-examples/blob/main/console/src/main/java/fiftyone/ipintelligence/examples/console/SharedEngineOnPrem.java).
+ *
+ * Required Maven Dependencies:
+ * - [com.51degrees:ip-intelligence](https://central.sonatype.com/artifact/com.51degrees/ip-intelligence)
+ *
+ * This example requires an enterprise IP Intelligence data file (.ipi).
+ * To obtain an enterprise data file for testing, please [contact us](https://51degrees.com/contact-us?utm_source=code&utm_medium=example&utm_campaign=ip-intelligence-java-examples&utm_content=console-src-main-java-fiftyone-ipintelligence-examples-console-sharedengineonprem.java&utm_term=header).
+ */
+
+package fiftyone.ipintelligence.examples.console;
+
+import fiftyone.ipintelligence.examples.shared.DataFileHelper;
+import fiftyone.ipintelligence.examples.shared.SharedEngineRegistry;
+import fiftyone.ipintelligence.shared.IPIntelligenceData;
+import fiftyone.pipeline.core.data.FlowData;
+import fiftyone.pipeline.core.flowelements.Pipeline;
+import fiftyone.pipeline.core.flowelements.PipelineBuilder;
+import fiftyone.pipeline.engines.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.io.PrintWriter;
+
+import static fiftyone.common.testhelpers.LogbackHelper.configureLogback;
+import static fiftyone.ipintelligence.examples.shared.DataFileHelper.ENTERPRISE_DATA_FILE_REL_PATH;
+import static fiftyone.ipintelligence.examples.shared.PropertyHelper.asStringProperty;
+import static fiftyone.ipintelligence.examples.shared.PropertyHelper.tryGet;
+import static fiftyone.pipeline.util.FileFinder.getFilePath;
+
+/**
+ * Builds two pipelines sharing one engine, and shows the engine remains
+ * usable until the last of them is closed.
+ */
+public class SharedEngineOnPrem {
+    private static final Logger logger = LoggerFactory.getLogger(SharedEngineOnPrem.class);
+
+    /**
+     * IP address looked up in each pipeline.
+     */
+    public static final String IP_ADDRESS = "116.154.188.222";
+
+    public static void main(String[] args) throws Exception {
+        configureLogback(getFilePath("logback.xml"));
+        String dataFile = args.length > 0 ? args[0] : ENTERPRISE_DATA_FILE_REL_PATH;
+        run(dataFile, System.out);
+    }
+
+    /**
+     * Runs the example.
+     * @param dataFile the data file to use
+     * @param output where to write the results
+     */
+    public static void run(String dataFile, OutputStream output) throws Exception {
+        logger.info("Running SharedEngineOnPrem example");
+        String dataFileLocation = DataFileHelper.getDataFileLocation(dataFile);
+        SharedEngineRegistry registry = SharedEngineRegistry.getInstance();
+        Constants.PerformanceProfiles profile = Constants.PerformanceProfiles.MaxPerformance;
+        PrintWriter writer = new PrintWriter(output);
+
+        // the first pipeline is closed part way through, and again, with no
+        // further effect, by the try-with-resources
+        try (SharedEngineRegistry.SharedPipeline first = registry.build(
+                dataFileLocation, profile,
+                engine -> new PipelineBuilder(LoggerFactory.getILoggerFactory())
+                        .addFlowElement(engine)
+                        .build());
+             SharedEngineRegistry.SharedPipeline second = registry.build(
+                dataFileLocation, profile,
+                engine -> new PipelineBuilder(LoggerFactory.getILoggerFactory())
+                        .setSuppressProcessExceptions(true)
+                        .addFlowElement(engine)
+                        .build())) {
+            writer.format("Pipelines share one engine: %b, references %d%n",
+                    first.getEngine() == second.getEngine(),
+                    registry.getReferences(dataFileLocation, profile));
+            lookup("First pipeline", first.getPipeline(), writer);
+            lookup("Second pipeline", second.getPipeline(), writer);
+
+            // the engine stays open while the second pipeline uses it
+            first.close();
+            writer.format("After closing the first pipeline, references %d%n",
+                    registry.getReferences(dataFileLocation, profile));
+            lookup("Second pipeline", second.getPipeline(), writer);
+        }
+        writer.format("After closing both pipelines, references %d%n",
+                registry.getReferences(dataFileLocation, profile));
+        writer.flush();
+        logger.info("Finished SharedEngineOnPrem example");
+    }
+
+    private static void lookup(String name,
+                               Pipeline pipeline,
+                               PrintWriter writer) throws Exception {
+        try (FlowData flowData = pipeline.createFlowData()) {
+            flowData.addEvidence("query.client-ip", IP_ADDRESS).process();
+            IPIntelligenceData data = flowData.get(IPIntelligenceData.class);
+            writer.format("%s: %s registered name %s%n", name, IP_ADDRESS,
+                    asStringProperty(tryGet(data::getRegisteredName)));
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+/*!
+ * @example console/SharedPageCacheOnPrem.java
+ *
+ * This example shows how to run several on-premise pipelines on one host without each holding
+ * its own copy of the data file in memory, and how to warm the data file before serving so that
+ * the first lookups are not slowed by reads from disk.
+ *
+ * The MaxPerformance profile loads the whole data file into memory owned by the process, so
+ * each process on a host pays for a private copy. The LowMemory profile instead reads the data
+ * file as it is needed, through the operating system page cache. The page cache is shared by
+ * every process reading the same file, so when the pipeline is built without a temporary copy
+ * of the data file
+ * ``` {java}
+ *     .useOnPremise(dataFileLocation, false)
+ *     .setPerformanceProfile(Constants.PerformanceProfiles.LowMemory)
+ * ```
+ * all the processes share one copy of the data in memory.
+ *
+ * Before the pipeline serves requests, the data file, or the first part of it, can be loaded into
+ * the page cache with `PageCacheWarmer`, which maps the file and touches every page in order.
+ * ``` {java}
+ *     PageCacheWarmer.warm(Paths.get(dataFileLocation));
+ * ```
+ *
+ * The example reports the time taken to warm the data file, to build the pipeline, and the
+ * average time of the first lookups. On Linux the growth in the resident memory of the process
+ * is also reported. Run it with the warm-up size 0 and again with -1 (the whole file) to see the
+ * difference warming makes to the first lookups. Since the engine has no option to map the data
+ * file itself, the LowMemory profile reading the shared file is the closest equivalent.
+ *
+ * This example is available in full on [GitHub](https://github.com/51Degrees/ip-intelligence-java-examples/blob/main/console/src/main/java/fiftyone/ipintelligence/examples/console/SharedPageCacheOnPrem.java).
+ *
+ * Required Maven Dependencies:
+ * - [com.51degrees:ip-intelligence](https://central.sonatype.com/artifact/com.51degrees/ip-intelligence)
+ *
+ * This example requires an enterprise IP Intelligence data file (.ipi).
+ * To obtain an enterprise data file for testing, please [contact us](https://51degrees.com/contact-us?utm_source=code&utm_medium=example&utm_campaign=ip-intelligence-java-examples&utm_content=console-src-main-java-fiftyone-ipintelligence-examples-console-sharedpagecacheonprem.java&utm_term=header).
+ */
+
+package fiftyone.ipintelligence.examples.console;
+
+import fiftyone.ipintelligence.IPIntelligencePipelineBuilder;
+import fiftyone.ipintelligence.examples.shared.DataFileHelper;
+import fiftyone.ipintelligence.examples.shared.EvidenceHelper;
+import fiftyone.ipintelligence.examples.shared.PageCacheWarmer;
+import fiftyone.ipintelligence.shared.IPIntelligenceData;
+import fiftyone.pipeline.core.data.FlowData;
+import fiftyone.pipeline.core.flowelements.Pipeline;
+import fiftyone.pipeline.engines.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import static fiftyone.common.testhelpers.LogbackHelper.configureLogback;
+import static fiftyone.ipintelligence.examples.shared.DataFileHelper.ENTERPRISE_DATA_FILE_REL_PATH;
+import static fiftyone.ipintelligence.examples.shared.DataFileHelper.getEvidenceFile;
+import static fiftyone.ipintelligence.examples.shared.PropertyHelper.tryGet;
+import static fiftyone.pipeline.util.FileFinder.getFilePath;
+
+/**
+ * Builds a LowMemory pipeline which reads the data file through the shared
+ * page cache, optionally warming the data file first.
+ */
+public class SharedPageCacheOnPrem {
+    private static final Logger logger = LoggerFactory.getLogger(SharedPageCacheOnPrem.class);
+
+    /**
+     * Number of lookups timed after the pipeline is built.
+     */
+    public static final int FIRST_LOOKUPS = 1000;
+
+    /**
+     * Warm-up size which warms the whole data file.
+     */
+    public static final long WARM_ALL = -1;
+
+    public static void main(String[] args) throws Exception {
+        configureLogback(getFilePath("logback.xml"));
+        String dataFile = args.length > 0 ? args[0] : ENTERPRISE_DATA_FILE_REL_PATH;
+        long warmUpBytes = args.length > 1 ? Long.parseLong(args[1]) : WARM_ALL;
+        run(dataFile, warmUpBytes, System.out);
+    }
+
+    /**
+     * Runs the example.
+     * @param dataFile the data file to use
+     * @param warmUpBytes number of bytes from the start of the data file to
+     *                    load into the page cache before building the
+     *                    pipeline, {@link #WARM_ALL} for the whole file, or 0
+     *                    for none
+     * @param output where to write the report
+     */
+    public static void run(String dataFile,
+                           long warmUpBytes,
+                           OutputStream output) throws Exception {
+        logger.info("Running SharedPageCacheOnPrem example");
+        String dataFileLocation = DataFileHelper.getDataFileLocation(dataFile);
+        List<Map<String, String>> evidence =
+                EvidenceHelper.getEvidenceList(getEvidenceFile(null), FIRST_LOOKUPS);
+        PrintWriter writer = new PrintWriter(output);
+
+        if (warmUpBytes != 0) {
+            PageCacheWarmer.Result warmed = PageCacheWarmer.warm(
+                    Paths.get(dataFileLocation), 0,
+                    warmUpBytes < 0 ? Long.MAX_VALUE : warmUpBytes,
+                    PageCacheWarmer.DEFAULT_CHUNK_SIZE);
+            writer.format("Warmed %,d bytes of the data file in %dms%n",
+                    warmed.getBytes(), warmed.getMillis());
+        }
+
+        long residentBefore = residentBytes();
+        long start = System.currentTimeMillis();
+        try (Pipeline pipeline = new IPIntelligencePipelineBuilder()
+                // no temporary copy, so every process reads the same file and
+                // shares its pages in the page cache
+                .useOnPremise(dataFileLocation, false)
+                .setPerformanceProfile(Constants.PerformanceProfiles.LowMemory)
+                .setShareUsage(false)
+                .setAutoUpdate(false)
+                .setDataFileSystemWatcher(false)
+                .setDataUpdateOnStartup(false)
+                .build()) {
+            writer.format("Built the pipeline in %dms%n",
+                    System.currentTimeMillis() - start);
+
+            long lookupStart = System.nanoTime();
+            int found = 0;
+            for (Map<String, String> entry : evidence) {
+                try (FlowData flowData = pipeline.createFlowData()) {
+                    flowData.addEvidence(entry).process();
+                    IPIntelligenceData data = flowData.get(IPIntelligenceData.class);
+                    if (tryGet(data::getRegisteredName).hasValue()) {
+                        found++;
+                    }
+                }
+            }
+            double micros = (System.nanoTime() - lookupStart) / 1000.0 /
+                    Math.max(1, evidence.size());
+            writer.format("First %,d lookups took %.1fus on average, %,d with a " +
+                    "registered name%n", evidence.size(), micros, found);
+
+            long residentAfter = residentBytes();
+            if (residentBefore > 0 && residentAfter > 0) {
+                writer.format("Resident memory of the process grew by %,d bytes%n",
+                        residentAfter - residentBefore);
+            }
+        }
+        writer.flush();
+        logger.info("Finished SharedPageCacheOnPrem example");
+    }
+
+    /**
+     * The resident memory of the process on Linux, which includes the pages
+     * of the data file which it has touched, or 0 where this is not
+     * available.
+     */
+    private static long residentBytes() {
+        Path status = Paths.get("/proc/self/status");
+        if (Files.isReadable(status) == false) {
+            return 0;
+        }
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            logger.debug("Could not read resident memory", e);
+        }
+        return 0;
+    }
+}
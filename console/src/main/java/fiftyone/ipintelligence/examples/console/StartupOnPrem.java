@@ -0,0 +1,227 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+/*!
+ * @example console/StartupOnPrem.java
+ *
+ * This example shows where the time goes when an application using on-premise IP Intelligence
+ * starts, and how to start serving lookups sooner, for example so that newly deployed pods
+ * take traffic quickly.
+ *
+ * Start-up is broken into phases which are timed with `StartupTimer`: finding the data file,
+ * reading its header, building the pipeline, logging the data file information, creating the
+ * grid used by the area calculations, and the first lookup. The report shows when each phase
+ * started and how long it took.
+ *
+ * Run with `--fast-start` to use a `FastStartPipeline` instead. This builds a pipeline with
+ * the LowMemory profile first, which only loads the parts of the data file needed to find
+ * results and reads the rest from disk as it is needed, so lookups can be served much sooner.
+ * The MaxPerformance pipeline is then built in the background and swapped in without
+ * interrupting lookups. The grid for the area calculations is created in parallel. Readiness,
+ * when lookups can be served, is reported separately from liveness, when the process is
+ * healthy, so that an orchestrator does not route traffic too early or restart the process
+ * while it loads:
+ * ``` {java}
+ *     FastStartPipeline pipeline = new FastStartPipeline(factory, dataFile, timer);
+ *     // liveness probe
+ *     pipeline.isLive();
+ *     // readiness probe
+ *     pipeline.isReady();
+ * ```
+ *
+ * Classes are only loaded once in a process, so run each mode in a new process to compare them.
+ *
+ * This example is available in full on [GitHub](https://github.com/51Degrees/ip-intelligence-java-examples/blob/main/console/src/main/java/fiftyone/ipintelligence/examples/console/StartupOnPrem.java).
+ *
+ * Required Maven Dependencies:
+ * - [com.51degrees:ip-intelligence](https://central.sonatype.com/artifact/com.51degrees/ip-intelligence)
+ *
+ * This example requires an enterprise IP Intelligence data file (.ipi).
+ * To obtain an enterprise data file for testing, please [contact us](https://51degrees.com/contact-us?utm_source=code&utm_medium=example&utm_campaign=ip-intelligence-java-examples&utm_content=console-src-main-java-fiftyone-ipintelligence-examples-console-startuponprem.java&utm_term=header).
+ */
+
+package fiftyone.ipintelligence.examples.console;
+
+import fiftyone.ipintelligence.IPIntelligencePipelineBuilder;
+import fiftyone.ipintelligence.engine.onpremise.flowelements.IPIntelligenceOnPremiseEngine;
+import fiftyone.ipintelligence.examples.console.areas.Calculations;
+import fiftyone.ipintelligence.examples.console.startup.FastStartPipeline;
+import fiftyone.ipintelligence.examples.console.startup.StartupTimer;
+import fiftyone.ipintelligence.examples.shared.DataFileHelper;
+import fiftyone.ipintelligence.shared.IPIntelligenceData;
+import fiftyone.pipeline.core.data.FlowData;
+import fiftyone.pipeline.core.flowelements.Pipeline;
+import fiftyone.pipeline.engines.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static fiftyone.common.testhelpers.LogbackHelper.configureLogback;
+import static fiftyone.ipintelligence.examples.shared.DataFileHelper.ENTERPRISE_DATA_FILE_REL_PATH;
+import static fiftyone.ipintelligence.examples.shared.PropertyHelper.asStringProperty;
+import static fiftyone.ipintelligence.examples.shared.PropertyHelper.tryGet;
+import static fiftyone.pipeline.util.FileFinder.getFilePath;
+
+/**
+ * Times the phases of starting an on-premise pipeline, either built in full
+ * before serving or with the fast-start mode.
+ */
+public class StartupOnPrem {
+    private static final Logger logger = LoggerFactory.getLogger(StartupOnPrem.class);
+
+    /**
+     * Argument which selects the fast-start mode.
+     */
+    public static final String FAST_START_ARG = "--fast-start";
+
+    /**
+     * IP address used for the first lookup.
+     */
+    public static final String IP_ADDRESS = "116.154.188.222";
+
+    /**
+     * Maximum time to wait for the pipelines to load.
+     */
+    public static final long LOAD_TIMEOUT_MINUTES = 5;
+
+    public static void main(String[] args) throws Exception {
+        configureLogback(getFilePath("logback.xml"));
+        String dataFile = args.length > 0 && FAST_START_ARG.equals(args[0]) == false ?
+                args[0] : ENTERPRISE_DATA_FILE_REL_PATH;
+        boolean fastStart = false;
+        for (String arg : args) {
+            fastStart |= FAST_START_ARG.equals(arg);
+        }
+        run(dataFile, fastStart, System.out);
+    }
+
+    /**
+     * Runs the example.
+     * @param dataFile the data file to use
+     * @param fastStart true to use the fast-start mode
+     * @param output where to write the report
+     * @return the timings of the phases
+     */
+    public static StartupTimer run(String dataFile,
+                                   boolean fastStart,
+                                   OutputStream output) throws Exception {
+        logger.info("Running StartupOnPrem example");
+        StartupTimer timer = new StartupTimer();
+        PrintWriter writer = new PrintWriter(output);
+        String dataFileLocation = timer.time("Find data file",
+                () -> DataFileHelper.getDataFileLocation(dataFile));
+        if (fastStart) {
+            runFastStart(dataFileLocation, timer, writer);
+        } else {
+            runStandard(dataFileLocation, timer, writer);
+        }
+        timer.report(writer);
+        writer.format("Ready to serve after %dms%n", timer.getEndMillis("First lookup"));
+        writer.flush();
+        logger.info("Finished StartupOnPrem example");
+        return timer;
+    }
+
+    /**
+     * Each phase in turn, as an application would usually start.
+     */
+    private static void runStandard(String dataFileLocation,
+                                    StartupTimer timer,
+                                    PrintWriter writer) throws Exception {
+        timer.time("Read data file header",
+                () -> DataFileHelper.readDataFileHeader(dataFileLocation));
+        try (Pipeline pipeline = timer.time("Build MaxPerformance pipeline",
+                () -> build(dataFileLocation, Constants.PerformanceProfiles.MaxPerformance))) {
+            timer.time("Log data file info", () -> {
+                DataFileHelper.logDataFileInfo(
+                        pipeline.getElement(IPIntelligenceOnPremiseEngine.class));
+                return null;
+            });
+            timer.time("Create Calculations grid", Calculations::warmUp);
+            String name = timer.time("First lookup", () -> {
+                try (FlowData flowData = pipeline.createFlowData()) {
+                    flowData.addEvidence("query.client-ip", IP_ADDRESS).process();
+                    return registeredName(flowData);
+                }
+            });
+            writer.format("%s registered name %s%n", IP_ADDRESS, name);
+        }
+    }
+
+    /**
+     * Serve from a LowMemory pipeline while the MaxPerformance pipeline and
+     * the grid load in the background.
+     */
+    private static void runFastStart(String dataFileLocation,
+                                     StartupTimer timer,
+                                     PrintWriter writer) throws Exception {
+        CompletableFuture<Integer> grid = CompletableFuture.supplyAsync(() -> {
+            try {
+                return timer.time("Create Calculations grid", Calculations::warmUp);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        try (FastStartPipeline pipeline = new FastStartPipeline(
+                StartupOnPrem::build, Paths.get(dataFileLocation), timer)) {
+            writer.format("Live %b, ready %b%n", pipeline.isLive(), pipeline.isReady());
+            if (pipeline.awaitReady(LOAD_TIMEOUT_MINUTES, TimeUnit.MINUTES) == false) {
+                throw new IllegalStateException("Pipeline did not become ready",
+                        pipeline.getFailure());
+            }
+            String name = timer.time("First lookup", () ->
+                    pipeline.process(IP_ADDRESS, StartupOnPrem::registeredName));
+            writer.format("%s registered name %s%n", IP_ADDRESS, name);
+
+            boolean full = pipeline.awaitFullyLoaded(LOAD_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+            writer.format("Live %b, ready %b, fully loaded %b%n",
+                    pipeline.isLive(), pipeline.isReady(), full);
+            timer.time("Lookup after full load", () ->
+                    pipeline.process(IP_ADDRESS, StartupOnPrem::registeredName));
+        }
+        grid.get();
+    }
+
+    private static Pipeline build(String dataFile,
+                                  Constants.PerformanceProfiles profile) throws Exception {
+        return new IPIntelligencePipelineBuilder()
+                // The data file is not replaced while the example runs, so
+                // use it in place rather than copying it first.
+                .useOnPremise(dataFile, false)
+                .setPerformanceProfile(profile)
+                .setShareUsage(false)
+                .setAutoUpdate(false)
+                .setDataFileSystemWatcher(false)
+                .setDataUpdateOnStartup(false)
+                .build();
+    }
+
+    private static String registeredName(FlowData flowData) {
+        IPIntelligenceData data = flowData.get(IPIntelligenceData.class);
+        return asStringProperty(tryGet(data::getRegisteredName));
+    }
+}
@@ -32,6 +32,9 @@
  * 1. How to get diversity properties from the IP Intelligence engine.
  * 2. How to combine diversity values with other network related values to
  * assess the likelihood of an IP address being something suspicious.
+ * 3. How to score large batches of IP addresses in parallel, see `runBatch`.
+ * 4. How to load the rules from a file which can be changed while running,
+ * see `runRules` and `suspicious-rules.json`.
  *
  * This example is available in full on [GitHub](https://github.com/51Degrees/ip-intelligence-java-examples/blob/main/console/src/main/java/fiftyone/ipintelligence/examples/console/SuspiciousOnPrem.java).
  *
@@ -44,8 +47,15 @@
 
 package fiftyone.ipintelligence.examples.console;
 
+import fiftyone.ipintelligence.IPIntelligenceOnPremisePipelineBuilder;
 import fiftyone.ipintelligence.IPIntelligencePipelineBuilder;
 import fiftyone.ipintelligence.engine.onpremise.flowelements.IPIntelligenceOnPremiseEngine;
+import fiftyone.ipintelligence.examples.console.suspicious.BurstDetector;
+import fiftyone.ipintelligence.examples.console.suspicious.RuleSet;
+import fiftyone.ipintelligence.examples.console.suspicious.SuspiciousBatch;
+import fiftyone.ipintelligence.examples.console.suspicious.SuspiciousRules;
+import fiftyone.ipintelligence.examples.console.suspicious.SuspiciousScorer;
+import fiftyone.ipintelligence.examples.console.update.HotSwapPipeline;
 import fiftyone.ipintelligence.examples.shared.DataFileHelper;
 import fiftyone.ipintelligence.examples.shared.EvidenceHelper;
 import fiftyone.ipintelligence.shared.IPIntelligenceData;
@@ -57,8 +67,15 @@ import org.slf4j.LoggerFactory;
 
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static fiftyone.common.testhelpers.LogbackHelper.configureLogback;
 import static fiftyone.ipintelligence.examples.shared.DataFileHelper.ENTERPRISE_DATA_FILE_REL_PATH;
@@ -92,7 +109,12 @@ public class SuspiciousOnPrem {
         String dataFile = args.length > 0 ? args[0] : ENTERPRISE_DATA_FILE_REL_PATH;
         // prepare 'evidence' for use in pipeline (see below)
         List<Map<String, String>> evidence = EvidenceHelper.setUpEvidence();
-        run(dataFile, evidence, System.out);
+        if (args.length > 1) {
+            // Use the rules from the supplied file, e.g. suspicious-rules.json
+            runRules(dataFile, Paths.get(args[1]), evidence, System.out);
+        } else {
+            run(dataFile, evidence, System.out);
+        }
     }
 
     /**
@@ -152,6 +174,205 @@ public class SuspiciousOnPrem {
         }
     }
 
+    /**
+     * Run the example using rules loaded from a file rather than the rule
+     * in code. The rules are compiled once, only the properties they
+     * reference are fetched, and the file is checked for changes every few
+     * seconds so thresholds can be tuned without a restart. If reloaded
+     * rules reference a property the pipeline was not built with, a new
+     * pipeline is built with the new properties and swapped in with a
+     * {@link HotSwapPipeline}.
+     * @param dataFile an IP Intelligence data file
+     * @param rulesFile a JSON rule file, see {@link
+     * fiftyone.ipintelligence.examples.console.suspicious.RuleSet}
+     * @param evidenceList a List&lt;Map&lt;String, String>> representing evidence
+     * @param outputStream somewhere for the results
+     */
+    public static void runRules(String dataFile,
+                                Path rulesFile,
+                                List<Map<String, String>> evidenceList,
+                                OutputStream outputStream) throws Exception {
+        logger.info("Running SuspiciousOnPrem example with rules from '{}'",
+                rulesFile);
+
+        String dataFileLocation = DataFileHelper.getDataFileLocation(dataFile);
+
+        try (SuspiciousRules rules = new SuspiciousRules(rulesFile)) {
+            rules.watch(5, TimeUnit.SECONDS);
+
+            // The rules the next pipeline is built for, and the properties
+            // the current pipeline was built with.
+            AtomicReference<RuleSet> wanted = new AtomicReference<>(rules.getRules());
+            AtomicReference<Set<String>> built = new AtomicReference<>();
+            HotSwapPipeline.Factory factory = file -> {
+                List<String> properties = wanted.get().getProperties();
+                IPIntelligenceOnPremisePipelineBuilder builder = new IPIntelligencePipelineBuilder()
+                        .useOnPremise(file, false)
+                        .setPerformanceProfile(Constants.PerformanceProfiles.MaxPerformance)
+                        .setShareUsage(false)
+                        .setAutoUpdate(false)
+                        .setDataUpdateOnStartup(false)
+                        .setDataFileSystemWatcher(false);
+                // Only the properties referenced by the rules are needed.
+                for (String property : properties) {
+                    builder.setProperty(property);
+                }
+                Pipeline pipeline = builder.build();
+                built.set(new HashSet<>(properties));
+                return pipeline;
+            };
+
+            PrintWriter writer = new PrintWriter(outputStream);
+            try (HotSwapPipeline pipeline = new HotSwapPipeline(
+                    factory, Paths.get(dataFileLocation))) {
+                for (Map<String, String> evidence : evidenceList) {
+                    // Evaluate both from the same version of the rules,
+                    // first making sure the pipeline has their properties.
+                    RuleSet current = rules.getRules();
+                    if (built.get().containsAll(current.getProperties()) == false) {
+                        logger.info("Rules reference new properties, " +
+                                "building a new pipeline");
+                        wanted.set(current);
+                        pipeline.swap();
+                    }
+                    String ip = evidence.get(HotSwapPipeline.EVIDENCE_KEY);
+                    String result = pipeline.process(ip, data -> {
+                        RuleSet.Source source = SuspiciousRules.source(
+                                data.get(IPIntelligenceData.class));
+                        return String.format("IsSuspicious: %s, Score: %s",
+                                current.isSuspicious(source),
+                                current.score(source));
+                    });
+                    writer.format("%s: %s\n", ip, result);
+                }
+            }
+            writer.flush();
+        }
+    }
+
+    /**
+     * Score a batch of IP addresses, such as a fraud screening job, using
+     * the same rule as {@link #analyzeEvidence(Map, Pipeline, OutputStream)}.
+     * The IP addresses are processed in parallel and the property values
+     * held in a primitive array per property, so the rule is evaluated over
+     * the arrays rather than an object per IP address. The suspicious IP
+     * addresses are written to the output.
+     * @param dataFile an IP Intelligence data file
+     * @param ips the IP addresses to score
+     * @param outputStream somewhere for the results
+     * @return the scored batch
+     */
+    public static SuspiciousBatch runBatch(String dataFile,
+                                           List<String> ips,
+                                           OutputStream outputStream) throws Exception {
+        logger.info("Running SuspiciousOnPrem batch of {} IP addresses", ips.size());
+
+        String dataFileLocation = DataFileHelper.getDataFileLocation(dataFile);
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        IPIntelligenceOnPremisePipelineBuilder builder = new IPIntelligencePipelineBuilder()
+                .useOnPremise(dataFileLocation, false)
+                .setPerformanceProfile(Constants.PerformanceProfiles.MaxPerformance)
+                .setShareUsage(false)
+                .setAutoUpdate(false)
+                .setDataUpdateOnStartup(false)
+                .setDataFileSystemWatcher(false)
+                // Optimize for the number of worker threads.
+                .setConcurrency(threads);
+        // Only the properties used by the rule are needed.
+        for (String property : SuspiciousScorer.PROPERTIES) {
+            builder.setProperty(property);
+        }
+
+        try (Pipeline pipeline = builder.build();
+             SuspiciousScorer scorer = new SuspiciousScorer(pipeline, threads)) {
+            SuspiciousBatch batch = scorer.score(ips);
+
+            PrintWriter writer = new PrintWriter(outputStream);
+            for (int i = 0; i < batch.size(); i++) {
+                if (batch.isSuspicious(i)) {
+                    writer.println("Suspicious: " + batch.getIp(i));
+                }
+            }
+            writer.flush();
+            logger.info("{} of {} IP addresses are suspicious",
+                    batch.getSuspiciousCount(), batch.size());
+            return batch;
+        }
+    }
+
+    /**
+     * Watch a stream of requests for bursts from IP ranges and networks
+     * (ASNs) which look like hosting or proxies, on top of the per IP
+     * signals used by {@link #analyzeEvidence(Map, Pipeline, OutputStream)}.
+     * Each lookup with a high hardware diversity, or from a hosted IP
+     * address, is counted against its IP range and ASN in a sliding window
+     * and an alert written when a count reaches the threshold. Here the
+     * evidence is replayed a number of times to stand in for live traffic.
+     * @param dataFile an IP Intelligence data file
+     * @param evidenceList a List&lt;Map&lt;String, String>> representing evidence
+     * @param repeat number of times to replay the evidence
+     * @param threshold requests in the window which raise an alert
+     * @param outputStream somewhere for the results
+     * @return the alerts raised
+     */
+    public static List<BurstDetector.Alert> runBursts(String dataFile,
+                                                      List<Map<String, String>> evidenceList,
+                                                      int repeat,
+                                                      long threshold,
+                                                      OutputStream outputStream) throws Exception {
+        logger.info("Running SuspiciousOnPrem burst detection");
+
+        String dataFileLocation = DataFileHelper.getDataFileLocation(dataFile);
+
+        IPIntelligenceOnPremisePipelineBuilder builder = new IPIntelligencePipelineBuilder()
+                .useOnPremise(dataFileLocation, false)
+                .setPerformanceProfile(Constants.PerformanceProfiles.MaxPerformance)
+                .setShareUsage(false)
+                .setAutoUpdate(false)
+                .setDataUpdateOnStartup(false)
+                .setDataFileSystemWatcher(false);
+        // Only the properties used by the detector are needed.
+        for (String property : BurstDetector.PROPERTIES) {
+            builder.setProperty(property);
+        }
+
+        PrintWriter writer = new PrintWriter(outputStream);
+        List<BurstDetector.Alert> alerts = new CopyOnWriteArrayList<>();
+        BurstDetector detector = new BurstDetector.Builder()
+                .setRangeThreshold(threshold)
+                .setAsnThreshold(threshold)
+                .setListener(alert -> {
+                    alerts.add(alert);
+                    synchronized (writer) {
+                        writer.println("Burst: " + alert);
+                    }
+                })
+                .build();
+
+        try (Pipeline pipeline = builder.build()) {
+            for (int i = 0; i < repeat; i++) {
+                for (Map<String, String> evidence : evidenceList) {
+                    try (FlowData data = pipeline.createFlowData()) {
+                        data.addEvidence(evidence);
+                        data.process();
+                        detector.record(data.get(IPIntelligenceData.class));
+                    }
+                }
+            }
+        }
+
+        for (BurstDetector.Type type : BurstDetector.Type.values()) {
+            for (Map.Entry<String, Long> top : detector.getTop(type, 5)) {
+                writer.format("Top %s %s: %d requests\n",
+                        type, top.getKey(), top.getValue());
+            }
+        }
+        writer.flush();
+        logger.info("{} bursts detected", alerts.size());
+        return alerts;
+    }
+
     /**
      * Taking a map of evidence as a parameter, process it in the pipeline
      * supplied and output an assessment of how suspicious the IP address is.
@@ -23,9 +23,15 @@
 package fiftyone.ipintelligence.examples.console;
 
 import fiftyone.ipintelligence.IPIntelligencePipelineBuilder;
+import fiftyone.ipintelligence.examples.console.comparison.QuantileSketch;
+import fiftyone.ipintelligence.examples.console.offline.DistinctIpBatch;
+import fiftyone.ipintelligence.examples.console.update.HotSwapPipeline;
+import fiftyone.ipintelligence.examples.shared.DataFileHeader;
 import fiftyone.ipintelligence.examples.shared.DataFileHelper;
+import fiftyone.ipintelligence.examples.shared.EvidenceHelper;
 import fiftyone.ipintelligence.shared.testhelpers.KeyUtils;
 import fiftyone.pipeline.core.flowelements.Pipeline;
+import fiftyone.pipeline.engines.Constants;
 import fiftyone.pipeline.engines.services.DataUpdateService;
 import fiftyone.pipeline.engines.services.DataUpdateServiceDefault;
 import fiftyone.pipeline.engines.services.OnUpdateComplete;
@@ -34,13 +40,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.PrintWriter;
 import java.nio.file.*;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static fiftyone.common.testhelpers.LogbackHelper.configureLogback;
-import static fiftyone.ipintelligence.examples.shared.DataFileHelper.getDatafileMetaData;
 import static fiftyone.ipintelligence.examples.shared.DataFileHelper.ENTERPRISE_DATA_FILE_REL_PATH;
 import static fiftyone.pipeline.util.FileFinder.getFilePath;
 
@@ -150,6 +163,32 @@ import static fiftyone.pipeline.util.FileFinder.getFilePath;
  * ``` {java}
             			.setUpdateRandomisationMax(10*60)
  * ```
+ * # Hot Swap
+ * When the engine reloads a data file in place, lookups made during the reload can take
+ * much longer than usual. Run the example with `--hot-swap [data file]` to instead build a
+ * second pipeline from the new file in the background, warm it with recently seen IP
+ * addresses, and switch traffic to it atomically once it is ready. The old pipeline is closed
+ * after the lookups using it have finished. Lookup latency is reported with and without a swap
+ * in progress. See `HotSwapPipeline`.
+ * # Coordinated Updates
+ * `setUpdateRandomisationMax` spreads when nodes poll for an update, but each node still
+ * reloads as soon as it finds one, so reloads across a fleet can overlap and take a large
+ * share of its capacity out at once. `UpdateCoordinator` instead makes each node wait for one
+ * of a fixed number of reload slots, held in a lock shared by the nodes, before moving the new
+ * data file into place and reloading. The lock can be a `FileUpdateLock` for the processes on
+ * a host, or a `DirectoryLeaseLock` in a directory shared by the hosts. With a shared cache
+ * directory, only one node downloads and decompresses each new data file, and the others link
+ * to or copy it.
+ * ``` {java}
+ *     UpdateCoordinator coordinator = new UpdateCoordinator.Builder(
+ *             new DirectoryLeaseLock(sharedDirectory.resolve("locks"), hostName))
+ *         .setMaxConcurrentReloads(2)
+ *         .setJitter(10, TimeUnit.MINUTES)
+ *         .setCacheDirectory(sharedDirectory.resolve("cache"))
+ *         .build();
+ *     coordinator.update(dataFile, UpdateCoordinator.source(updateUrl),
+ *         file -> hotSwapPipeline.swap());
+ * ```
  * # Location
  * This example is available in full on [GitHub](https://github.com/51Degrees/ip-intelligence-java-examples/blob/main/console/src/main/java/fiftyone/ipintelligence/examples/console/UpdateDataFile.java).
  *
@@ -191,6 +230,15 @@ public class UpdateDataFile {
     public static final String DEFAULT_DATA_FILENAME =
             System.getProperty("user.dir") + File.separator +  ENTERPRISE_DATA_FILE_REL_PATH;
 
+    /**
+     * First argument which runs the hot swap mode.
+     */
+    public static final String HOT_SWAP_ARG = "--hot-swap";
+    // number of threads making lookups in the hot swap mode
+    static final int HOT_SWAP_THREADS = 4;
+    // number of swaps made in the hot swap mode
+    static final int HOT_SWAPS = 3;
+
     private static final Logger logger = LoggerFactory.getLogger(UpdateDataFile.class);
 
     static final UpdateCompletionListener completionListener = new UpdateCompletionListener();
@@ -198,6 +246,12 @@ public class UpdateDataFile {
 
     public static void main(String[] args) throws Exception {
         configureLogback(getFilePath("logback.xml"));
+        if (args.length > 0 && HOT_SWAP_ARG.equals(args[0])) {
+            String dataFile = args.length > 1 ? args[1] : ENTERPRISE_DATA_FILE_REL_PATH;
+            runHotSwap(dataFile, HOT_SWAP_THREADS, HOT_SWAPS,
+                    new PrintWriter(System.out, true));
+            return;
+        }
         String licenseKey = args.length > 0 ? args[0] : null;
         String dataFilename = args.length > 1 ? args[1] : null;
         run(dataFilename, licenseKey, true);
@@ -254,8 +308,8 @@ public class UpdateDataFile {
 
         String copyDataFilename = dataFilename + ".bak";
         if (new File(dataFilename).exists()) {
-            //let's check this file out
-            DataFileHelper.DatafileInfo metadata = getDatafileMetaData(dataFilename);
+            //let's check this file out, reading just the header rather than loading it
+            DataFileHeader metadata = DataFileHelper.readDataFileHeader(dataFilename);
             // and output the results
             logFileInfo(metadata);
             if (metadata.getTier().equals("Lite")) {
@@ -363,12 +417,111 @@ public class UpdateDataFile {
         }
     }
 
-    private static void logFileInfo(DataFileHelper.DatafileInfo metadata) {
+    /**
+     * Run the hot swap mode. Lookups are made continuously on several threads while the data
+     * file is touched to trigger a number of swaps, and the latency of the lookups made during
+     * a swap is compared to those made at other times.
+     * @param dataFile the data file to load, and to swap to
+     * @param threads number of threads making lookups
+     * @param swapCount number of swaps to make
+     * @param writer somewhere for the results
+     * @throws Exception in the event of file not found etc.
+     */
+    static void runHotSwap(String dataFile,
+                           int threads,
+                           int swapCount,
+                           PrintWriter writer) throws Exception {
+        logger.info("Starting hot swap example");
+        File file = new File(DataFileHelper.getDataFileLocation(dataFile));
+        List<String> ips = new ArrayList<>();
+        for (Map<String, String> evidence : EvidenceHelper.getEvidenceList(
+                DataFileHelper.getEvidenceFile(null), 20000)) {
+            String ip = DistinctIpBatch.ipOf(evidence);
+            if (ip != null) {
+                ips.add(ip);
+            }
+        }
+
+        // each pipeline uses a temporary copy of the data file so the file can be replaced,
+        // and the engine's own update mechanisms are disabled as the swaps replace them
+        HotSwapPipeline.Factory factory = location -> new IPIntelligencePipelineBuilder()
+                .useOnPremise(location, true)
+                .setPerformanceProfile(Constants.PerformanceProfiles.MaxPerformance)
+                .setShareUsage(false)
+                .setAutoUpdate(false)
+                .setDataUpdateOnStartup(false)
+                .setDataFileSystemWatcher(false)
+                .build();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicBoolean swapping = new AtomicBoolean(false);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (HotSwapPipeline pipeline = new HotSwapPipeline(factory, file.toPath())) {
+            List<Future<QuantileSketch[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    // latency in microseconds, [0] normal and [1] during a swap
+                    QuantileSketch[] latency = {new QuantileSketch(), new QuantileSketch()};
+                    for (int i = offset; running.get(); i++) {
+                        boolean duringSwap = swapping.get();
+                        long start = System.nanoTime();
+                        pipeline.process(ips.get(i % ips.size()), flowData -> null);
+                        latency[duringSwap ? 1 : 0].add(
+                                Math.max(1, (System.nanoTime() - start) / 1000));
+                    }
+                    return latency;
+                }));
+            }
+
+            for (int i = 0; i < swapCount; i++) {
+                Thread.sleep(1000);
+                swapping.set(true);
+                // touching the file stands in for a newly downloaded data file
+                if (file.setLastModified(System.currentTimeMillis()) == false) {
+                    throw new IllegalStateException("Could not modify file time, abandoning " +
+                            "example");
+                }
+                pipeline.swapIfModified();
+                swapping.set(false);
+                writer.format("Swap %d: built and warmed in %dms, drained in %dms%n", i + 1,
+                        pipeline.getLastSwapMillis(), pipeline.getLastDrainMillis());
+            }
+            Thread.sleep(1000);
+            running.set(false);
+
+            QuantileSketch normal = new QuantileSketch();
+            QuantileSketch duringSwap = new QuantileSketch();
+            for (Future<QuantileSketch[]> future : futures) {
+                QuantileSketch[] latency = future.get();
+                normal.merge(latency[0]);
+                duringSwap.merge(latency[1]);
+            }
+            writeLatency(writer, "Normal", normal);
+            writeLatency(writer, "During swap", duringSwap);
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+        logger.info("Finished hot swap example");
+    }
+
+    private static void writeLatency(PrintWriter writer, String name, QuantileSketch latency) {
+        if (latency.getCount() == 0) {
+            writer.format("%s: no lookups%n", name);
+            return;
+        }
+        writer.format("%s: %d lookups, p50 %.0fus, p99 %.0fus, max %.0fus%n", name,
+                latency.getCount(), latency.getQuantile(0.5), latency.getQuantile(0.99),
+                latency.getMax());
+    }
+
+    private static void logFileInfo(DataFileHeader metadata) {
         logger.info("Current data file is a {} tier data file, last updated at {}, at " +
                         "location {}. Next update expected {}.", metadata.getTier(),
-                simpleDateFormat.format(metadata.getFileInfo().getDataPublishedDateTime()),
-                metadata.getFileInfo().getDataFilePath(),
-                simpleDateFormat.format(metadata.getFileInfo().getUpdateAvailableTime()));
+                simpleDateFormat.format(metadata.getPublished()),
+                metadata.getDataFilePath(),
+                simpleDateFormat.format(metadata.getNextUpdate()));
      }
 
     static class UpdateCompletionListener implements OnUpdateComplete {
@@ -32,6 +32,9 @@ import org.locationtech.proj4j.ProjCoordinate;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Used to work out the common values for areas in the examples.
@@ -43,6 +46,12 @@ import java.util.List;
  * <p>
  * This approach handles the differences in area calculation nearer the
  * equator or the poles.
+ * <p>
+ * Very large areas, for example a multipolygon covering Russia or Canada,
+ * cover thousands of grid rectangles. The methods that take a
+ * {@link ForkJoinPool} split the polygons and grid rectangles of such areas
+ * into tasks so that a single large area is calculated using all the
+ * available processors rather than a single thread.
  */
 public class Calculations {
 
@@ -61,9 +70,30 @@ public class Calculations {
      */
     private static final Rectangle[][] grid = createGrid();
 
+    /**
+     * The number of grid rectangles or polygons at or below which the
+     * parallel calculation stops splitting and works serially. Below this
+     * size the cost of forking a task exceeds the time saved.
+     */
+    public static final int PARALLEL_THRESHOLD = 16;
+
     private Calculations() {
     }
 
+    /**
+     * Initialises the class, which creates the grid, so that the first call
+     * to getAreas does not wait for it. Can be called on a background
+     * thread while the rest of an application starts.
+     * @return the number of rectangles in the grid
+     */
+    public static int warmUp() {
+        int rectangles = 0;
+        for (Rectangle[] column : grid) {
+            rectangles += column.length;
+        }
+        return rectangles;
+    }
+
     /**
      * Returns the result for the WKT string, and geographic point.
      * @param wkt WKT format geometric area(s)
@@ -112,6 +142,61 @@ public class Calculations {
                 contains);
     }
 
+    /**
+     * Returns the result for the WKT string, and geographic point, using the
+     * pool provided to calculate the area of large geometries in parallel.
+     * @param wkt WKT format geometric area(s)
+     * @param latitude of the point being tested for inclusion in the
+     *                 geographic area
+     * @param longitude of the point being tested for inclusion in the
+     *                  geographic area
+     * @param pool used to calculate the areas of the polygons and grid
+     *             rectangles in parallel
+     * @return the calculated result
+     */
+    public static Result getAreas(
+            String wkt,
+            double latitude,
+            double longitude,
+            ForkJoinPool pool) throws Exception {
+        Geometry geo = wktReader.get().read(wkt);
+        if (geo != null) {
+            return getAreas(geo, latitude, longitude, pool);
+        }
+        return new Result(0, 0, false);
+    }
+
+    /**
+     * Returns the result for the geometric area, and geographic point, using
+     * the pool provided to calculate the area of large geometries in
+     * parallel. The result is the same as the serial
+     * {@link #getAreas(Geometry, double, double)} method.
+     * @param geo geometric area(s)
+     * @param latitude of the point being tested for inclusion in the
+     *                 geographic area
+     * @param longitude of the point being tested for inclusion in the
+     *                  geographic area
+     * @param pool used to calculate the areas of the polygons and grid
+     *             rectangles in parallel
+     * @return the calculated result
+     */
+    public static Result getAreas(
+            Geometry geo,
+            double latitude,
+            double longitude,
+            ForkJoinPool pool) {
+        boolean contains = geo.contains(geo.getFactory().createPoint(
+                new Coordinate(longitude, latitude)));
+        double area = pool.invoke(new GeometriesTask(
+                geo,
+                0,
+                geo.getNumGeometries()));
+        return new Result(
+                (int) Math.round(area / 1_000_000),
+                geo.getNumGeometries(),
+                contains);
+    }
+
     private static double getAreas(Geometry geo) {
         double area = 0.0;
         if (geo.getNumGeometries() > 1) {
@@ -215,6 +300,129 @@ public class Calculations {
         return factory.createPolygon(coordinates);
     }
 
+    /**
+     * Calculates the total area of a range of the geometries that form a
+     * geometric area. Ranges larger than one geometry are split in half
+     * until each task relates to a single polygon.
+     */
+    private static class GeometriesTask extends RecursiveTask<Double> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Geometry geo;
+        private final int from;
+        private final int to;
+
+        GeometriesTask(Geometry geo, int from, int to) {
+            this.geo = geo;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Double compute() {
+            if (geo.getNumGeometries() <= 1) {
+                return geo.isEmpty() ? 0.0 : getAreaParallel(geo);
+            }
+            if (to - from == 1) {
+                Geometry child = geo.getGeometryN(from);
+                return new GeometriesTask(
+                        child,
+                        0,
+                        child.getNumGeometries()).compute();
+            }
+            int middle = (from + to) >>> 1;
+            GeometriesTask left = new GeometriesTask(geo, from, middle);
+            left.fork();
+            double right = new GeometriesTask(geo, middle, to).compute();
+            return left.join() + right;
+        }
+    }
+
+    /**
+     * Calculates the area of a single polygon splitting the grid rectangles
+     * it covers into tasks when there are more than
+     * {@link #PARALLEL_THRESHOLD}. Behaves in the same way as the serial
+     * {@link #getArea(Geometry)} method when a rectangle results in a
+     * {@link TopologyException}.
+     */
+    private static double getAreaParallel(Geometry geo) {
+        List<Rectangle> rectangles = getRectangles(geo);
+        if (rectangles.size() <= PARALLEL_THRESHOLD) {
+            return getArea(geo);
+        }
+        AtomicInteger failed = new AtomicInteger(Integer.MAX_VALUE);
+        double area = new RectanglesTask(
+                geo,
+                rectangles,
+                0,
+                rectangles.size(),
+                failed).compute();
+        if (failed.get() != Integer.MAX_VALUE) {
+            // Use the transformation of the first rectangle that failed, as
+            // the serial calculation would have done.
+            area = getArea(
+                    geo,
+                    geo,
+                    rectangles.get(failed.get()).getTransformation());
+        }
+        return area;
+    }
+
+    /**
+     * Calculates the area of a polygon within a range of grid rectangles.
+     * The index of the first rectangle where the intersection results in a
+     * {@link TopologyException} is recorded in failed so that the caller
+     * can fall back to the whole polygon.
+     */
+    private static class RectanglesTask extends RecursiveTask<Double> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Geometry geo;
+        private final List<Rectangle> rectangles;
+        private final int from;
+        private final int to;
+        private final AtomicInteger failed;
+
+        RectanglesTask(
+                Geometry geo,
+                List<Rectangle> rectangles,
+                int from,
+                int to,
+                AtomicInteger failed) {
+            this.geo = geo;
+            this.rectangles = rectangles;
+            this.from = from;
+            this.to = to;
+            this.failed = failed;
+        }
+
+        @Override
+        protected Double compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                double area = 0.0;
+                for (int i = from; i < to && i < failed.get(); i++) {
+                    try {
+                        area += getArea(geo, rectangles.get(i));
+                    }
+                    catch (TopologyException e) {
+                        failed.accumulateAndGet(i, Math::min);
+                        break;
+                    }
+                }
+                return area;
+            }
+            int middle = (from + to) >>> 1;
+            RectanglesTask left = new RectanglesTask(
+                    geo, rectangles, from, middle, failed);
+            left.fork();
+            double right = new RectanglesTask(
+                    geo, rectangles, middle, to, failed).compute();
+            return left.join() + right;
+        }
+    }
+
     /**
      * Constructs a grid that covers the world for each latitude and longitude
      * rectangle.
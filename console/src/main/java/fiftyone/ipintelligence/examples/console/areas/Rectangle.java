@@ -22,14 +22,15 @@
 
 package fiftyone.ipintelligence.examples.console.areas;
 
+import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
 import org.locationtech.proj4j.CRSFactory;
 import org.locationtech.proj4j.CoordinateReferenceSystem;
 import org.locationtech.proj4j.CoordinateTransform;
 import org.locationtech.proj4j.CoordinateTransformFactory;
 
+import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A latitude and longitude rectangle and its associated UTM transformation.
@@ -56,24 +57,32 @@ public class Rectangle {
     /**
      * Cache of transformations keyed on UTM zone and hemisphere. There are
      * only 120 distinct UTM transformations so caching them avoids repeated
-     * construction for every grid rectangle.
+     * construction for every grid rectangle. Transformations are not thread
+     * safe, as they hold intermediate coordinates while transforming, so
+     * each thread has its own cache.
      */
-    private static final Map<String, CoordinateTransform> transformCache =
-            new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<String, CoordinateTransform>> transformCache =
+            ThreadLocal.withInitial(HashMap::new);
 
-    private final CoordinateTransform transformation;
+    private final double x;
+
+    private final double y;
 
     private final Polygon polygon;
 
     public Rectangle(Polygon polygon) {
         this.polygon = polygon;
-        this.transformation = createTransform(
-                polygon.getInteriorPoint().getX(),
-                polygon.getInteriorPoint().getY());
+        Point interior = polygon.getInteriorPoint();
+        this.x = interior.getX();
+        this.y = interior.getY();
     }
 
+    /**
+     * @return the transformation for the rectangle, which must only be used
+     * by the calling thread
+     */
     public CoordinateTransform getTransformation() {
-        return transformation;
+        return createTransform(x, y);
     }
 
     public Polygon getPolygon() {
@@ -85,7 +94,8 @@ public class Rectangle {
      * system for the zone containing the point provided.
      * @param x longitude of the point
      * @param y latitude of the point
-     * @return a coordinate transformation to the relevant UTM zone
+     * @return a coordinate transformation to the relevant UTM zone, which
+     * must only be used by the calling thread
      */
     public static CoordinateTransform createTransform(double x, double y) {
         // Create UTM projected coordinate system for a specific zone
@@ -93,7 +103,7 @@ public class Rectangle {
         boolean isNorthernHemisphere = y >= 0;
 
         String key = utmZone + (isNorthernHemisphere ? "N" : "S");
-        return transformCache.computeIfAbsent(key, k -> {
+        return transformCache.get().computeIfAbsent(key, k -> {
             CoordinateReferenceSystem utm = crsFactory.createFromParameters(
                     "UTM" + k,
                     "+proj=utm +zone=" + utmZone +
@@ -0,0 +1,140 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.areas;
+
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
+import org.locationtech.jts.io.WKTReader;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the WKB (well known binary) form of WKT area strings.
+ * <p>
+ * Parsing the WKT text of a large area can take as long as calculating the
+ * area. The same areas are returned for many IP addresses, so each WKT
+ * string is parsed once and the binary form kept. Later requests for the
+ * same area are read from the binary form which avoids text parsing
+ * entirely.
+ * <p>
+ * The cache is limited by the total number of bytes held, counting both the
+ * WKB and the WKT key at two bytes per character. Once the limit is reached
+ * new areas are still converted but are not added to the cache.
+ */
+public class WkbCache {
+
+    /**
+     * Default maximum number of bytes held by the cache.
+     */
+    public static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+    /**
+     * WKTReader, WKBReader and WKBWriter are not thread safe so thread local
+     * instances are used.
+     */
+    private static final ThreadLocal<WKTReader> wktReader =
+            ThreadLocal.withInitial(WKTReader::new);
+    private static final ThreadLocal<WKBReader> wkbReader =
+            ThreadLocal.withInitial(WKBReader::new);
+    private static final ThreadLocal<WKBWriter> wkbWriter =
+            ThreadLocal.withInitial(WKBWriter::new);
+
+    private final Map<String, byte[]> cache = new ConcurrentHashMap<>();
+
+    private final AtomicLong bytes = new AtomicLong();
+
+    private final long maxBytes;
+
+    /**
+     * Constructs a new instance of {@link WkbCache} using
+     * {@link #DEFAULT_MAX_BYTES}.
+     */
+    public WkbCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Constructs a new instance of {@link WkbCache}.
+     * @param maxBytes maximum number of bytes to hold in the cache
+     */
+    public WkbCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the WKB for the WKT string, parsing the WKT only if it has not
+     * been seen before.
+     * @param wkt WKT format geometric area(s)
+     * @return WKB form of the area
+     * @throws ParseException if the WKT is not valid
+     */
+    public byte[] getWkb(String wkt) throws ParseException {
+        byte[] wkb = cache.get(wkt);
+        if (wkb == null) {
+            wkb = wkbWriter.get().write(wktReader.get().read(wkt));
+            long size = sizeOf(wkt, wkb);
+            // Reserve the space first so concurrent additions can not
+            // together exceed the limit, giving it back if not added.
+            if (bytes.addAndGet(size) > maxBytes ||
+                    cache.putIfAbsent(wkt, wkb) != null) {
+                bytes.addAndGet(-size);
+            }
+        }
+        return wkb;
+    }
+
+    /**
+     * Returns the geometry for the WKT string read from the cached WKB.
+     * @param wkt WKT format geometric area(s)
+     * @return a new geometry instance for the area
+     * @throws ParseException if the WKT is not valid
+     */
+    public Geometry getGeometry(String wkt) throws ParseException {
+        return wkbReader.get().read(getWkb(wkt));
+    }
+
+    /**
+     * Number of areas held in the cache.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Number of bytes held in the cache, including the WKT keys.
+     */
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    /**
+     * Bytes counted for an entry, the WKB and the characters of the WKT.
+     */
+    static long sizeOf(String wkt, byte[] wkb) {
+        return wkb.length + (long) wkt.length() * Character.BYTES;
+    }
+}
@@ -0,0 +1,233 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.batch;
+
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Processes a stream of items in parallel while delivering the results in
+ * the same order as the items were read, using a bounded amount of memory.
+ * <p>
+ * The work is split into three stages:
+ * <ol>
+ *     <li>a reader thread takes items from the source and submits each one
+ *     to the workers,</li>
+ *     <li>a fixed number of worker threads process the items,</li>
+ *     <li>the calling thread takes the results in order and passes them to
+ *     the sink.</li>
+ * </ol>
+ * The futures for submitted items are held in a queue with a fixed
+ * capacity, the window, which also acts as the reorder buffer. When the
+ * window is full the reader blocks until the sink has consumed the oldest
+ * result. This provides back pressure so that no more than the window of
+ * items are in memory at any time regardless of the size of the source.
+ * <p>
+ * If the source, a task or the sink throws, the run is cancelled: the
+ * reader stops waiting for space in the window and the threads, which are
+ * daemon threads, are stopped before the exception is thrown.
+ * @param <I> type of the items read from the source
+ * @param <O> type of the results passed to the sink
+ */
+public class OrderedProcessor<I, O> {
+
+    /**
+     * Processes a single item on a worker thread. Must be thread safe.
+     * @param <I> type of the item
+     * @param <O> type of the result
+     */
+    public interface Task<I, O> {
+        O process(I item) throws Exception;
+    }
+
+    /**
+     * Consumes results on the calling thread in the order the items were
+     * read from the source.
+     * @param <O> type of the result
+     */
+    public interface Sink<O> {
+        /**
+         * @param sequence zero based position of the item in the source
+         * @param result the result of processing the item
+         */
+        void accept(long sequence, O result) throws Exception;
+    }
+
+    /**
+     * Marker added by the reader once the source has been exhausted.
+     */
+    private static final Future<?> END = new CompletableFuture<>();
+
+    /**
+     * How long the reader waits for space in a full window before checking
+     * whether the run has been cancelled.
+     */
+    private static final long OFFER_MILLIS = 100;
+
+    /**
+     * How long to wait for the reader and workers to stop at the end of a
+     * run.
+     */
+    private static final long TERMINATION_SECONDS = 10;
+
+    private final int threads;
+
+    private final int window;
+
+    /**
+     * Constructs a new instance of {@link OrderedProcessor}.
+     * @param threads number of worker threads
+     * @param window maximum number of items read but not yet consumed by
+     *               the sink
+     */
+    public OrderedProcessor(int threads, int window) {
+        if (threads < 1 || window < 1) {
+            throw new IllegalArgumentException(
+                    "threads and window must be greater than 0");
+        }
+        this.threads = threads;
+        this.window = window;
+    }
+
+    /**
+     * Process all the items from the source passing the results to the
+     * sink in source order. Returns once the source is exhausted and all
+     * the results consumed, or the first exception from the source, task or
+     * sink is thrown.
+     * @param source items to process, only accessed by the reader thread
+     * @param task processing for each item
+     * @param sink consumer for the results
+     * @return the number of items processed
+     */
+    @SuppressWarnings("unchecked")
+    public long run(Iterator<I> source,
+                    Task<I, O> task,
+                    Sink<O> sink) throws Exception {
+        BlockingQueue<Future<?>> pending = new ArrayBlockingQueue<>(window);
+        AtomicBoolean cancelled = new AtomicBoolean(false);
+        ExecutorService workers = Executors.newFixedThreadPool(
+                threads, daemon("ordered-processor-worker"));
+        ExecutorService reader = Executors.newSingleThreadExecutor(
+                daemon("ordered-processor-reader"));
+        try {
+            Future<?> producer = reader.submit(() -> {
+                try {
+                    while (source.hasNext()) {
+                        I item = source.next();
+                        Future<?> future = workers.submit(() -> task.process(item));
+                        if (enqueue(pending, future, cancelled) == false) {
+                            future.cancel(true);
+                            break;
+                        }
+                    }
+                } finally {
+                    // Once cancelled nothing takes from the queue, so the
+                    // end marker is only added while the caller is waiting.
+                    enqueue(pending, END, cancelled);
+                }
+                return null;
+            });
+
+            long sequence = 0;
+            while (true) {
+                Future<?> future = pending.take();
+                if (future == END) {
+                    break;
+                }
+                sink.accept(sequence++, (O) getResult(future));
+            }
+
+            // Surface any exception from the source.
+            getResult(producer);
+            return sequence;
+        } finally {
+            cancelled.set(true);
+            reader.shutdownNow();
+            workers.shutdownNow();
+            pending.clear();
+            reader.awaitTermination(TERMINATION_SECONDS, TimeUnit.SECONDS);
+            workers.awaitTermination(TERMINATION_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Adds the future to the queue, waiting while it is full unless the run
+     * is cancelled.
+     * @return true if added, false if the run was cancelled
+     */
+    private static boolean enqueue(BlockingQueue<Future<?>> pending,
+                                   Future<?> future,
+                                   AtomicBoolean cancelled) {
+        while (cancelled.get() == false) {
+            try {
+                if (pending.offer(future, OFFER_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                // Only the caller finishing interrupts the reader, which
+                // sets cancelled first.
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Daemon threads so that a failed run can never keep the JVM alive.
+     */
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable,
+                    name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Returns the result of the future, unwrapping the cause of any
+     * execution exception so that callers see the original exception.
+     */
+    private static Object getResult(Future<?> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
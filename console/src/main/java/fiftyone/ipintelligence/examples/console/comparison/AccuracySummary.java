@@ -0,0 +1,268 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.comparison;
+
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Incrementally aggregates the accuracy of IP location results as the
+ * comparison rows are produced so that percentiles and containment rates
+ * are available without reading the output back in.
+ * <p>
+ * Each row is added to the overall group, and to the groups for its
+ * location confidence, continent and address family. Every group holds
+ * {@link QuantileSketch}es of the distance between the true and returned
+ * locations and the size of the area returned, plus the number of rows
+ * where the area contained the true location. Summaries can be merged, so
+ * separate runs or threads can be combined.
+ * <p>
+ * Instances are not thread safe.
+ */
+public class AccuracySummary {
+
+    /**
+     * Dimension of the group containing every row.
+     */
+    public static final String ALL = "All";
+
+    /**
+     * Dimension of the groups by location confidence.
+     */
+    public static final String LOCATION_CONFIDENCE = "LocationConfidence";
+
+    /**
+     * Dimension of the groups by continent.
+     */
+    public static final String CONTINENT = "Continent";
+
+    /**
+     * Dimension of the groups by address family.
+     */
+    public static final String ADDRESS_FAMILY = "AddressFamily";
+
+    /**
+     * Quantiles written to the report for each sketch.
+     */
+    private static final double[] QUANTILES = {0.5, 0.9, 0.95, 0.99};
+
+    /**
+     * Groups ordered by dimension then value so the report is stable.
+     */
+    private final Map<String, Map<String, Group>> groups = new TreeMap<>();
+
+    private final double relativeAccuracy;
+
+    /**
+     * Constructs a new instance of {@link AccuracySummary} with the default
+     * relative accuracy for the quantiles.
+     */
+    public AccuracySummary() {
+        this(QuantileSketch.DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * Constructs a new instance of {@link AccuracySummary}.
+     * @param relativeAccuracy relative accuracy of the quantiles
+     */
+    public AccuracySummary(double relativeAccuracy) {
+        this.relativeAccuracy = relativeAccuracy;
+    }
+
+    /**
+     * Counts and sketches for a single group of rows.
+     */
+    public static class Group {
+        private final QuantileSketch distanceKms;
+        private final QuantileSketch squareKms;
+        private long contains;
+
+        private Group(double relativeAccuracy) {
+            distanceKms = new QuantileSketch(relativeAccuracy);
+            squareKms = new QuantileSketch(relativeAccuracy);
+        }
+
+        private void add(double distance, double area, boolean contained) {
+            distanceKms.add(distance);
+            squareKms.add(area);
+            if (contained) {
+                contains++;
+            }
+        }
+
+        private void merge(Group other) {
+            distanceKms.merge(other.distanceKms);
+            squareKms.merge(other.squareKms);
+            contains += other.contains;
+        }
+
+        /**
+         * Number of rows in the group.
+         */
+        public long getCount() {
+            return distanceKms.getCount();
+        }
+
+        /**
+         * Number of rows where the area contained the true location.
+         */
+        public long getContains() {
+            return contains;
+        }
+
+        /**
+         * Proportion of rows where the area contained the true location.
+         */
+        public double getContainsRate() {
+            long count = getCount();
+            return count == 0 ? Double.NaN : (double) contains / count;
+        }
+
+        /**
+         * Distribution of the distance in kilometers between the true and
+         * returned locations.
+         */
+        public QuantileSketch getDistanceKms() {
+            return distanceKms;
+        }
+
+        /**
+         * Distribution of the size in square kilometers of the areas
+         * returned.
+         */
+        public QuantileSketch getSquareKms() {
+            return squareKms;
+        }
+    }
+
+    /**
+     * Adds a comparison row to the summary.
+     * @param locationConfidence location confidence returned, or null
+     * @param continent continent of the truth record, or null
+     * @param addressFamily address family of the IP address, or null
+     * @param distanceKms distance between the true and returned locations
+     * @param squareKms size of the area returned
+     * @param contains true if the area contained the true location
+     */
+    public void add(String locationConfidence,
+                    String continent,
+                    String addressFamily,
+                    double distanceKms,
+                    double squareKms,
+                    boolean contains) {
+        group(ALL, ALL).add(distanceKms, squareKms, contains);
+        group(LOCATION_CONFIDENCE, locationConfidence)
+                .add(distanceKms, squareKms, contains);
+        group(CONTINENT, continent).add(distanceKms, squareKms, contains);
+        group(ADDRESS_FAMILY, addressFamily)
+                .add(distanceKms, squareKms, contains);
+    }
+
+    /**
+     * Adds the groups from the other summary to this one.
+     * @param other summary to merge
+     */
+    public void merge(AccuracySummary other) {
+        for (Map.Entry<String, Map<String, Group>> dimension :
+                other.groups.entrySet()) {
+            for (Map.Entry<String, Group> entry :
+                    dimension.getValue().entrySet()) {
+                group(dimension.getKey(), entry.getKey())
+                        .merge(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns the group for the dimension and value.
+     * @param dimension one of the dimension constants
+     * @param value the value of the dimension
+     * @return the group, or null if no rows have been added for the value
+     */
+    public Group getGroup(String dimension, String value) {
+        Map<String, Group> values = groups.get(dimension);
+        return values == null ? null : values.get(normalise(value));
+    }
+
+    /**
+     * Writes the summary as CSV with a row per group.
+     * @param output somewhere for the summary CSV
+     */
+    public void write(PrintWriter output) {
+        StringBuilder header = new StringBuilder(
+                "Dimension,Value,Records,Contains,ContainsRate,DistanceKmsMean");
+        for (double quantile : QUANTILES) {
+            header.append(",DistanceKmsP").append(percentile(quantile));
+        }
+        header.append(",SquareKmsMean");
+        for (double quantile : QUANTILES) {
+            header.append(",SquareKmsP").append(percentile(quantile));
+        }
+        output.println(header);
+        for (Map.Entry<String, Map<String, Group>> dimension :
+                groups.entrySet()) {
+            for (Map.Entry<String, Group> entry :
+                    dimension.getValue().entrySet()) {
+                Group group = entry.getValue();
+                StringBuilder line = new StringBuilder()
+                        .append(dimension.getKey()).append(',')
+                        .append(entry.getKey()).append(',')
+                        .append(group.getCount()).append(',')
+                        .append(group.getContains()).append(',')
+                        .append(format(group.getContainsRate())).append(',')
+                        .append(format(group.distanceKms.getMean()));
+                for (double quantile : QUANTILES) {
+                    line.append(',').append(format(
+                            group.distanceKms.getQuantile(quantile)));
+                }
+                line.append(',').append(format(group.squareKms.getMean()));
+                for (double quantile : QUANTILES) {
+                    line.append(',').append(format(
+                            group.squareKms.getQuantile(quantile)));
+                }
+                output.println(line);
+            }
+        }
+        output.flush();
+    }
+
+    private Group group(String dimension, String value) {
+        return groups
+                .computeIfAbsent(dimension, k -> new TreeMap<>())
+                .computeIfAbsent(normalise(value),
+                        k -> new Group(relativeAccuracy));
+    }
+
+    private static String normalise(String value) {
+        return value == null || value.isEmpty() ? "Unknown" : value;
+    }
+
+    private static String percentile(double quantile) {
+        return Integer.toString((int) Math.round(quantile * 100));
+    }
+
+    private static String format(double value) {
+        return Double.isNaN(value) ? "" : String.format("%.3f", value);
+    }
+}
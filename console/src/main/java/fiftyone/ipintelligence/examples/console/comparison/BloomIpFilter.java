@@ -0,0 +1,113 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.comparison;
+
+/**
+ * Approximate {@link IpDeduplicator} using a Bloom filter with a fixed
+ * number of bits. The memory used depends only on the expected number of
+ * distinct IP addresses and the false positive rate, for example 100
+ * million addresses at a rate of 0.001 need about 171MB, and 10 million
+ * addresses about 17MB.
+ * <p>
+ * An address that has been seen is always reported as a duplicate. A new
+ * address is wrongly reported as a duplicate with a probability close to
+ * the false positive rate once the expected number of addresses have been
+ * added.
+ */
+class BloomIpFilter implements IpDeduplicator {
+
+    private static final double LN2 = Math.log(2);
+
+    private final long[] key = new long[2];
+
+    private long[] bits;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    BloomIpFilter(long expected, double falsePositiveRate) {
+        if (expected < 1) {
+            throw new IllegalArgumentException(
+                    "Expected number of addresses must be greater than 0");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException(
+                    "False positive rate must be between 0 and 1");
+        }
+        long optimalBits = (long) Math.ceil(
+                -expected * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int words = (int) Math.min(
+                (optimalBits + 63) / 64,
+                Integer.MAX_VALUE - 8);
+        this.bits = new long[words];
+        this.bitCount = (long) words * 64;
+        this.hashCount = (int) Math.max(1, Math.round(
+                (double) bitCount / expected * LN2));
+    }
+
+    @Override
+    public boolean add(String ip) {
+        IpDeduplicator.toKey(ip, key);
+        return add(key[0], key[1]);
+    }
+
+    /**
+     * Records the 128 bit key returning false if it may have been seen.
+     */
+    boolean add(long high, long low) {
+        // Double hashing derives all the bit positions from two hashes.
+        long hash1 = IpDeduplicator.mix(high, low);
+        long hash2 = IpDeduplicator.fmix(hash1 ^ high) | 1;
+        boolean added = false;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(hash1 + i * hash2, bitCount);
+            int word = (int) (bit >>> 6);
+            long flag = 1L << bit;
+            if ((bits[word] & flag) == 0) {
+                bits[word] |= flag;
+                added = true;
+            }
+        }
+        return added;
+    }
+
+    @Override
+    public void close() {
+        bits = null;
+    }
+
+    /**
+     * Number of bits in the filter.
+     */
+    long getBitCount() {
+        return bitCount;
+    }
+
+    /**
+     * Number of bits set for each address.
+     */
+    int getHashCount() {
+        return hashCount;
+    }
+}
@@ -0,0 +1,97 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.comparison;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link IpDeduplicator} that records IP addresses exactly in an
+ * {@link OffHeapIpSet} until the number of distinct addresses passes a
+ * limit, then copies them into a {@link BloomIpFilter} and continues
+ * approximately. This bounds the memory used when the number of distinct
+ * addresses is not known in advance.
+ */
+class BoundedIpSet implements IpDeduplicator {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(BoundedIpSet.class);
+
+    private final long limit;
+
+    private final long expected;
+
+    private final double falsePositiveRate;
+
+    private OffHeapIpSet exact;
+
+    private BloomIpFilter approximate;
+
+    BoundedIpSet(long limit, long expected, double falsePositiveRate) {
+        if (limit < 1) {
+            throw new IllegalArgumentException(
+                    "Limit must be greater than 0");
+        }
+        this.limit = limit;
+        // The filter must hold more than the limit, as it is only used
+        // once the limit is passed.
+        this.expected = Math.max(expected, limit * 2);
+        this.falsePositiveRate = falsePositiveRate;
+        this.exact = new OffHeapIpSet(Math.min(expected, limit));
+    }
+
+    @Override
+    public boolean add(String ip) {
+        if (approximate != null) {
+            return approximate.add(ip);
+        }
+        boolean added = exact.add(ip);
+        if (exact.size() > limit) {
+            logger.warn("More than '{}' distinct IP addresses, using " +
+                    "approximate de-duplication with a false positive " +
+                    "rate of '{}'", limit, falsePositiveRate);
+            approximate = new BloomIpFilter(expected, falsePositiveRate);
+            exact.copyTo(approximate);
+            exact.close();
+            exact = null;
+        }
+        return added;
+    }
+
+    @Override
+    public void close() {
+        if (exact != null) {
+            exact.close();
+        }
+        if (approximate != null) {
+            approximate.close();
+        }
+    }
+
+    /**
+     * True once the addresses are recorded approximately.
+     */
+    boolean isApproximate() {
+        return approximate != null;
+    }
+}
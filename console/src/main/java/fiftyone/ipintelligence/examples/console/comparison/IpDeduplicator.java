@@ -0,0 +1,147 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.comparison;
+
+import fiftyone.ipintelligence.examples.shared.IpAddressKey;
+
+/**
+ * Records the IP addresses seen so far in a stream of records so that
+ * duplicates can be skipped.
+ * <p>
+ * IP addresses are packed into 128 bit keys with {@link IpAddressKey}
+ * rather than held as strings, so the memory used per address is fixed and
+ * small. Two implementations are available:
+ * <ul>
+ *     <li>{@link #exact(long)} never skips a new address and uses about
+ *     24 bytes of off-heap memory per distinct address,
+ *     {@link #bounded(long, long, double)} does the same up to a limit and
+ *     then changes to a Bloom filter,</li>
+ *     <li>{@link #approximate(long, double)} uses a Bloom filter of a fixed
+ *     size. A small proportion of new addresses, set by the false positive
+ *     rate, are wrongly reported as already seen.</li>
+ * </ul>
+ * Implementations are not thread safe and are intended to be used by the
+ * single thread reading the records.
+ */
+public interface IpDeduplicator extends AutoCloseable {
+
+    /**
+     * Records the IP address.
+     * @param ip the IP address, values that are not valid IP address
+     *           literals are de-duplicated using a 128 bit hash of the text
+     * @return true if the IP address has not been seen before, otherwise
+     * false
+     */
+    boolean add(String ip);
+
+    /**
+     * Releases the memory used to record the IP addresses.
+     */
+    @Override
+    void close();
+
+    /**
+     * Returns a de-duplicator that records every distinct IP address exactly
+     * in an off-heap open addressing hash set.
+     * @param expected the expected number of distinct IP addresses, used to
+     *                 size the set initially up to 16MB, after which it grows
+     *                 as needed
+     * @return a new exact de-duplicator
+     */
+    static IpDeduplicator exact(long expected) {
+        return new OffHeapIpSet(expected);
+    }
+
+    /**
+     * Returns a de-duplicator that records every distinct IP address exactly
+     * until there are more than the limit, then changes to a Bloom filter
+     * sized for the expected number of distinct IP addresses and false
+     * positive rate. The memory used is bounded even if the expected number
+     * is wrong.
+     * @param limit the number of distinct IP addresses recorded exactly
+     * @param expected the expected number of distinct IP addresses
+     * @param falsePositiveRate proportion of new IP addresses that may be
+     *                          reported as already seen once the limit is
+     *                          passed, for example 0.001
+     * @return a new de-duplicator
+     */
+    static IpDeduplicator bounded(long limit,
+                                  long expected,
+                                  double falsePositiveRate) {
+        return new BoundedIpSet(limit, expected, falsePositiveRate);
+    }
+
+    /**
+     * Returns a de-duplicator that uses a Bloom filter sized for the
+     * expected number of distinct IP addresses and false positive rate.
+     * @param expected the expected number of distinct IP addresses
+     * @param falsePositiveRate proportion of new IP addresses that may be
+     *                          reported as already seen, for example 0.001
+     * @return a new approximate de-duplicator
+     */
+    static IpDeduplicator approximate(long expected, double falsePositiveRate) {
+        return new BloomIpFilter(expected, falsePositiveRate);
+    }
+
+    /**
+     * Packs the IP address into the two element key array. Values that are
+     * not IP address literals are converted to two independent 64 bit
+     * hashes of the text.
+     */
+    static void toKey(String ip, long[] key) {
+        if (IpAddressKey.pack(ip, 0, ip.length(), key) == false) {
+            key[0] = hash(ip, 0x9E3779B97F4A7C15L);
+            key[1] = hash(ip, 0xC2B2AE3D27D4EB4FL);
+        }
+    }
+
+    /**
+     * Mixes the bits of the 128 bit key into a well distributed 64 bit hash.
+     */
+    static long mix(long high, long low) {
+        return fmix(high * 0x87C37B91114253D5L ^ Long.rotateLeft(low, 31));
+    }
+
+    /**
+     * Seeded 64 bit hash of the characters of the text.
+     */
+    static long hash(String text, long seed) {
+        long hash = seed;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001B3L;
+        }
+        return fmix(hash);
+    }
+
+    /**
+     * MurmurHash3 64 bit finalizer.
+     */
+    static long fmix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,175 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.comparison;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Exact {@link IpDeduplicator} that stores 128 bit IP address keys in an
+ * open addressing hash table with linear probing held in a direct
+ * {@link ByteBuffer}. The keys are outside the Java heap so even tens of
+ * millions of addresses do not add to garbage collection work.
+ * <p>
+ * Each slot is 16 bytes. A slot containing all zeros is empty, so the
+ * all-zero address "::" is tracked separately.
+ * <p>
+ * The expected number of addresses is often an over estimate, so the table
+ * starts no larger than 16MB and grows as addresses are added.
+ */
+class OffHeapIpSet implements IpDeduplicator {
+
+    private static final int SLOT_BYTES = 16;
+
+    private static final double MAX_LOAD = 0.7;
+
+    /**
+     * Largest number of slots that fit in a single direct buffer.
+     */
+    private static final int MAX_SLOTS = Integer.MAX_VALUE / SLOT_BYTES + 1 >>> 1;
+
+    /**
+     * Largest number of slots allocated before any addresses are added.
+     */
+    private static final int INITIAL_MAX_SLOTS = 1 << 20;
+
+    private final long[] key = new long[2];
+
+    private ByteBuffer slots;
+
+    private int mask;
+
+    private long size;
+
+    private boolean containsZero;
+
+    OffHeapIpSet(long expected) {
+        allocate(capacityFor(expected));
+    }
+
+    @Override
+    public boolean add(String ip) {
+        IpDeduplicator.toKey(ip, key);
+        if (key[0] == 0 && key[1] == 0) {
+            boolean added = containsZero == false;
+            containsZero = true;
+            return added;
+        }
+        if (insert(key[0], key[1]) == false) {
+            return false;
+        }
+        size++;
+        if (size > (mask + 1) * MAX_LOAD) {
+            grow();
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        // Direct buffers are freed when they are garbage collected. Dropping
+        // the reference allows that to happen as soon as possible.
+        slots = null;
+    }
+
+    /**
+     * Number of distinct IP addresses recorded.
+     */
+    long size() {
+        return size + (containsZero ? 1 : 0);
+    }
+
+    /**
+     * Adds every address recorded to the Bloom filter.
+     */
+    void copyTo(BloomIpFilter filter) {
+        if (containsZero) {
+            filter.add(0, 0);
+        }
+        for (int offset = 0; offset < (mask + 1) * SLOT_BYTES;
+             offset += SLOT_BYTES) {
+            long high = slots.getLong(offset);
+            long low = slots.getLong(offset + 8);
+            if (high != 0 || low != 0) {
+                filter.add(high, low);
+            }
+        }
+    }
+
+    /**
+     * Inserts the key returning false if it was already present.
+     */
+    private boolean insert(long high, long low) {
+        int slot = (int) IpDeduplicator.mix(high, low) & mask;
+        while (true) {
+            int offset = slot * SLOT_BYTES;
+            long existingHigh = slots.getLong(offset);
+            long existingLow = slots.getLong(offset + 8);
+            if (existingHigh == 0 && existingLow == 0) {
+                slots.putLong(offset, high);
+                slots.putLong(offset + 8, low);
+                return true;
+            }
+            if (existingHigh == high && existingLow == low) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Doubles the number of slots re-inserting the existing keys.
+     */
+    private void grow() {
+        int capacity = mask + 1;
+        if (capacity >= MAX_SLOTS) {
+            throw new IllegalStateException(
+                    "Too many distinct IP addresses for the exact " +
+                    "de-duplicator, use the approximate de-duplicator");
+        }
+        ByteBuffer previous = slots;
+        allocate(capacity * 2);
+        for (int offset = 0; offset < capacity * SLOT_BYTES;
+             offset += SLOT_BYTES) {
+            long high = previous.getLong(offset);
+            long low = previous.getLong(offset + 8);
+            if (high != 0 || low != 0) {
+                insert(high, low);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = ByteBuffer.allocateDirect(capacity * SLOT_BYTES);
+        mask = capacity - 1;
+    }
+
+    /**
+     * Power of two number of slots needed for the expected number of keys
+     * without exceeding the maximum load, up to the initial maximum.
+     */
+    private static int capacityFor(long expected) {
+        long needed = (long) Math.ceil(Math.max(expected, 16) / MAX_LOAD);
+        long capacity = Long.highestOneBit(needed - 1) << 1;
+        return (int) Math.min(capacity, INITIAL_MAX_SLOTS);
+    }
+}
@@ -0,0 +1,234 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.comparison;
+
+/**
+ * Mergeable sketch of the distribution of non-negative values that returns
+ * quantiles with a bounded relative error.
+ * <p>
+ * Values are counted in logarithmically sized buckets where the upper bound
+ * of each bucket is {@code gamma} times the lower bound. Any quantile
+ * returned is within the relative accuracy of the true value, the memory
+ * used depends only on the range of the values and not on how many are
+ * added, and two sketches with the same accuracy can be merged by adding
+ * the bucket counts. Values too small to be distinguished from zero are
+ * counted separately.
+ * <p>
+ * Instances are not thread safe. Use one per thread and {@link #merge} them.
+ */
+public class QuantileSketch {
+
+    /**
+     * Default relative accuracy of 1%.
+     */
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    /**
+     * Values at or below this are counted as zero.
+     */
+    private static final double MIN_VALUE = 1e-9;
+
+    private final double relativeAccuracy;
+
+    private final double gamma;
+
+    private final double logGamma;
+
+    private long[] counts = new long[0];
+
+    private int offset;
+
+    private long zeroCount;
+
+    private long count;
+
+    private double sum;
+
+    private double min = Double.POSITIVE_INFINITY;
+
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Constructs a new instance of {@link QuantileSketch} with the
+     * {@link #DEFAULT_RELATIVE_ACCURACY}.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    /**
+     * Constructs a new instance of {@link QuantileSketch}.
+     * @param relativeAccuracy maximum relative error of the quantiles
+     *                         returned, between 0 and 1
+     */
+    public QuantileSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException(
+                    "Relative accuracy must be between 0 and 1");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    /**
+     * Adds the value to the sketch.
+     * @param value a non-negative value, negative and NaN values are
+     *              ignored
+     */
+    public void add(double value) {
+        if (value >= 0 == false || Double.isInfinite(value)) {
+            return;
+        }
+        if (value <= MIN_VALUE) {
+            zeroCount++;
+        } else {
+            increment(index(value), 1);
+        }
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds the counts from the other sketch to this one.
+     * @param other sketch with the same relative accuracy
+     */
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException(
+                    "Sketches must have the same relative accuracy to merge");
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] > 0) {
+                increment(i + other.offset, other.counts[i]);
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Returns the estimated value at the quantile.
+     * @param quantile between 0 and 1, for example 0.5 for the median
+     * @return the estimated value, or NaN if no values have been added
+     */
+    public double getQuantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException(
+                    "Quantile must be between 0 and 1");
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (quantile * (count - 1));
+        if (rank == 0) {
+            return min;
+        }
+        if (rank == count - 1) {
+            return max;
+        }
+        if (rank < zeroCount) {
+            return 0;
+        }
+        long seen = zeroCount;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                // The mid point of the bucket relative to the bounds.
+                double value = 2 * Math.pow(gamma, i + offset) / (gamma + 1);
+                return Math.max(min, Math.min(max, value));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Number of values added.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Mean of the values added, or NaN if there are none.
+     */
+    public double getMean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    /**
+     * Smallest value added, or NaN if there are none.
+     */
+    public double getMin() {
+        return count == 0 ? Double.NaN : min;
+    }
+
+    /**
+     * Largest value added, or NaN if there are none.
+     */
+    public double getMax() {
+        return count == 0 ? Double.NaN : max;
+    }
+
+    /**
+     * Relative accuracy of the quantiles returned.
+     */
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    private int index(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    /**
+     * Adds to the count of the bucket, growing the array of counts to cover
+     * the index if needed.
+     */
+    private void increment(int index, long value) {
+        if (counts.length == 0) {
+            counts = new long[16];
+            offset = index - 8;
+        }
+        if (index < offset) {
+            int grow = Math.max(offset - index, counts.length / 2);
+            long[] grown = new long[counts.length + grow];
+            System.arraycopy(counts, 0, grown, grow, counts.length);
+            counts = grown;
+            offset -= grow;
+        } else if (index >= offset + counts.length) {
+            int grow = Math.max(
+                    index - offset - counts.length + 1,
+                    counts.length / 2);
+            long[] grown = new long[counts.length + grow];
+            System.arraycopy(counts, 0, grown, 0, counts.length);
+            counts = grown;
+        }
+        counts[index - offset] += value;
+    }
+}
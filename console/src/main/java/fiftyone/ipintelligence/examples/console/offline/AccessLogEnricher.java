@@ -0,0 +1,289 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.offline;
+
+import fiftyone.ipintelligence.examples.console.batch.OrderedProcessor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Enriches web server access logs, such as the nginx and Apache combined
+ * format, where each line starts with the client IP address.
+ * <p>
+ * The log file is split into chunks of roughly equal size that always end
+ * at a newline. Each chunk is memory mapped and processed by a worker
+ * thread, which finds the line breaks and the client IP address by scanning
+ * the bytes directly rather than decoding lines into strings, splitting or
+ * using regular expressions. Each line is written unchanged followed by a
+ * tab and the values of the selected properties separated by tabs, with
+ * "-" where there is no value. Lines without a client IP address are
+ * written unchanged. The chunks are written in the same order as the
+ * input.
+ */
+public class AccessLogEnricher {
+
+    /**
+     * Default size of each chunk of the log file.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * Longest client IP address token considered, anything longer is not
+     * an IP address.
+     */
+    private static final int MAX_IP_LENGTH = 64;
+
+    /**
+     * Looks up the property values for a client IP address. Must be thread
+     * safe.
+     */
+    public interface Lookup {
+        /**
+         * @param ip the client IP address from the start of the line
+         * @return the values of the selected properties, null where there
+         * is no value
+         */
+        String[] lookup(String ip) throws Exception;
+    }
+
+    /**
+     * Start and end offsets of a chunk in the file.
+     */
+    private static class Chunk {
+        final long start;
+        final long end;
+
+        Chunk(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private final Lookup lookup;
+
+    private final int threads;
+
+    private final int chunkSize;
+
+    /**
+     * Constructs a new instance of {@link AccessLogEnricher}.
+     * @param lookup used to get the property values for each line
+     * @param threads number of worker threads
+     * @param chunkSize approximate number of bytes in each chunk
+     */
+    public AccessLogEnricher(Lookup lookup, int threads, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException(
+                    "Chunk size must be greater than 0");
+        }
+        this.lookup = lookup;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Enrich every line of the log file writing the result to the output.
+     * @param log the access log file
+     * @param output somewhere for the enriched lines
+     * @return the number of lines enriched
+     */
+    public long enrich(Path log, OutputStream output) throws Exception {
+        AtomicLong lines = new AtomicLong();
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)) {
+            // Two chunks per worker can be waiting to be written, so the
+            // memory used is bounded by the chunk size not the file size.
+            OrderedProcessor<Chunk, ByteArrayOutputStream> processor =
+                    new OrderedProcessor<>(threads, threads * 2);
+            processor.run(
+                    chunks(channel),
+                    chunk -> process(channel, chunk, lines),
+                    (sequence, enriched) -> enriched.writeTo(output));
+        }
+        output.flush();
+        return lines.get();
+    }
+
+    /**
+     * Returns the chunks of the file in order, each ending just after a
+     * newline or at the end of the file.
+     */
+    private Iterator<Chunk> chunks(FileChannel channel) throws IOException {
+        long size = channel.size();
+        return new Iterator<Chunk>() {
+            private long start = 0;
+
+            @Override
+            public boolean hasNext() {
+                return start < size;
+            }
+
+            @Override
+            public Chunk next() {
+                if (hasNext() == false) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    long end = nextLineStart(channel, start + chunkSize, size);
+                    Chunk chunk = new Chunk(start, end);
+                    start = end;
+                    return chunk;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns the position after the first newline at or after the
+     * position, or the size of the file if there is none.
+     */
+    private static long nextLineStart(FileChannel channel,
+                                      long position,
+                                      long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * Maps the chunk and enriches each line in it.
+     */
+    private ByteArrayOutputStream process(FileChannel channel,
+                                          Chunk chunk,
+                                          AtomicLong lines) throws Exception {
+        MappedByteBuffer buffer = channel.map(
+                FileChannel.MapMode.READ_ONLY,
+                chunk.start,
+                chunk.end - chunk.start);
+        ByteArrayOutputStream output = new ByteArrayOutputStream(
+                (int) ((chunk.end - chunk.start) * 5 / 4));
+        lines.addAndGet(enrich(buffer, output));
+        return output;
+    }
+
+    /**
+     * Enriches each line in the buffer, writing the results to the output.
+     * @return the number of lines
+     */
+    long enrich(ByteBuffer buffer, ByteArrayOutputStream output)
+            throws Exception {
+        byte[] line = new byte[1024];
+        char[] ip = new char[MAX_IP_LENGTH];
+        StringBuilder fields = new StringBuilder();
+        int limit = buffer.limit();
+        int start = 0;
+        long count = 0;
+        while (start < limit) {
+            // Find the end of the line, excluding the line break.
+            int end = start;
+            while (end < limit && buffer.get(end) != '\n') {
+                end++;
+            }
+            int next = end < limit ? end + 1 : end;
+            if (end > start && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+
+            int length = end - start;
+            if (length > 0) {
+                if (line.length < length) {
+                    line = new byte[Math.max(length, line.length * 2)];
+                }
+                ByteBuffer source = buffer.duplicate();
+                source.position(start);
+                source.limit(end);
+                source.get(line, 0, length);
+
+                // The client IP address is the first token on the line.
+                int ipLength = 0;
+                while (ipLength < length &&
+                       ipLength < MAX_IP_LENGTH &&
+                       line[ipLength] != ' ' &&
+                       line[ipLength] != '\t') {
+                    ip[ipLength] = (char) (line[ipLength] & 0xFF);
+                    ipLength++;
+                }
+
+                String[] values = ipLength > 0 ?
+                        lookup.lookup(new String(ip, 0, ipLength)) :
+                        null;
+
+                output.write(line, 0, length);
+                fields.setLength(0);
+                appendFields(values, fields);
+                byte[] bytes = fields.toString().getBytes(StandardCharsets.UTF_8);
+                output.write(bytes, 0, bytes.length);
+                count++;
+            }
+            output.write('\n');
+            start = next;
+        }
+        return count;
+    }
+
+    /**
+     * Appends a tab before each value, replacing any tabs or line breaks in
+     * the value so that the output stays one line per record.
+     */
+    private static void appendFields(String[] values, StringBuilder fields) {
+        if (values == null) {
+            return;
+        }
+        for (String value : values) {
+            fields.append('\t');
+            if (value == null || value.isEmpty()) {
+                fields.append('-');
+                continue;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                fields.append(c == '\t' || c == '\n' || c == '\r' ? ' ' : c);
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.offline;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads files written by {@link ColumnarWriter}. Only the footer is read
+ * when the file is opened, and reading a column reads only the chunks for
+ * that column.
+ */
+public class ColumnarReader implements Closeable {
+
+    private final FileChannel channel;
+
+    private final String[] columns;
+
+    private final int[] groupRows;
+
+    private final long[][] offsets;
+
+    private final int[][] lengths;
+
+    private final byte[][] encodings;
+
+    /**
+     * Constructs a new instance of {@link ColumnarReader} reading the footer
+     * of the file.
+     * @param file written by {@link ColumnarWriter}
+     */
+    public ColumnarReader(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ByteBuffer tail = read(size - 8, 8);
+            int footerLength = tail.getInt();
+            byte[] magic = new byte[4];
+            tail.get(magic);
+            if (Arrays.equals(magic, ColumnarWriter.MAGIC) == false) {
+                throw new IOException("'" + file + "' is not a columnar file");
+            }
+            DataInputStream footer = stream(
+                    read(size - 8 - footerLength, footerLength));
+            columns = new String[footer.readInt()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = readString(footer);
+            }
+            int groups = footer.readInt();
+            groupRows = new int[groups];
+            offsets = new long[groups][columns.length];
+            lengths = new int[groups][columns.length];
+            encodings = new byte[groups][columns.length];
+            for (int group = 0; group < groups; group++) {
+                groupRows[group] = footer.readInt();
+                for (int column = 0; column < columns.length; column++) {
+                    offsets[group][column] = footer.readLong();
+                    lengths[group][column] = footer.readInt();
+                    encodings[group][column] = footer.readByte();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Names of the columns in the file.
+     */
+    public String[] getColumns() {
+        return columns.clone();
+    }
+
+    /**
+     * Total number of rows in the file.
+     */
+    public long getRowCount() {
+        long rows = 0;
+        for (int count : groupRows) {
+            rows += count;
+        }
+        return rows;
+    }
+
+    /**
+     * Reads all the values of a single column.
+     * @param name of the column
+     * @return the values in row order, null where there was no value
+     */
+    public List<String> readColumn(String name) throws IOException {
+        int column = Arrays.asList(columns).indexOf(name);
+        if (column < 0) {
+            throw new IllegalArgumentException(
+                    "Column '" + name + "' is not in the file");
+        }
+        List<String> values = new ArrayList<>((int) getRowCount());
+        for (int group = 0; group < groupRows.length; group++) {
+            DataInputStream chunk = stream(read(
+                    offsets[group][column],
+                    lengths[group][column]));
+            if (encodings[group][column] == ColumnarWriter.DICTIONARY) {
+                String[] dictionary = new String[chunk.readInt() + 1];
+                for (int i = 1; i < dictionary.length; i++) {
+                    dictionary[i] = readString(chunk);
+                }
+                int width = chunk.readByte();
+                for (int row = 0; row < groupRows[group]; row++) {
+                    values.add(dictionary[width == 1 ?
+                            chunk.readUnsignedByte() :
+                            chunk.readUnsignedShort()]);
+                }
+            } else {
+                for (int row = 0; row < groupRows[group]; row++) {
+                    values.add(readString(chunk));
+                }
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of columnar file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static DataInputStream stream(ByteBuffer buffer) {
+        return new DataInputStream(new ByteArrayInputStream(
+                buffer.array(), buffer.position(), buffer.remaining()));
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
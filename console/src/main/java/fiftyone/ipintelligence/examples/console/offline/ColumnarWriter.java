@@ -0,0 +1,293 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.offline;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes records with a fixed set of string columns in a simple columnar
+ * binary format so that a single column can be read without reading the
+ * others, and low cardinality values such as countries are stored once per
+ * row group.
+ * <p>
+ * Records are buffered into row groups. When a row group is full each
+ * column is written as a separate chunk using whichever encoding is
+ * smaller:
+ * <ul>
+ *     <li>{@link #PLAIN}, each value as a length followed by the UTF-8
+ *     bytes,</li>
+ *     <li>{@link #DICTIONARY}, the distinct values once followed by a fixed
+ *     width index per row.</li>
+ * </ul>
+ * The footer records the column names and the offset, length and encoding
+ * of every chunk, so readers such as {@link ColumnarReader} can seek
+ * straight to the chunks of the columns they need.
+ * <p>
+ * The layout, with all numbers big endian, is:
+ * <pre>
+ *   "51DC" version
+ *   chunk*
+ *   footer: columns (name)* rowGroups (rows (offset length encoding)*)*
+ *   footerLength "51DC"
+ * </pre>
+ * Strings are written as an int length, -1 for null, and the UTF-8 bytes.
+ * Instances are not thread safe.
+ */
+public class ColumnarWriter implements Closeable {
+
+    /**
+     * Identifies the format at the start and end of the file.
+     */
+    static final byte[] MAGIC = {'5', '1', 'D', 'C'};
+
+    static final byte VERSION = 1;
+
+    /**
+     * Chunk encoding with each value written in full.
+     */
+    static final byte PLAIN = 0;
+
+    /**
+     * Chunk encoding with the distinct values followed by an index per row.
+     */
+    static final byte DICTIONARY = 1;
+
+    /**
+     * Default number of rows in each row group.
+     */
+    public static final int DEFAULT_ROW_GROUP_SIZE = 65536;
+
+    /**
+     * Largest dictionary, so that indexes fit in an unsigned short.
+     */
+    private static final int MAX_DICTIONARY = 65535;
+
+    /**
+     * Offset, length and encoding of a single column chunk.
+     */
+    private static class Chunk {
+        final long offset;
+        final int length;
+        final byte encoding;
+
+        Chunk(long offset, int length, byte encoding) {
+            this.offset = offset;
+            this.length = length;
+            this.encoding = encoding;
+        }
+    }
+
+    private final DataOutputStream output;
+
+    private final String[] columns;
+
+    private final String[][] rows;
+
+    private final List<Integer> groupRows = new ArrayList<>();
+
+    private final List<Chunk[]> groupChunks = new ArrayList<>();
+
+    private final ByteArrayOutputStream chunkBytes = new ByteArrayOutputStream();
+
+    private final DataOutputStream chunk = new DataOutputStream(chunkBytes);
+
+    private int rowCount;
+
+    private long position;
+
+    private long totalRows;
+
+    /**
+     * Constructs a new instance of {@link ColumnarWriter} and writes the
+     * file header.
+     * @param output to write the file to, closed when the writer is closed
+     * @param columns names of the columns in each record
+     * @param rowGroupSize number of rows buffered before the column chunks
+     *                     are written
+     */
+    public ColumnarWriter(OutputStream output,
+                          String[] columns,
+                          int rowGroupSize) throws IOException {
+        if (rowGroupSize < 1) {
+            throw new IllegalArgumentException(
+                    "Row group size must be greater than 0");
+        }
+        this.output = new DataOutputStream(new BufferedOutputStream(output));
+        this.columns = columns.clone();
+        this.rows = new String[rowGroupSize][];
+        this.output.write(MAGIC);
+        this.output.writeByte(VERSION);
+        position = MAGIC.length + 1;
+    }
+
+    /**
+     * Adds a record, writing the row group if it is full.
+     * @param values the values in column order, null where there is no value
+     */
+    public void write(String[] values) throws IOException {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException(
+                    "Expected " + columns.length + " values but got " +
+                    values.length);
+        }
+        rows[rowCount++] = values;
+        if (rowCount == rows.length) {
+            writeRowGroup();
+        }
+    }
+
+    /**
+     * Number of records written so far.
+     */
+    public long getRowCount() {
+        return totalRows + rowCount;
+    }
+
+    /**
+     * Writes any buffered records and the footer, then closes the output.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (rowCount > 0) {
+                writeRowGroup();
+            }
+            writeFooter();
+            output.flush();
+        } finally {
+            output.close();
+        }
+    }
+
+    private void writeRowGroup() throws IOException {
+        Chunk[] chunks = new Chunk[columns.length];
+        for (int column = 0; column < columns.length; column++) {
+            chunkBytes.reset();
+            byte encoding = writeChunk(column);
+            chunkBytes.writeTo(output);
+            chunks[column] = new Chunk(position, chunkBytes.size(), encoding);
+            position += chunkBytes.size();
+        }
+        groupRows.add(rowCount);
+        groupChunks.add(chunks);
+        totalRows += rowCount;
+        // Release the references to the records in the row group.
+        Arrays.fill(rows, 0, rowCount, null);
+        rowCount = 0;
+    }
+
+    /**
+     * Writes the values of the column to the chunk buffer using a
+     * dictionary if there are few enough distinct values for it to be
+     * smaller than the plain encoding.
+     */
+    private byte writeChunk(int column) throws IOException {
+        Map<String, Integer> indexes = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        long plainBytes = 0;
+        for (int row = 0; row < rowCount; row++) {
+            String value = rows[row][column];
+            plainBytes += 4 + (value == null ? 0 : value.length());
+            if (value != null &&
+                dictionary.size() <= MAX_DICTIONARY &&
+                indexes.containsKey(value) == false) {
+                indexes.put(value, dictionary.size());
+                dictionary.add(value);
+            }
+        }
+
+        if (dictionary.size() <= MAX_DICTIONARY) {
+            // Index zero is reserved for null so the widest index is the
+            // size of the dictionary.
+            int width = dictionary.size() < 255 ? 1 : 2;
+            long dictionaryBytes = 5 + (long) rowCount * width;
+            for (String value : dictionary) {
+                dictionaryBytes += 4 + value.length();
+            }
+            if (dictionaryBytes < plainBytes) {
+                chunk.writeInt(dictionary.size());
+                for (String value : dictionary) {
+                    writeString(chunk, value);
+                }
+                chunk.writeByte(width);
+                for (int row = 0; row < rowCount; row++) {
+                    String value = rows[row][column];
+                    int index = value == null ? 0 : indexes.get(value) + 1;
+                    if (width == 1) {
+                        chunk.writeByte(index);
+                    } else {
+                        chunk.writeShort(index);
+                    }
+                }
+                return DICTIONARY;
+            }
+        }
+
+        for (int row = 0; row < rowCount; row++) {
+            writeString(chunk, rows[row][column]);
+        }
+        return PLAIN;
+    }
+
+    private void writeFooter() throws IOException {
+        chunkBytes.reset();
+        chunk.writeInt(columns.length);
+        for (String column : columns) {
+            writeString(chunk, column);
+        }
+        chunk.writeInt(groupRows.size());
+        for (int group = 0; group < groupRows.size(); group++) {
+            chunk.writeInt(groupRows.get(group));
+            for (Chunk columnChunk : groupChunks.get(group)) {
+                chunk.writeLong(columnChunk.offset);
+                chunk.writeInt(columnChunk.length);
+                chunk.writeByte(columnChunk.encoding);
+            }
+        }
+        chunkBytes.writeTo(output);
+        output.writeInt(chunkBytes.size());
+        output.write(MAGIC);
+    }
+
+    static void writeString(DataOutputStream output, String value)
+            throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+}
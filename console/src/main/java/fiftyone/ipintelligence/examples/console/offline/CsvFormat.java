@@ -0,0 +1,98 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.offline;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes a header line of the column names followed by a line per record.
+ * Values containing a comma, quote or line break are quoted as described in
+ * RFC 4180. Missing values are written as empty fields.
+ */
+public class CsvFormat implements OutputFormat {
+
+    private final String header;
+
+    private final int columns;
+
+    /**
+     * Constructs a new instance of {@link CsvFormat}.
+     * @param columns names of the columns in each record
+     */
+    public CsvFormat(String[] columns) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            appendField(columns[i], builder);
+        }
+        this.header = builder.append('\n').toString();
+        this.columns = columns.length;
+    }
+
+    @Override
+    public void start(Writer writer) throws IOException {
+        writer.write(header);
+    }
+
+    @Override
+    public void format(String[] values, StringBuilder builder) {
+        for (int i = 0; i < columns; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            if (values[i] != null) {
+                appendField(values[i], builder);
+            }
+        }
+        builder.append('\n');
+    }
+
+    @Override
+    public void end(Writer writer) {
+        // Nothing is needed after the last record.
+    }
+
+    private static void appendField(String value, StringBuilder builder) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && quote == false; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (quote == false) {
+            builder.append(value);
+            return;
+        }
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                builder.append('"');
+            }
+            builder.append(c);
+        }
+        builder.append('"');
+    }
+}
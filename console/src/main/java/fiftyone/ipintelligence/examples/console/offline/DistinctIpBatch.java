@@ -0,0 +1,176 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.offline;
+
+import fiftyone.ipintelligence.examples.shared.IpAddressKey;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Processes a batch of evidence records looking up each distinct client IP
+ * address once and fanning the result out to every record with that IP
+ * address. Access log batches often repeat the same client many times in a
+ * few seconds, so the number of lookups scales with the distinct IP
+ * addresses rather than the number of records.
+ * <p>
+ * The IP address is taken from the first of {@link #IP_EVIDENCE_KEYS}
+ * present in each record and compared in its packed binary form, so
+ * different text forms of the same address are grouped together. Records
+ * without an IP address are looked up individually.
+ * @param <R> type of the result for each record
+ */
+public class DistinctIpBatch<R> {
+
+    /**
+     * Evidence keys checked, in order, for the client IP address.
+     */
+    public static final String[] IP_EVIDENCE_KEYS = {
+            "query.client-ip",
+            "server.client-ip"};
+
+    /**
+     * Looks up the result for a record.
+     * @param <R> type of the result
+     */
+    public interface Lookup<R> {
+        /**
+         * @param evidence the first record in the batch with the IP address
+         * @return the result for every record with the same IP address
+         */
+        R lookup(Map<String, ?> evidence) throws Exception;
+    }
+
+    private final int lookups;
+
+    private final List<R> results;
+
+    private DistinctIpBatch(int lookups, List<R> results) {
+        this.lookups = lookups;
+        this.results = results;
+    }
+
+    /**
+     * Look up the result for every record in the batch, calling the lookup
+     * once for each distinct IP address.
+     * @param batch the evidence records
+     * @param lookup called for the first record with each IP address
+     * @param <R> type of the result
+     * @return the results in the same order as the batch, records with the
+     * same IP address share the same result instance
+     */
+    public static <R> List<R> process(
+            List<? extends Map<String, ?>> batch,
+            Lookup<R> lookup) throws Exception {
+        return processWithStats(batch, lookup).getResults();
+    }
+
+    /**
+     * As {@link #process(List, Lookup)} but also returns the number of
+     * lookups made.
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> DistinctIpBatch<R> processWithStats(
+            List<? extends Map<String, ?>> batch,
+            Lookup<R> lookup) throws Exception {
+        // Index of the first record for each distinct IP address, and the
+        // group each record belongs to.
+        Map<Object, Integer> groups = new HashMap<>();
+        List<Map<String, ?>> firsts = new ArrayList<>();
+        int[] recordGroups = new int[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            Map<String, ?> evidence = batch.get(i);
+            Object key = keyOf(evidence);
+            Integer group = key == null ? null : groups.get(key);
+            if (group == null) {
+                group = firsts.size();
+                firsts.add(evidence);
+                if (key != null) {
+                    groups.put(key, group);
+                }
+            }
+            recordGroups[i] = group;
+        }
+
+        Object[] groupResults = new Object[firsts.size()];
+        for (int group = 0; group < groupResults.length; group++) {
+            groupResults[group] = lookup.lookup(firsts.get(group));
+        }
+
+        Object[] results = new Object[batch.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = groupResults[recordGroups[i]];
+        }
+        return new DistinctIpBatch<>(
+                groupResults.length,
+                Arrays.asList((R[]) results));
+    }
+
+    /**
+     * The results in the same order as the batch.
+     */
+    public List<R> getResults() {
+        return results;
+    }
+
+    /**
+     * Number of lookups made, one per distinct IP address plus one per
+     * record without an IP address.
+     */
+    public int getLookups() {
+        return lookups;
+    }
+
+    /**
+     * Returns the key used to group the record, the packed IP address or the
+     * text if it is not a valid IP address, or null if there is no IP
+     * address.
+     */
+    private static Object keyOf(Map<String, ?> evidence) {
+        String ip = ipOf(evidence);
+        if (ip == null) {
+            return null;
+        }
+        IpAddressKey key = IpAddressKey.parse(ip);
+        return key != null ? key : ip;
+    }
+
+    /**
+     * Returns the client IP address from the first of the
+     * {@link #IP_EVIDENCE_KEYS} in the evidence.
+     * @param evidence an evidence record
+     * @return the IP address, or null if the record does not have one
+     */
+    public static String ipOf(Map<String, ?> evidence) {
+        for (String name : IP_EVIDENCE_KEYS) {
+            Object value = evidence.get(name);
+            if (value != null) {
+                return value.toString().trim();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,113 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.offline;
+
+import java.io.Writer;
+
+/**
+ * Writes each record as a JSON object on a single line (newline delimited
+ * JSON). The escaped key of each column is prepared once so rendering a
+ * record only escapes the values.
+ */
+public class NdjsonFormat implements OutputFormat {
+
+    /**
+     * Text written before each value, for example {@code {"ip.Name":}.
+     */
+    private final String[] prefixes;
+
+    /**
+     * Constructs a new instance of {@link NdjsonFormat}.
+     * @param columns names of the columns in each record, used as the keys
+     */
+    public NdjsonFormat(String[] columns) {
+        prefixes = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            StringBuilder prefix = new StringBuilder();
+            prefix.append(i == 0 ? '{' : ',');
+            appendString(columns[i], prefix);
+            prefix.append(':');
+            prefixes[i] = prefix.toString();
+        }
+    }
+
+    @Override
+    public void start(Writer writer) {
+        // Nothing is needed before the first record.
+    }
+
+    @Override
+    public void format(String[] values, StringBuilder builder) {
+        if (prefixes.length == 0) {
+            builder.append('{');
+        }
+        for (int i = 0; i < prefixes.length; i++) {
+            builder.append(prefixes[i]);
+            if (values[i] == null) {
+                builder.append("null");
+            } else {
+                appendString(values[i], builder);
+            }
+        }
+        builder.append("}\n");
+    }
+
+    @Override
+    public void end(Writer writer) {
+        // Nothing is needed after the last record.
+    }
+
+    /**
+     * Appends the value as a quoted and escaped JSON string.
+     */
+    static void appendString(String value, StringBuilder builder) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        builder.append('"');
+    }
+}
@@ -0,0 +1,80 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.offline;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Streaming output format for offline processing results. Every record has
+ * the same fixed projection of columns, provided when the format is
+ * constructed, so records are passed as an array of values in column order
+ * rather than as a map.
+ * <p>
+ * {@link #format} is called concurrently by the worker threads to render
+ * each record. {@link #start} and {@link #end} are called once on the
+ * thread writing the output.
+ */
+public interface OutputFormat {
+
+    /**
+     * Writes anything needed before the first record, for example a header.
+     * @param writer to write to
+     */
+    void start(Writer writer) throws IOException;
+
+    /**
+     * Appends a single record to the builder. Must be thread safe.
+     * @param values the values in column order, null where there is no value
+     * @param builder to append the record to
+     */
+    void format(String[] values, StringBuilder builder);
+
+    /**
+     * Writes anything needed after the last record.
+     * @param writer to write to
+     */
+    void end(Writer writer) throws IOException;
+
+    /**
+     * Returns the format with the name provided.
+     * @param name one of "yaml", "ndjson" or "csv"
+     * @param columns names of the columns in each record
+     * @return a new output format
+     */
+    static OutputFormat forName(String name, String[] columns) {
+        switch (name.toLowerCase()) {
+            case "yaml":
+                return new YamlFormat(columns);
+            case "ndjson":
+            case "json":
+                return new NdjsonFormat(columns);
+            case "csv":
+                return new CsvFormat(columns);
+            default:
+                throw new IllegalArgumentException(
+                        "Unknown output format '" + name + "', expected " +
+                        "yaml, ndjson or csv");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.offline;
+
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes each record as a YAML document, matching the output of the simple
+ * offline processing example. SnakeYAML is used to render each document so
+ * this is the slowest of the formats, use {@link NdjsonFormat} or
+ * {@link CsvFormat} where the output does not need to be YAML.
+ */
+public class YamlFormat implements OutputFormat {
+
+    private final String[] columns;
+
+    /**
+     * Yaml instances are not thread safe so each worker has its own.
+     */
+    private final ThreadLocal<Yaml> yaml = ThreadLocal.withInitial(() -> {
+        DumperOptions dumperOptions = new DumperOptions();
+        dumperOptions.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        dumperOptions.setDefaultScalarStyle(DumperOptions.ScalarStyle.PLAIN);
+        dumperOptions.setSplitLines(false);
+        return new Yaml(dumperOptions);
+    });
+
+    /**
+     * Constructs a new instance of {@link YamlFormat}.
+     * @param columns names of the columns in each record, used as the keys
+     */
+    public YamlFormat(String[] columns) {
+        this.columns = columns.clone();
+    }
+
+    @Override
+    public void start(Writer writer) {
+        // Nothing is needed before the first document.
+    }
+
+    @Override
+    public void format(String[] values, StringBuilder builder) {
+        Map<String, String> document = new LinkedHashMap<>();
+        for (int i = 0; i < columns.length; i++) {
+            document.put(columns[i], values[i]);
+        }
+        builder.append("---\n").append(yaml.get().dump(document));
+    }
+
+    @Override
+    public void end(Writer writer) throws IOException {
+        // finish the last YAML document
+        writer.write("...\n");
+    }
+}
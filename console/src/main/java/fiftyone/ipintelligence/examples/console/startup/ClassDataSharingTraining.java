@@ -0,0 +1,149 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.startup;
+
+import fiftyone.ipintelligence.examples.console.CompareOnPrem;
+import fiftyone.ipintelligence.examples.console.OfflineProcessing;
+import fiftyone.ipintelligence.examples.console.StartupOnPrem;
+import fiftyone.ipintelligence.examples.console.areas.Calculations;
+import fiftyone.ipintelligence.examples.shared.DataFileHelper;
+import fiftyone.pipeline.util.FileFinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static fiftyone.common.testhelpers.LogbackHelper.configureLogback;
+import static fiftyone.ipintelligence.examples.shared.DataFileHelper.ENTERPRISE_DATA_FILE_REL_PATH;
+import static fiftyone.pipeline.util.FileFinder.getFilePath;
+
+/**
+ * A short, representative workload which loads the classes that the console
+ * examples need on the way to their first lookups: building the pipeline
+ * and engine, reading and writing YAML with SnakeYAML as OfflineProcessing
+ * does, and calculating areas with JTS and proj4j as CompareOnPrem does.
+ * <p>
+ * The appcds Maven profile runs this with
+ * {@code -XX:ArchiveClassesAtExit} to write a class data sharing archive of
+ * every class loaded. Processes started with that archive map the classes
+ * already parsed and verified rather than loading them from the jar, which
+ * shortens start-up without changing any code path. See the scripts in the
+ * scripts folder.
+ */
+public class ClassDataSharingTraining {
+    private static final Logger logger =
+            LoggerFactory.getLogger(ClassDataSharingTraining.class);
+
+    /**
+     * Maximum number of truth records passed to CompareOnPrem, enough to
+     * load every class without making the build slow.
+     */
+    public static final int MAX_TRUTH_RECORDS = 1000;
+
+    /**
+     * Small area used to exercise the JTS and proj4j calculations when no
+     * truth file is available.
+     */
+    private static final String TRAINING_WKT =
+            "POLYGON((-1.0 51.0, 0.0 51.0, 0.0 52.0, -1.0 52.0, -1.0 51.0))";
+
+    public static void main(String[] args) throws Exception {
+        configureLogback(getFilePath("logback.xml"));
+        run(args.length > 0 ? args[0] : ENTERPRISE_DATA_FILE_REL_PATH);
+    }
+
+    /**
+     * Runs the workload, discarding the output of the examples.
+     * @param dataFile the data file to use
+     */
+    public static void run(String dataFile) throws Exception {
+        logger.info("Running class data sharing training workload");
+        OutputStream discard = new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        };
+
+        StartupOnPrem.run(dataFile, false, discard);
+
+        File evidence = DataFileHelper.getEvidenceFile(null);
+        try (InputStream is = Files.newInputStream(evidence.toPath())) {
+            OfflineProcessing.run(dataFile, is, discard);
+        }
+
+        Calculations.getAreas(TRAINING_WKT, 51.5, -0.5);
+        Path truth = truthSample();
+        if (truth != null) {
+            try (PrintWriter writer = new PrintWriter(discard)) {
+                CompareOnPrem.run(dataFile, truth.toString(), writer,
+                        CompareOnPrem.DEDUP_EXACT);
+            } finally {
+                Files.deleteIfExists(truth);
+            }
+        }
+        logger.info("Finished class data sharing training workload");
+    }
+
+    /**
+     * Copies the header and first records of the truth file to a temporary
+     * file.
+     * @return the temporary file, or null if there is no truth file
+     */
+    private static Path truthSample() throws Exception {
+        File truth;
+        try {
+            truth = FileFinder.getFilePath(
+                    CompareOnPrem.GEOIP_COMPARISON_EVIDENCE_REL_PATH);
+        } catch (Exception e) {
+            logger.warn("No truth file '{}' found, CompareOnPrem will not " +
+                    "be part of the training workload",
+                    CompareOnPrem.GEOIP_COMPARISON_EVIDENCE_REL_PATH);
+            return null;
+        }
+        List<String> lines = new ArrayList<>(MAX_TRUTH_RECORDS + 1);
+        try (BufferedReader reader = Files.newBufferedReader(
+                truth.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while (lines.size() <= MAX_TRUTH_RECORDS &&
+                    (line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        Path sample = Files.createTempFile("51degrees-truth", ".csv");
+        Files.write(sample, lines, StandardCharsets.UTF_8);
+        return sample;
+    }
+}
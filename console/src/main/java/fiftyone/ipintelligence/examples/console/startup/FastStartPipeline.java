@@ -0,0 +1,224 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.startup;
+
+import fiftyone.ipintelligence.examples.console.update.HotSwapPipeline;
+import fiftyone.pipeline.core.flowelements.Pipeline;
+import fiftyone.pipeline.engines.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Starts serving IP Intelligence lookups as soon as possible after an
+ * application starts, then moves to the fastest profile in the background.
+ * <p>
+ * The engine can not serve before its data file is loaded, but with the
+ * LowMemory profile loading reads only the headers and indexes of the data
+ * file, and the rest is read from disk as lookups need it. A pipeline with
+ * that profile is built first, on a background thread, and once it is built
+ * the instance is ready. A MaxPerformance pipeline, which loads the whole
+ * data file into memory, is then built and warmed in the background and
+ * swapped in with a {@link HotSwapPipeline}, after which lookups run at full
+ * speed.
+ * <p>
+ * Readiness and liveness are reported separately, as orchestrators such as
+ * Kubernetes expect: {@link #isLive()} is true from construction unless the
+ * first pipeline could not be built, so the process is not restarted while
+ * it loads, and {@link #isReady()} is true once lookups can be served, so
+ * traffic is only routed to the process from then. Failing to build the
+ * MaxPerformance pipeline leaves the LowMemory one serving.
+ */
+public class FastStartPipeline implements AutoCloseable {
+
+    /**
+     * Builds a pipeline from a data file with a performance profile. The
+     * pipeline should be built with auto update and the data file system
+     * watcher disabled. The data file is never replaced, so it should be
+     * used in place rather than copied to a temporary file, which for a
+     * large data file would take longer than the fast start saves.
+     */
+    public interface Factory {
+        Pipeline build(String dataFile,
+                       Constants.PerformanceProfiles profile) throws Exception;
+    }
+
+    /**
+     * Name of the phase which builds the first pipeline.
+     */
+    public static final String FIRST_PHASE = "Build LowMemory pipeline";
+
+    /**
+     * Name of the phase which builds and swaps in the full pipeline.
+     */
+    public static final String FULL_PHASE = "Build and swap MaxPerformance pipeline";
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(FastStartPipeline.class);
+
+    private final AtomicReference<Constants.PerformanceProfiles> profile =
+            new AtomicReference<>(Constants.PerformanceProfiles.LowMemory);
+
+    private final CountDownLatch ready = new CountDownLatch(1);
+
+    private final CountDownLatch fullyLoaded = new CountDownLatch(1);
+
+    private final ExecutorService loader;
+
+    private volatile HotSwapPipeline pipeline;
+
+    private volatile Exception failure;
+
+    private volatile boolean full = false;
+
+    private volatile boolean closed = false;
+
+    /**
+     * Constructs a new instance of {@link FastStartPipeline} and starts
+     * loading in the background. Returns immediately.
+     * @param factory builds the pipelines
+     * @param dataFile the data file
+     * @param timer records the time taken by the loading phases
+     */
+    public FastStartPipeline(Factory factory, Path dataFile, StartupTimer timer) {
+        this.loader = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "fast-start-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        loader.submit(() -> load(factory, dataFile, timer));
+    }
+
+    private void load(Factory factory, Path dataFile, StartupTimer timer) {
+        try {
+            pipeline = timer.time(FIRST_PHASE, () -> new HotSwapPipeline(
+                    location -> factory.build(location, profile.get()), dataFile));
+            ready.countDown();
+            timer.mark("Ready");
+        } catch (Exception e) {
+            logger.error("Failed to build a pipeline from '{}'", dataFile, e);
+            failure = e;
+            ready.countDown();
+            fullyLoaded.countDown();
+            return;
+        }
+        try {
+            profile.set(Constants.PerformanceProfiles.MaxPerformance);
+            timer.time(FULL_PHASE, () -> {
+                pipeline.swap();
+                return null;
+            });
+            full = true;
+            timer.mark("Fully loaded");
+        } catch (Exception e) {
+            logger.warn("Failed to build the MaxPerformance pipeline from " +
+                    "'{}'. The LowMemory pipeline remains in use.", dataFile, e);
+            failure = e;
+        } finally {
+            fullyLoaded.countDown();
+        }
+    }
+
+    /**
+     * @return true unless closed or the first pipeline could not be built,
+     * in which case the process should be restarted
+     */
+    public boolean isLive() {
+        return closed == false && (pipeline != null || ready.getCount() > 0);
+    }
+
+    /**
+     * @return true once lookups can be processed
+     */
+    public boolean isReady() {
+        return closed == false && pipeline != null;
+    }
+
+    /**
+     * @return true once the MaxPerformance pipeline is serving lookups
+     */
+    public boolean isFullyLoaded() {
+        return isReady() && full;
+    }
+
+    /**
+     * Waits until lookups can be processed, or loading has failed.
+     * @param timeout maximum time to wait
+     * @param unit unit of the timeout
+     * @return true if ready
+     */
+    public boolean awaitReady(long timeout, TimeUnit unit) throws InterruptedException {
+        return ready.await(timeout, unit) && isReady();
+    }
+
+    /**
+     * Waits until loading has finished, successfully or not.
+     * @param timeout maximum time to wait
+     * @param unit unit of the timeout
+     * @return true if the MaxPerformance pipeline is serving lookups
+     */
+    public boolean awaitFullyLoaded(long timeout, TimeUnit unit) throws InterruptedException {
+        return fullyLoaded.await(timeout, unit) && isFullyLoaded();
+    }
+
+    /**
+     * @return the exception from the last failed load, or null
+     */
+    public Exception getFailure() {
+        return failure;
+    }
+
+    /**
+     * Processes the IP address and reads the result.
+     * @param ip the IP address
+     * @param reader reads the result from the flow data
+     * @param <T> type of the result
+     * @return the result from the reader
+     * @throws IllegalStateException if not yet ready
+     */
+    public <T> T process(String ip, HotSwapPipeline.Reader<T> reader) throws Exception {
+        HotSwapPipeline current = pipeline;
+        if (current == null || closed) {
+            throw new IllegalStateException("Not ready to process lookups");
+        }
+        return current.process(ip, reader);
+    }
+
+    @Override
+    public void close() throws Exception {
+        closed = true;
+        loader.shutdown();
+        // let a pipeline being built finish, so it can be closed
+        loader.awaitTermination(1, TimeUnit.MINUTES);
+        HotSwapPipeline current = pipeline;
+        if (current != null) {
+            current.close();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.startup;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records how long each phase of starting an application takes, and when it
+ * started relative to the timer being created, so that the phases which
+ * decide how soon the application can serve are visible. Phases may run on
+ * several threads at once. Instances are thread safe.
+ */
+public class StartupTimer {
+
+    /**
+     * A phase of start-up to time.
+     * @param <T> type of the result
+     */
+    public interface Phase<T> {
+        T run() throws Exception;
+    }
+
+    /**
+     * The timing of a completed phase.
+     */
+    public static final class Entry {
+        private final String name;
+        private final long startNanos;
+        private final long nanos;
+
+        private Entry(String name, long startNanos, long nanos) {
+            this.name = name;
+            this.startNanos = startNanos;
+            this.nanos = nanos;
+        }
+
+        /**
+         * @return name of the phase
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return time from the timer being created to the phase starting
+         */
+        public long getStartMillis() {
+            return startNanos / 1_000_000;
+        }
+
+        /**
+         * @return time the phase took
+         */
+        public long getMillis() {
+            return nanos / 1_000_000;
+        }
+    }
+
+    private final long origin = System.nanoTime();
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Runs and times the phase. The phase is recorded even if it fails.
+     * @param name of the phase
+     * @param phase to run
+     * @param <T> type of the result
+     * @return the result of the phase
+     */
+    public <T> T time(String name, Phase<T> phase) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return phase.run();
+        } finally {
+            record(name, start, System.nanoTime());
+        }
+    }
+
+    /**
+     * Records a point in start-up, such as becoming ready, as a phase of no
+     * length.
+     * @param name of the point
+     */
+    public void mark(String name) {
+        long now = System.nanoTime();
+        record(name, now, now);
+    }
+
+    private synchronized void record(String name, long start, long end) {
+        entries.add(new Entry(name, start - origin, end - start));
+    }
+
+    /**
+     * @return the phases recorded so far, in the order they completed
+     */
+    public synchronized List<Entry> getEntries() {
+        return new ArrayList<>(entries);
+    }
+
+    /**
+     * @param name of the phase
+     * @return time the phase took, or -1 if it has not been recorded
+     */
+    public synchronized long getMillis(String name) {
+        for (Entry entry : entries) {
+            if (entry.name.equals(name)) {
+                return entry.getMillis();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param name of the phase
+     * @return time from the timer being created to the end of the phase, or
+     * -1 if it has not been recorded
+     */
+    public synchronized long getEndMillis(String name) {
+        for (Entry entry : entries) {
+            if (entry.name.equals(name)) {
+                return (entry.startNanos + entry.nanos) / 1_000_000;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Writes a table of the phases, with when each started and how long it
+     * took in milliseconds.
+     * @param writer to write to
+     */
+    public void report(PrintWriter writer) {
+        List<Entry> all = getEntries();
+        int width = "Phase".length();
+        for (Entry entry : all) {
+            width = Math.max(width, entry.name.length());
+        }
+        String format = "%-" + width + "s %8s %8s%n";
+        writer.format(format, "Phase", "Start", "Time");
+        for (Entry entry : all) {
+            writer.format(format, entry.name,
+                    entry.getStartMillis(), entry.getMillis());
+        }
+        writer.flush();
+    }
+}
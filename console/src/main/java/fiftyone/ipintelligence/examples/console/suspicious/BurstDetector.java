@@ -0,0 +1,350 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.suspicious;
+
+import fiftyone.ipintelligence.examples.shared.PropertyHelper;
+import fiftyone.pipeline.core.data.ElementData;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Detects bursts of requests from IP ranges and networks (ASNs) which look
+ * like hosting or proxies, without a separate stream processor. Each
+ * enriched lookup is passed to {@link #record(ElementData)}. Lookups with a
+ * high hardware diversity or from a hosted IP address are counted against
+ * their IP range and ASN in sliding windows, and an alert is raised when a
+ * count reaches its threshold, at most once per window for each key.
+ * <p>
+ * Memory is bounded: only the most frequent ranges and ASNs, up to the
+ * capacity, are counted exactly, see {@link HeavyHitters}. Instances are
+ * thread safe and lock free for keys already being counted.
+ */
+public class BurstDetector {
+
+    /**
+     * Properties the pipeline must be built with.
+     */
+    public static final String[] PROPERTIES = {
+            "IpRangeStart",
+            "Asn",
+            "HardwareDiversity",
+            "IsHosted"};
+
+    /**
+     * What an alert is counting.
+     */
+    public enum Type {
+        RANGE,
+        ASN
+    }
+
+    /**
+     * Receives alerts. Called on the thread which recorded the lookup that
+     * crossed the threshold, so should return quickly.
+     */
+    public interface Listener {
+        void onAlert(Alert alert);
+    }
+
+    /**
+     * A burst of requests from an IP range or ASN.
+     */
+    public static final class Alert {
+        private final Type type;
+        private final String key;
+        private final long count;
+        private final long time;
+
+        Alert(Type type, String key, long count, long time) {
+            this.type = type;
+            this.key = key;
+            this.count = count;
+            this.time = time;
+        }
+
+        /**
+         * @return whether the key is an IP range or an ASN
+         */
+        public Type getType() {
+            return type;
+        }
+
+        /**
+         * @return the start of the IP range, or the ASN
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * @return number of requests in the window
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return time of the alert in milliseconds
+         */
+        public long getTime() {
+            return time;
+        }
+
+        @Override
+        public String toString() {
+            return type + " " + key + ": " + count + " requests";
+        }
+    }
+
+    /**
+     * Builder for {@link BurstDetector}.
+     */
+    public static class Builder {
+        private long windowMillis = TimeUnit.MINUTES.toMillis(1);
+        private int buckets = 12;
+        private long rangeThreshold = 1000;
+        private long asnThreshold = 10000;
+        private int capacity = 10000;
+        private int minHardwareDiversity = 7;
+        private LongSupplier clock = System::currentTimeMillis;
+        private Listener listener = alert -> { };
+
+        /**
+         * Sets the length of the sliding window. Default one minute.
+         * @param window length
+         * @param unit unit of the length
+         * @return this builder
+         */
+        public Builder setWindow(long window, TimeUnit unit) {
+            this.windowMillis = unit.toMillis(window);
+            return this;
+        }
+
+        /**
+         * Sets the number of buckets the window is split into, which is how
+         * smoothly it slides. Default 12.
+         * @param buckets number of buckets
+         * @return this builder
+         */
+        public Builder setBuckets(int buckets) {
+            this.buckets = buckets;
+            return this;
+        }
+
+        /**
+         * Sets the count in the window at which an IP range raises an
+         * alert. Default 1000.
+         * @param threshold number of requests
+         * @return this builder
+         */
+        public Builder setRangeThreshold(long threshold) {
+            this.rangeThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Sets the count in the window at which an ASN raises an alert.
+         * Default 10000.
+         * @param threshold number of requests
+         * @return this builder
+         */
+        public Builder setAsnThreshold(long threshold) {
+            this.asnThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of IP ranges, and separately ASNs, which
+         * are counted. Default 10000.
+         * @param capacity maximum keys counted
+         * @return this builder
+         */
+        public Builder setCapacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Sets the hardware diversity at or above which a lookup is
+         * counted, as used by SuspiciousOnPrem. Hosted IP addresses are
+         * always counted. Default 7.
+         * @param minHardwareDiversity minimum hardware diversity
+         * @return this builder
+         */
+        public Builder setMinHardwareDiversity(int minHardwareDiversity) {
+            this.minHardwareDiversity = minHardwareDiversity;
+            return this;
+        }
+
+        /**
+         * Sets the source of the current time in milliseconds. Default the
+         * system clock.
+         * @param clock the clock
+         * @return this builder
+         */
+        public Builder setClock(LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Sets the listener for alerts.
+         * @param listener the listener
+         * @return this builder
+         */
+        public Builder setListener(Listener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        /**
+         * @return a new detector
+         */
+        public BurstDetector build() {
+            if (capacity < 1 || rangeThreshold < 1 || asnThreshold < 1) {
+                throw new IllegalArgumentException(
+                        "capacity and thresholds must be greater than 0");
+            }
+            return new BurstDetector(this);
+        }
+    }
+
+    private final long windowMillis;
+
+    private final long rangeThreshold;
+
+    private final long asnThreshold;
+
+    private final int minHardwareDiversity;
+
+    private final LongSupplier clock;
+
+    private final Listener listener;
+
+    private final HeavyHitters ranges;
+
+    private final HeavyHitters asns;
+
+    private BurstDetector(Builder builder) {
+        this.windowMillis = builder.windowMillis;
+        this.rangeThreshold = builder.rangeThreshold;
+        this.asnThreshold = builder.asnThreshold;
+        this.minHardwareDiversity = builder.minHardwareDiversity;
+        this.clock = builder.clock;
+        this.listener = builder.listener;
+        // Only keys with a good fraction of the threshold in the last
+        // window or two displace keys already counted.
+        this.ranges = new HeavyHitters(builder.capacity, windowMillis,
+                builder.buckets, Math.max(1, rangeThreshold / 4));
+        this.asns = new HeavyHitters(builder.capacity, windowMillis,
+                builder.buckets, Math.max(1, asnThreshold / 4));
+    }
+
+    /**
+     * Records an enriched lookup, counting it if it has a high hardware
+     * diversity or is hosted.
+     * @param data IP Intelligence result for the request
+     * @return true if the lookup was counted
+     */
+    public boolean record(ElementData data) {
+        Object hosted = PropertyHelper.firstValueOf(data, "IsHosted");
+        Object diversity = PropertyHelper.firstValueOf(data, "HardwareDiversity");
+        boolean counted = Boolean.TRUE.equals(hosted) ||
+                (diversity instanceof Number &&
+                        ((Number) diversity).intValue() >= minHardwareDiversity);
+        if (counted) {
+            record(rangeKey(PropertyHelper.firstValueOf(data, "IpRangeStart")),
+                    PropertyHelper.firstValueAsString(data, "Asn"));
+        }
+        return counted;
+    }
+
+    /**
+     * Returns the start of an IP range as a plain address literal, rather
+     * than InetAddress.toString which prefixes it with the host name and a
+     * slash, so keys and alerts are the same however the address was made.
+     * @param start value of the IpRangeStart property, or null
+     * @return the address, or null if not known
+     */
+    static String rangeKey(Object start) {
+        if (start instanceof InetAddress) {
+            return ((InetAddress) start).getHostAddress();
+        }
+        return start == null ? null : start.toString();
+    }
+
+    /**
+     * Records a request which should be counted.
+     * @param range start of the IP range, or null if not known
+     * @param asn the ASN, or null if not known
+     */
+    public void record(String range, String asn) {
+        long now = clock.getAsLong();
+        if (range != null) {
+            record(Type.RANGE, ranges, range, rangeThreshold, now);
+        }
+        if (asn != null) {
+            record(Type.ASN, asns, asn, asnThreshold, now);
+        }
+    }
+
+    /**
+     * Returns the IP ranges or ASNs with the highest counts in the window.
+     * @param type ranges or ASNs
+     * @param limit maximum number to return
+     * @return keys and counts in descending order of count
+     */
+    public List<Map.Entry<String, Long>> getTop(Type type, int limit) {
+        HeavyHitters hitters = type == Type.RANGE ? ranges : asns;
+        return hitters.counts(clock.getAsLong()).stream()
+                .filter(e -> e.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private void record(Type type,
+                        HeavyHitters hitters,
+                        String key,
+                        long threshold,
+                        long now) {
+        HeavyHitters.Entry entry = hitters.record(key, now);
+        if (entry == null) {
+            return;
+        }
+        long count = entry.counter.sum(now);
+        if (count >= threshold) {
+            long last = entry.lastAlert.get();
+            // Only one thread wins the right to alert in each window.
+            if ((last == Long.MIN_VALUE || now - last >= windowMillis) &&
+                    entry.lastAlert.compareAndSet(last, now)) {
+                listener.onAlert(new Alert(type, key, count, now));
+            }
+        }
+    }
+}
@@ -0,0 +1,328 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.suspicious;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A compiled condition from a {@link RuleSet}. Each leaf is specialised for
+ * the type of comparison when the rules are compiled so that evaluation does
+ * no parsing or type dispatch on the constant side. Branches order their
+ * children so that the cheapest and most decisive are evaluated first.
+ */
+abstract class Condition {
+
+    /**
+     * Bounds used for probabilities when ordering so that a hint of 0 or 1
+     * does not divide by zero.
+     */
+    private static final double MIN_PROBABILITY = 0.01;
+    private static final double MAX_PROBABILITY = 0.99;
+
+    /**
+     * Estimated relative cost of evaluating the condition, being the number
+     * of property values it may need to fetch.
+     */
+    final double cost;
+
+    /**
+     * Estimated probability that the condition is true.
+     */
+    final double probability;
+
+    Condition(double cost, double probability) {
+        this.cost = cost;
+        this.probability = Math.min(MAX_PROBABILITY,
+                Math.max(MIN_PROBABILITY, probability));
+    }
+
+    /**
+     * @param context the property values for a single IP address
+     * @return true if the condition is met
+     */
+    abstract boolean test(RuleContext context);
+
+    /**
+     * Comparison operators supported by the rules.
+     */
+    enum Operator {
+        EQ("==") {
+            boolean test(double a, double b) { return a == b; }
+        },
+        NE("!=") {
+            boolean test(double a, double b) { return a != b; }
+        },
+        LT("<") {
+            boolean test(double a, double b) { return a < b; }
+        },
+        LE("<=") {
+            boolean test(double a, double b) { return a <= b; }
+        },
+        GT(">") {
+            boolean test(double a, double b) { return a > b; }
+        },
+        GE(">=") {
+            boolean test(double a, double b) { return a >= b; }
+        };
+
+        final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        abstract boolean test(double a, double b);
+
+        boolean isEquality() {
+            return this == EQ || this == NE;
+        }
+
+        static Operator of(String symbol) {
+            for (Operator operator : values()) {
+                if (operator.symbol.equals(symbol)) {
+                    return operator;
+                }
+            }
+            throw new IllegalArgumentException(
+                    "Unknown operator '" + symbol + "'");
+        }
+    }
+
+    /**
+     * Returns the value as a number, or NaN if it is not numeric.
+     */
+    static double toNumber(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        try {
+            return Double.parseDouble(value.toString());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Compares a property with a numeric constant.
+     */
+    static final class NumberConstant extends Condition {
+        private final int slot;
+        private final Operator operator;
+        private final double constant;
+        private final Object missing;
+
+        NumberConstant(int slot,
+                       Operator operator,
+                       double constant,
+                       Object missing,
+                       double probability) {
+            super(1, probability);
+            this.slot = slot;
+            this.operator = operator;
+            this.constant = constant;
+            this.missing = missing;
+        }
+
+        @Override
+        boolean test(RuleContext context) {
+            Object value = context.get(slot, missing);
+            if (value == null) {
+                return false;
+            }
+            double number = toNumber(value);
+            return Double.isNaN(number) == false &&
+                    operator.test(number, constant);
+        }
+    }
+
+    /**
+     * Tests a property for equality with a string or boolean constant.
+     */
+    static final class TextConstant extends Condition {
+        private final int slot;
+        private final boolean equal;
+        private final String constant;
+        private final Object missing;
+
+        TextConstant(int slot,
+                     boolean equal,
+                     String constant,
+                     Object missing,
+                     double probability) {
+            super(1, probability);
+            this.slot = slot;
+            this.equal = equal;
+            this.constant = constant;
+            this.missing = missing;
+        }
+
+        @Override
+        boolean test(RuleContext context) {
+            Object value = context.get(slot, missing);
+            if (value == null) {
+                return false;
+            }
+            return constant.equals(value.toString()) == equal;
+        }
+    }
+
+    /**
+     * Compares a property with another property plus an offset.
+     */
+    static final class PropertyPair extends Condition {
+        private final int slot;
+        private final int other;
+        private final Operator operator;
+        private final double offset;
+        private final Object missing;
+
+        PropertyPair(int slot,
+                     int other,
+                     Operator operator,
+                     double offset,
+                     Object missing,
+                     double probability) {
+            super(2, probability);
+            this.slot = slot;
+            this.other = other;
+            this.operator = operator;
+            this.offset = offset;
+            this.missing = missing;
+        }
+
+        @Override
+        boolean test(RuleContext context) {
+            Object value = context.get(slot, missing);
+            if (value == null) {
+                return false;
+            }
+            Object otherValue = context.get(other, missing);
+            if (otherValue == null) {
+                // A known value is never equal to a missing one.
+                return operator == Operator.NE;
+            }
+            double a = toNumber(value);
+            double b = toNumber(otherValue);
+            if (Double.isNaN(a) || Double.isNaN(b)) {
+                if (operator.isEquality() && offset == 0) {
+                    return value.toString().equals(otherValue.toString()) ==
+                            (operator == Operator.EQ);
+                }
+                return false;
+            }
+            return operator.test(a, b + offset);
+        }
+    }
+
+    /**
+     * True if all the children are true. Children least likely to be true
+     * relative to their cost are evaluated first.
+     */
+    static final class All extends Condition {
+        private final Condition[] children;
+
+        All(Condition[] children) {
+            super(sumCost(children), allProbability(children));
+            this.children = children.clone();
+            Arrays.sort(this.children, Comparator.comparingDouble(
+                    c -> c.cost / (1 - c.probability)));
+        }
+
+        @Override
+        boolean test(RuleContext context) {
+            for (Condition child : children) {
+                if (child.test(context) == false) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static double allProbability(Condition[] children) {
+            double probability = 1;
+            for (Condition child : children) {
+                probability *= child.probability;
+            }
+            return probability;
+        }
+    }
+
+    /**
+     * True if any of the children are true. Children most likely to be true
+     * relative to their cost are evaluated first.
+     */
+    static final class Any extends Condition {
+        private final Condition[] children;
+
+        Any(Condition[] children) {
+            super(sumCost(children), anyProbability(children));
+            this.children = children.clone();
+            Arrays.sort(this.children, Comparator.comparingDouble(
+                    c -> c.cost / c.probability));
+        }
+
+        @Override
+        boolean test(RuleContext context) {
+            for (Condition child : children) {
+                if (child.test(context)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static double anyProbability(Condition[] children) {
+            double none = 1;
+            for (Condition child : children) {
+                none *= 1 - child.probability;
+            }
+            return 1 - none;
+        }
+    }
+
+    /**
+     * True if the child is false.
+     */
+    static final class Not extends Condition {
+        private final Condition child;
+
+        Not(Condition child) {
+            super(child.cost, 1 - child.probability);
+            this.child = child;
+        }
+
+        @Override
+        boolean test(RuleContext context) {
+            return child.test(context) == false;
+        }
+    }
+
+    private static double sumCost(Condition[] children) {
+        double cost = 0;
+        for (Condition child : children) {
+            cost += child.cost;
+        }
+        return cost;
+    }
+}
@@ -0,0 +1,186 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.suspicious;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks sliding window counts for at most a fixed number of keys, being
+ * those seen most often. This follows the Space-Saving approach: when full,
+ * a new key replaces a monitored key with a low count. To avoid churning on
+ * the long tail of keys seen only a few times, a new key is only admitted
+ * once a {@link WindowedCountMin} estimate of its recent count reaches the
+ * admission count. Rather than keeping the monitored keys ordered by count,
+ * which sliding window counts make expensive as they fall as well as rise,
+ * the key replaced is the lowest of a small random sample. This is usually
+ * one of the lowest and the cost of an admission does not grow with the
+ * number of keys. Instances are thread safe.
+ */
+final class HeavyHitters {
+
+    /**
+     * A monitored key.
+     */
+    static final class Entry {
+        final String key;
+        final SlidingWindowCounter counter;
+        /**
+         * Time of the last alert for the key, or Long.MIN_VALUE.
+         */
+        final AtomicLong lastAlert = new AtomicLong(Long.MIN_VALUE);
+
+        private Entry(String key, SlidingWindowCounter counter) {
+            this.key = key;
+            this.counter = counter;
+        }
+    }
+
+    /**
+     * Number of monitored keys compared to choose the one replaced.
+     */
+    private static final int SAMPLE = 8;
+
+    private final int capacity;
+
+    private final long windowMillis;
+
+    private final int buckets;
+
+    private final long admission;
+
+    private final WindowedCountMin sketch;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * The monitored entries by slot, so they can be sampled. Guarded by the
+     * instance lock.
+     */
+    private final Entry[] slots;
+
+    private int used;
+
+    /**
+     * @param capacity maximum number of keys monitored
+     * @param windowMillis length of the window in milliseconds
+     * @param buckets number of buckets in each window
+     * @param admission estimated count a new key needs once full
+     */
+    HeavyHitters(int capacity, long windowMillis, int buckets, long admission) {
+        this.capacity = capacity;
+        this.windowMillis = windowMillis;
+        this.buckets = buckets;
+        this.admission = admission;
+        this.slots = new Entry[capacity];
+        // Ten counters per monitored key keeps the over estimate low.
+        this.sketch = new WindowedCountMin(capacity * 10, windowMillis);
+    }
+
+    /**
+     * Counts the key.
+     * @param key the key seen
+     * @param nowMillis current time in milliseconds
+     * @return the entry for the key, or null if it is not monitored
+     */
+    Entry record(String key, long nowMillis) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            int estimate = sketch.increment(key, nowMillis);
+            if (entries.size() >= capacity && estimate < admission) {
+                return null;
+            }
+            entry = admit(key, nowMillis);
+        } else {
+            entry.counter.increment(nowMillis);
+        }
+        return entry;
+    }
+
+    /**
+     * @param nowMillis current time in milliseconds
+     * @return the monitored keys and their counts in the window
+     */
+    List<Map.Entry<String, Long>> counts(long nowMillis) {
+        List<Map.Entry<String, Long>> counts = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            counts.add(new AbstractMap.SimpleImmutableEntry<>(
+                    entry.key, entry.counter.sum(nowMillis)));
+        }
+        return counts;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Adds the key, replacing the lowest of a sample of the monitored keys
+     * if full. Rare once the heavy hitters are established, and the work
+     * is bounded by the sample size, so a lock is acceptable.
+     */
+    private synchronized Entry admit(String key, long nowMillis) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.counter.increment(nowMillis);
+            return entry;
+        }
+        int slot;
+        if (used < capacity) {
+            slot = used++;
+        } else {
+            slot = lowestOfSample(nowMillis);
+            entries.remove(slots[slot].key);
+        }
+        entry = new Entry(key, new SlidingWindowCounter(windowMillis, buckets));
+        // Start from the sketch estimate for the current window so a key
+        // that was building up before it was admitted is not reset to one.
+        // The previous window is not included as it would all be counted
+        // in the current bucket, and could raise an alert at once.
+        entry.counter.add(nowMillis,
+                Math.max(1, sketch.estimateCurrent(key, nowMillis)));
+        slots[slot] = entry;
+        entries.put(key, entry);
+        return entry;
+    }
+
+    private int lowestOfSample(long nowMillis) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int lowest = 0;
+        long lowestCount = Long.MAX_VALUE;
+        for (int i = 0; i < Math.min(SAMPLE, capacity); i++) {
+            int slot = random.nextInt(capacity);
+            long count = slots[slot].counter.sum(nowMillis);
+            if (count < lowestCount) {
+                lowest = slot;
+                lowestCount = count;
+            }
+        }
+        return lowest;
+    }
+}
@@ -0,0 +1,67 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.suspicious;
+
+import java.util.Arrays;
+
+/**
+ * The property values for a single IP address while a {@link RuleSet} is
+ * evaluated. Values are only fetched from the source the first time a
+ * condition needs them, so properties in branches which are short-circuited
+ * are never fetched. Not thread safe, a new instance is used for each
+ * evaluation.
+ */
+final class RuleContext {
+
+    /**
+     * Marks a slot whose value has not been fetched yet.
+     */
+    private static final Object NOT_FETCHED = new Object();
+
+    private final RuleSet.Source source;
+
+    private final String[] properties;
+
+    private final Object[] values;
+
+    RuleContext(RuleSet.Source source, String[] properties) {
+        this.source = source;
+        this.properties = properties;
+        this.values = new Object[properties.length];
+        Arrays.fill(values, NOT_FETCHED);
+    }
+
+    /**
+     * @param slot index of the property in the rule set
+     * @param missing value to use if the property has no value, may be null
+     * @return the value of the property or missing
+     */
+    Object get(int slot, Object missing) {
+        Object value = values[slot];
+        if (value == NOT_FETCHED) {
+            value = source.get(properties[slot]);
+            values[slot] = value;
+        }
+        return value == null ? missing : value;
+    }
+}
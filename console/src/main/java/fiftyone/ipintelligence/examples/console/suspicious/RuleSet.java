@@ -0,0 +1,382 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.suspicious;
+
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable set of suspicious IP rules compiled from a JSON (or YAML)
+ * rule file. For example:
+ * <pre>{@code
+ * {
+ *   "threshold": 1,
+ *   "rules": [
+ *     {"name": "hosted-abroad", "score": 1, "all": [
+ *       {"property": "IsHosted", "op": "==", "value": true},
+ *       {"property": "CountryCode", "op": "!=", "value": "Unknown"},
+ *       {"property": "CountryCode", "op": "!=", "other": "RegisteredCountry"}
+ *     ]},
+ *     {"name": "browser-diversity", "property": "BrowserDiversity",
+ *      "op": ">", "other": "HardwareDiversity", "offset": 2, "default": 0}
+ *   ]
+ * }
+ * }</pre>
+ * Each rule is a condition with a name and a score, which defaults to 1. An
+ * IP address is suspicious when the scores of the rules it matches add up to
+ * at least the threshold. A condition is one of:
+ * <ul>
+ *     <li>{@code all}, {@code any} - a list of conditions,</li>
+ *     <li>{@code not} - a single condition,</li>
+ *     <li>{@code property} and {@code op} (one of ==, !=, &lt;, &lt;=, &gt;,
+ *     &gt;=) compared with either a constant {@code value} or an
+ *     {@code other} property plus an optional {@code offset}.</li>
+ * </ul>
+ * A comparison with a property that has no value is false, unless a
+ * {@code default} is given to use in its place. Any condition may give a
+ * {@code probability} hint between 0 and 1 of it being true, which defaults
+ * to 0.5. The hints and the number of properties each condition reads are
+ * used to order the evaluation so that the cheapest and most decisive
+ * conditions run first.
+ * <p>
+ * Instances are thread safe.
+ */
+public class RuleSet {
+
+    /**
+     * Provides the value of a property for the IP address being scored.
+     */
+    public interface Source {
+        /**
+         * @param property name of the property
+         * @return the first value of the property, or null if there is none
+         */
+        Object get(String property);
+    }
+
+    /**
+     * Default probability of a condition being true when there is no hint.
+     */
+    private static final double DEFAULT_PROBABILITY = 0.5;
+
+    private final String[] properties;
+
+    private final Rule[] rules;
+
+    /**
+     * The total score of the rules from each position to the end, used to
+     * stop early once the threshold can no longer be reached.
+     */
+    private final double[] remaining;
+
+    private final double threshold;
+
+    private RuleSet(String[] properties, Rule[] rules, double threshold) {
+        this.properties = properties;
+        this.rules = rules;
+        this.threshold = threshold;
+        this.remaining = new double[rules.length + 1];
+        for (int i = rules.length - 1; i >= 0; i--) {
+            remaining[i] = remaining[i + 1] + rules[i].score;
+        }
+    }
+
+    /**
+     * Compiles the rules in the file.
+     * @param file JSON or YAML rule file
+     * @return the compiled rules
+     * @throws IOException if the file can not be read
+     * @throws IllegalArgumentException if the rules are not valid
+     */
+    public static RuleSet load(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(
+                file, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * Compiles the rules in the string.
+     * @param rules JSON or YAML rules
+     * @return the compiled rules
+     * @throws IllegalArgumentException if the rules are not valid
+     */
+    public static RuleSet parse(String rules) {
+        return parse(new StringReader(rules));
+    }
+
+    /**
+     * Compiles the rules from the reader.
+     * @param reader JSON or YAML rules
+     * @return the compiled rules
+     * @throws IllegalArgumentException if the rules are not valid
+     */
+    public static RuleSet parse(Reader reader) {
+        Object document;
+        try {
+            document = new Yaml().load(reader);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(
+                    "Rules are not valid JSON or YAML", e);
+        }
+        Map<?, ?> root = asMap(document, "rules document");
+        Compiler compiler = new Compiler();
+        List<Rule> rules = new ArrayList<>();
+        for (Object item : asList(root.get("rules"), "rules")) {
+            Map<?, ?> map = asMap(item, "rule");
+            String name = String.valueOf(map.get("name"));
+            double score = number(map, "score", 1);
+            if (score <= 0) {
+                throw new IllegalArgumentException(
+                        "Rule '" + name + "' score must be greater than 0");
+            }
+            try {
+                rules.add(new Rule(name, score, compiler.compile(map)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                        "Rule '" + name + "' is not valid. " + e.getMessage(), e);
+            }
+        }
+        // Evaluate the rules most likely to match relative to their cost and
+        // score first, so the threshold is reached as early as possible.
+        rules.sort(Comparator.comparingDouble(
+                r -> r.condition.cost / (r.condition.probability * r.score)));
+        return new RuleSet(
+                compiler.slots.keySet().toArray(new String[0]),
+                rules.toArray(new Rule[0]),
+                number(root, "threshold", 1));
+    }
+
+    /**
+     * The properties referenced by the rules. The pipeline only needs to be
+     * built with these properties.
+     * @return property names
+     */
+    public List<String> getProperties() {
+        return Collections.unmodifiableList(Arrays.asList(properties));
+    }
+
+    /**
+     * @return names of the rules in evaluation order
+     */
+    public List<String> getRuleNames() {
+        List<String> names = new ArrayList<>(rules.length);
+        for (Rule rule : rules) {
+            names.add(rule.name);
+        }
+        return names;
+    }
+
+    /**
+     * @return the score at or above which an IP address is suspicious
+     */
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Returns true if the IP address is suspicious. Evaluation stops as soon
+     * as the threshold is reached, or can no longer be reached.
+     * @param source property values for the IP address
+     * @return true if suspicious
+     */
+    public boolean isSuspicious(Source source) {
+        RuleContext context = new RuleContext(source, properties);
+        double score = 0;
+        for (int i = 0; i < rules.length; i++) {
+            if (score >= threshold) {
+                return true;
+            }
+            if (score + remaining[i] < threshold) {
+                return false;
+            }
+            if (rules[i].condition.test(context)) {
+                score += rules[i].score;
+            }
+        }
+        return score >= threshold;
+    }
+
+    /**
+     * Returns the total score of all the rules the IP address matches.
+     * @param source property values for the IP address
+     * @return total score
+     */
+    public double score(Source source) {
+        RuleContext context = new RuleContext(source, properties);
+        double score = 0;
+        for (Rule rule : rules) {
+            if (rule.condition.test(context)) {
+                score += rule.score;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Returns the names of all the rules the IP address matches, for
+     * example to explain why it is suspicious.
+     * @param source property values for the IP address
+     * @return names of matching rules
+     */
+    public List<String> matches(Source source) {
+        RuleContext context = new RuleContext(source, properties);
+        List<String> names = new ArrayList<>();
+        for (Rule rule : rules) {
+            if (rule.condition.test(context)) {
+                names.add(rule.name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * A named condition and the score it adds when met.
+     */
+    private static final class Rule {
+        private final String name;
+        private final double score;
+        private final Condition condition;
+
+        private Rule(String name, double score, Condition condition) {
+            this.name = name;
+            this.score = score;
+            this.condition = condition;
+        }
+    }
+
+    /**
+     * Compiles conditions, assigning each property referenced a slot.
+     */
+    private static final class Compiler {
+        private final Map<String, Integer> slots = new LinkedHashMap<>();
+
+        private Condition compile(Map<?, ?> map) {
+            double probability = number(map, "probability", DEFAULT_PROBABILITY);
+            if (map.containsKey("all") || map.containsKey("any")) {
+                boolean all = map.containsKey("all");
+                List<?> items = asList(map.get(all ? "all" : "any"),
+                        all ? "all" : "any");
+                if (items.isEmpty()) {
+                    throw new IllegalArgumentException(
+                            "Condition lists must not be empty");
+                }
+                Condition[] children = new Condition[items.size()];
+                for (int i = 0; i < children.length; i++) {
+                    children[i] = compile(asMap(items.get(i), "condition"));
+                }
+                return all ?
+                        new Condition.All(children) :
+                        new Condition.Any(children);
+            }
+            if (map.containsKey("not")) {
+                return new Condition.Not(compile(asMap(map.get("not"), "not")));
+            }
+            if (map.containsKey("property") == false) {
+                throw new IllegalArgumentException("Condition must have " +
+                        "'all', 'any', 'not' or 'property'");
+            }
+            int slot = slot(map.get("property"));
+            Condition.Operator operator =
+                    Condition.Operator.of(String.valueOf(map.get("op")));
+            Object missing = map.get("default");
+            if (map.containsKey("other")) {
+                return new Condition.PropertyPair(
+                        slot,
+                        slot(map.get("other")),
+                        operator,
+                        number(map, "offset", 0),
+                        missing,
+                        probability);
+            }
+            if (map.containsKey("value") == false) {
+                throw new IllegalArgumentException(
+                        "Condition must have a 'value' or 'other'");
+            }
+            Object value = map.get("value");
+            if (value instanceof Number) {
+                return new Condition.NumberConstant(
+                        slot,
+                        operator,
+                        ((Number) value).doubleValue(),
+                        missing,
+                        probability);
+            }
+            if (operator.isEquality() == false) {
+                throw new IllegalArgumentException("Operator '" +
+                        operator.symbol + "' needs a numeric value");
+            }
+            return new Condition.TextConstant(
+                    slot,
+                    operator == Condition.Operator.EQ,
+                    String.valueOf(value),
+                    missing,
+                    probability);
+        }
+
+        private int slot(Object property) {
+            if (property == null) {
+                throw new IllegalArgumentException("Property must be named");
+            }
+            return slots.computeIfAbsent(property.toString(), k -> slots.size());
+        }
+    }
+
+    private static double number(Map<?, ?> map, String key, double defaultValue) {
+        Object value = map.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        throw new IllegalArgumentException("'" + key + "' must be a number");
+    }
+
+    private static Map<?, ?> asMap(Object value, String name) {
+        if (value instanceof Map) {
+            return (Map<?, ?>) value;
+        }
+        throw new IllegalArgumentException("'" + name + "' must be an object");
+    }
+
+    private static List<?> asList(Object value, String name) {
+        if (value instanceof List) {
+            return (List<?>) value;
+        }
+        throw new IllegalArgumentException("'" + name + "' must be a list");
+    }
+}
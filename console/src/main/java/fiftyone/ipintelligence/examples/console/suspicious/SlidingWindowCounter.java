@@ -0,0 +1,112 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.suspicious;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts events in a sliding time window without locks. The window is split
+ * into a ring of buckets, each a {@link LongAdder} stamped with the period it
+ * is counting. A bucket is reset the first time it is used for a new period,
+ * so no background thread is needed to expire old counts. The window slides
+ * one bucket at a time, so the count covers between the window less one
+ * bucket and the full window.
+ * <p>
+ * Counts are approximate when an increment races with the reset of a
+ * bucket, which only happens at a bucket boundary. Instances are thread
+ * safe.
+ */
+public class SlidingWindowCounter {
+
+    private final long bucketMillis;
+
+    private final LongAdder[] buckets;
+
+    /**
+     * The period, in units of bucketMillis, each bucket is counting.
+     */
+    private final AtomicLongArray periods;
+
+    /**
+     * Constructs a new instance of {@link SlidingWindowCounter}.
+     * @param windowMillis length of the window in milliseconds
+     * @param bucketCount number of buckets the window is split into
+     */
+    public SlidingWindowCounter(long windowMillis, int bucketCount) {
+        if (bucketCount < 1 || windowMillis < bucketCount) {
+            throw new IllegalArgumentException("bucketCount must be " +
+                    "greater than 0 and no more than windowMillis");
+        }
+        this.bucketMillis = windowMillis / bucketCount;
+        this.buckets = new LongAdder[bucketCount];
+        this.periods = new AtomicLongArray(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new LongAdder();
+            periods.set(i, -1);
+        }
+    }
+
+    /**
+     * Adds one event at the time.
+     * @param nowMillis current time in milliseconds
+     */
+    public void increment(long nowMillis) {
+        add(nowMillis, 1);
+    }
+
+    /**
+     * Adds events at the time.
+     * @param nowMillis current time in milliseconds
+     * @param count number of events
+     */
+    public void add(long nowMillis, long count) {
+        long period = nowMillis / bucketMillis;
+        int slot = (int) (period % buckets.length);
+        long current = periods.get(slot);
+        if (current < period &&
+                periods.compareAndSet(slot, current, period)) {
+            // This thread moved the bucket on so clears the old count.
+            buckets[slot].reset();
+        }
+        buckets[slot].add(count);
+    }
+
+    /**
+     * Returns the number of events in the window ending at the time.
+     * @param nowMillis current time in milliseconds
+     * @return count of events
+     */
+    public long sum(long nowMillis) {
+        long period = nowMillis / bucketMillis;
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            long bucketPeriod = periods.get(i);
+            if (bucketPeriod > period - buckets.length &&
+                    bucketPeriod <= period) {
+                total += buckets[i].sum();
+            }
+        }
+        return total;
+    }
+}
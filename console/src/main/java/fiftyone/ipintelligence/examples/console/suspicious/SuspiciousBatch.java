@@ -0,0 +1,251 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.suspicious;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The properties used to assess whether IP addresses are suspicious for a
+ * batch of IP addresses, held as a primitive array per property rather than
+ * an object per IP address. The suspicion rule is then evaluated over the
+ * arrays in a single tight loop by {@link #evaluate()}.
+ * <p>
+ * Country codes are converted to small integer codes so that they can be
+ * compared without string comparisons. Missing values are stored as the
+ * same defaults used by the SuspiciousOnPrem example: false, 0, or
+ * {@link #NO_VALUE} for codes.
+ */
+public class SuspiciousBatch {
+
+    /**
+     * Code used where a string property has no value.
+     */
+    public static final int NO_VALUE = -1;
+
+    /**
+     * Code of the "Unknown" country.
+     */
+    public static final int UNKNOWN = 0;
+
+    /**
+     * Codes of the LocationConfidence values.
+     */
+    public static final byte CONFIDENCE_NONE = 0;
+    public static final byte CONFIDENCE_LOW = 1;
+    public static final byte CONFIDENCE_MEDIUM = 2;
+    public static final byte CONFIDENCE_HIGH = 3;
+
+    /**
+     * Country codes shared by all batches so that codes from different
+     * batches can be compared.
+     */
+    private static final Map<String, Integer> COUNTRIES =
+            new ConcurrentHashMap<>();
+
+    static {
+        COUNTRIES.put("Unknown", UNKNOWN);
+    }
+
+    private final String[] ips;
+
+    final boolean[] isCellular;
+    final int[] hardwareDiversity;
+    final int[] browserDiversity;
+    final byte[] locationConfidence;
+    final boolean[] isHosted;
+    final int[] countryCode;
+    final int[] registeredCountry;
+    final int[] humanProbability;
+
+    private boolean[] suspicious;
+
+    /**
+     * Constructs a new instance of {@link SuspiciousBatch} with space for
+     * the properties of each IP address.
+     * @param ips the IP addresses in the batch
+     */
+    public SuspiciousBatch(String[] ips) {
+        this.ips = ips;
+        int size = ips.length;
+        isCellular = new boolean[size];
+        hardwareDiversity = new int[size];
+        browserDiversity = new int[size];
+        locationConfidence = new byte[size];
+        isHosted = new boolean[size];
+        countryCode = new int[size];
+        registeredCountry = new int[size];
+        humanProbability = new int[size];
+    }
+
+    /**
+     * Sets the values for the IP address at the index. Each index must only
+     * be set by one thread.
+     */
+    public void set(int index,
+                    Boolean isCellular,
+                    Integer hardwareDiversity,
+                    Integer browserDiversity,
+                    String locationConfidence,
+                    Boolean isHosted,
+                    String countryCode,
+                    String registeredCountry,
+                    Integer humanProbability) {
+        this.isCellular[index] = isCellular != null && isCellular;
+        this.hardwareDiversity[index] =
+                hardwareDiversity != null ? hardwareDiversity : 0;
+        this.browserDiversity[index] =
+                browserDiversity != null ? browserDiversity : 0;
+        this.locationConfidence[index] = confidenceCode(locationConfidence);
+        this.isHosted[index] = isHosted != null && isHosted;
+        this.countryCode[index] = countryCode(countryCode);
+        this.registeredCountry[index] = countryCode(registeredCountry);
+        this.humanProbability[index] =
+                humanProbability != null ? humanProbability : 0;
+    }
+
+    /**
+     * Evaluates the suspicion rule for every IP address in the batch. The
+     * rule is the same as the SuspiciousOnPrem example:
+     * <ul>
+     *     <li>a high hardware diversity, not cellular, and low location
+     *     confidence, or</li>
+     *     <li>a hosted IP address where the observed country is known and
+     *     differs from the registered country, or</li>
+     *     <li>browser diversity more than two greater than the hardware
+     *     diversity.</li>
+     * </ul>
+     * @return true at the index of each suspicious IP address
+     */
+    public boolean[] evaluate() {
+        int size = ips.length;
+        boolean[] result = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            result[i] =
+                    (hardwareDiversity[i] >= 7 &
+                     isCellular[i] == false &
+                     locationConfidence[i] == CONFIDENCE_LOW) |
+                    (isHosted[i] &
+                     countryCode[i] > UNKNOWN &
+                     countryCode[i] != registeredCountry[i]) |
+                    browserDiversity[i] - hardwareDiversity[i] > 2;
+        }
+        suspicious = result;
+        return result;
+    }
+
+    /**
+     * Number of IP addresses in the batch.
+     */
+    public int size() {
+        return ips.length;
+    }
+
+    /**
+     * The IP address at the index.
+     */
+    public String getIp(int index) {
+        return ips[index];
+    }
+
+    /**
+     * True if the IP address at the index is suspicious. Only available
+     * after {@link #evaluate()}.
+     */
+    public boolean isSuspicious(int index) {
+        if (suspicious == null) {
+            throw new IllegalStateException("The batch has not been evaluated");
+        }
+        return suspicious[index];
+    }
+
+    /**
+     * Number of suspicious IP addresses in the batch. Only available after
+     * {@link #evaluate()}.
+     */
+    public int getSuspiciousCount() {
+        int count = 0;
+        for (int i = 0; i < ips.length; i++) {
+            if (isSuspicious(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public boolean getIsCellular(int index) {
+        return isCellular[index];
+    }
+
+    public int getHardwareDiversity(int index) {
+        return hardwareDiversity[index];
+    }
+
+    public int getBrowserDiversity(int index) {
+        return browserDiversity[index];
+    }
+
+    public boolean getIsHosted(int index) {
+        return isHosted[index];
+    }
+
+    public int getHumanProbability(int index) {
+        return humanProbability[index];
+    }
+
+    /**
+     * Returns the code for the location confidence value.
+     */
+    static byte confidenceCode(String value) {
+        if (value == null) {
+            return CONFIDENCE_NONE;
+        }
+        switch (value) {
+            case "Low":
+                return CONFIDENCE_LOW;
+            case "Medium":
+                return CONFIDENCE_MEDIUM;
+            case "High":
+                return CONFIDENCE_HIGH;
+            default:
+                return CONFIDENCE_NONE;
+        }
+    }
+
+    /**
+     * Returns the code for the country, adding it if it has not been seen
+     * before.
+     */
+    static int countryCode(String value) {
+        if (value == null) {
+            return NO_VALUE;
+        }
+        Integer code = COUNTRIES.get(value);
+        if (code == null) {
+            synchronized (COUNTRIES) {
+                code = COUNTRIES.computeIfAbsent(value, k -> COUNTRIES.size());
+            }
+        }
+        return code;
+    }
+}
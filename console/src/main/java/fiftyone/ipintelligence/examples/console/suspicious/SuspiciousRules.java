@@ -0,0 +1,187 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.suspicious;
+
+import fiftyone.ipintelligence.examples.shared.PropertyHelper;
+import fiftyone.pipeline.core.data.ElementData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Scores IP Intelligence results using a {@link RuleSet} loaded from a file,
+ * which can be changed while the application is running. A reload compiles
+ * the new rules completely before swapping them in with a single atomic
+ * write, so each evaluation sees either the old or the new rules and never
+ * a mixture. If the new rules are not valid the current rules are kept.
+ * <p>
+ * Only the properties referenced by the rules are read from the results.
+ * A property that is not available has no value, so the pipeline must be
+ * built with at least {@link RuleSet#getProperties()} of the rules being
+ * evaluated. A reload may reference properties the pipeline was not built
+ * with, in which case a new pipeline is needed, see SuspiciousOnPrem.
+ * <p>
+ * {@link #isSuspicious(ElementData)} and {@link #score(ElementData)} each
+ * use the rules current at the time of the call. To evaluate both against
+ * the same rules take one {@link #getRules()} and use it with
+ * {@link #source(ElementData)}.
+ * <p>
+ * Instances are thread safe.
+ */
+public class SuspiciousRules implements AutoCloseable {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(SuspiciousRules.class);
+
+    private final Path file;
+
+    private final AtomicReference<RuleSet> rules = new AtomicReference<>();
+
+    private volatile FileTime lastModified;
+
+    private ScheduledExecutorService watcher;
+
+    /**
+     * Constructs a new instance of {@link SuspiciousRules}, loading the
+     * rules from the file.
+     * @param file JSON or YAML rule file
+     * @throws IOException if the file can not be read
+     * @throws IllegalArgumentException if the rules are not valid
+     */
+    public SuspiciousRules(Path file) throws IOException {
+        this.file = file;
+        reload();
+    }
+
+    /**
+     * @return the rules currently in use
+     */
+    public RuleSet getRules() {
+        return rules.get();
+    }
+
+    /**
+     * Returns a source of the first value of each property in the IP
+     * Intelligence result, for evaluating a {@link RuleSet}.
+     * @param data IP Intelligence result for the IP address
+     * @return the property values
+     */
+    public static RuleSet.Source source(ElementData data) {
+        return property -> PropertyHelper.firstValueOf(data, property);
+    }
+
+    /**
+     * Returns true if the IP Intelligence result is suspicious according to
+     * the current rules.
+     * @param data IP Intelligence result for the IP address
+     * @return true if suspicious
+     */
+    public boolean isSuspicious(ElementData data) {
+        return rules.get().isSuspicious(source(data));
+    }
+
+    /**
+     * Returns the total score of the current rules matched by the IP
+     * Intelligence result.
+     * @param data IP Intelligence result for the IP address
+     * @return total score
+     */
+    public double score(ElementData data) {
+        return rules.get().score(source(data));
+    }
+
+    /**
+     * Compiles the rules from the file and swaps them in.
+     * @return the new rules
+     * @throws IOException if the file can not be read
+     * @throws IllegalArgumentException if the rules are not valid, in which
+     * case the current rules remain in use
+     */
+    public synchronized RuleSet reload() throws IOException {
+        FileTime modified = Files.getLastModifiedTime(file);
+        RuleSet loaded = RuleSet.load(file);
+        rules.set(loaded);
+        lastModified = modified;
+        logger.info("Loaded {} suspicious IP rules from '{}'",
+                loaded.getRuleNames().size(), file);
+        return loaded;
+    }
+
+    /**
+     * Reloads the rules if the file has been modified since they were last
+     * loaded.
+     * @return true if the rules were reloaded
+     * @throws IOException if the file can not be read
+     * @throws IllegalArgumentException if the rules are not valid, in which
+     * case the current rules remain in use
+     */
+    public synchronized boolean reloadIfModified() throws IOException {
+        if (Files.getLastModifiedTime(file).equals(lastModified)) {
+            return false;
+        }
+        reload();
+        return true;
+    }
+
+    /**
+     * Starts checking the file for changes at the interval, reloading the
+     * rules when it is modified. Failures are logged and the current rules
+     * kept.
+     * @param interval time between checks
+     * @param unit unit of the interval
+     */
+    public synchronized void watch(long interval, TimeUnit unit) {
+        if (watcher != null) {
+            throw new IllegalStateException("Already watching '" + file + "'");
+        }
+        watcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "suspicious-rules-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watcher.scheduleWithFixedDelay(() -> {
+            try {
+                reloadIfModified();
+            } catch (Exception e) {
+                logger.warn("Failed to reload suspicious IP rules from '{}'. " +
+                        "The current rules remain in use.", file, e);
+            }
+        }, interval, interval, unit);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+            watcher = null;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.suspicious;
+
+import fiftyone.ipintelligence.shared.IPIntelligenceData;
+import fiftyone.pipeline.core.data.FlowData;
+import fiftyone.pipeline.core.flowelements.Pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static fiftyone.ipintelligence.examples.shared.PropertyHelper.firstValue;
+import static fiftyone.ipintelligence.examples.shared.PropertyHelper.tryGet;
+
+/**
+ * Scores batches of IP addresses for suspicious activity. Each batch is
+ * split into contiguous slices which are processed by the pipeline in
+ * parallel, with each worker writing the property values straight into the
+ * column arrays of a {@link SuspiciousBatch}. The rule is then evaluated
+ * over the arrays on the calling thread.
+ * <p>
+ * Instances are thread safe and should be reused for many batches, then
+ * closed to stop the worker threads.
+ */
+public class SuspiciousScorer implements AutoCloseable {
+
+    /**
+     * Evidence key used to pass each IP address to the pipeline.
+     */
+    public static final String EVIDENCE_KEY = "query.client-ip";
+
+    /**
+     * Properties the pipeline must be built with.
+     */
+    public static final String[] PROPERTIES = {
+            "IsCellular",
+            "HardwareDiversity",
+            "BrowserDiversity",
+            "LocationConfidence",
+            "IsHosted",
+            "CountryCode",
+            "RegisteredCountry",
+            "HumanProbability"};
+
+    private final Pipeline pipeline;
+
+    private final int threads;
+
+    private final ExecutorService executor;
+
+    /**
+     * Constructs a new instance of {@link SuspiciousScorer}.
+     * @param pipeline containing an IP Intelligence engine with the
+     *                 {@link #PROPERTIES} available
+     * @param threads number of worker threads
+     */
+    public SuspiciousScorer(Pipeline pipeline, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException(
+                    "threads must be greater than 0");
+        }
+        this.pipeline = pipeline;
+        this.threads = threads;
+        this.executor = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Processes the IP addresses and evaluates the suspicion rule.
+     * @param ips IP addresses to score
+     * @return the evaluated batch
+     */
+    public SuspiciousBatch score(List<String> ips) throws Exception {
+        SuspiciousBatch batch = new SuspiciousBatch(ips.toArray(new String[0]));
+        int size = batch.size();
+        int slice = Math.max(1, (size + threads - 1) / threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from < size; from += slice) {
+            int start = from;
+            int end = Math.min(size, from + slice);
+            futures.add(executor.submit(() -> {
+                for (int i = start; i < end; i++) {
+                    extract(batch, i);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception) {
+                    throw (Exception) e.getCause();
+                }
+                throw e;
+            }
+        }
+        batch.evaluate();
+        return batch;
+    }
+
+    /**
+     * Processes the IP address at the index and sets its values in the
+     * batch.
+     */
+    private void extract(SuspiciousBatch batch, int index) throws Exception {
+        try (FlowData flowData = pipeline.createFlowData()) {
+            flowData.addEvidence(EVIDENCE_KEY, batch.getIp(index));
+            flowData.process();
+            IPIntelligenceData data = flowData.get(IPIntelligenceData.class);
+            batch.set(index,
+                    firstValue(tryGet(data::getIsCellular)),
+                    firstValue(tryGet(data::getHardwareDiversity)),
+                    firstValue(tryGet(data::getBrowserDiversity)),
+                    firstValue(tryGet(data::getLocationConfidence)),
+                    firstValue(tryGet(data::getIsHosted)),
+                    firstValue(tryGet(data::getCountryCode)),
+                    firstValue(tryGet(data::getRegisteredCountry)),
+                    firstValue(tryGet(data::getHumanProbability)));
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
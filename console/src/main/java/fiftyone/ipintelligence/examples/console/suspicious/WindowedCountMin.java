@@ -0,0 +1,127 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.suspicious;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Count-Min sketch estimating how often each key has been seen in roughly
+ * the last window, in a fixed amount of memory regardless of the number of
+ * keys. Two tables are kept, for the current and previous window, and the
+ * estimate is the sum of both. When a window ends the current table becomes
+ * the previous one and a new table is started. Estimates may be higher than
+ * the true count, never lower. Instances are thread safe.
+ */
+final class WindowedCountMin {
+
+    private static final int DEPTH = 4;
+
+    private final int mask;
+
+    private final long windowMillis;
+
+    private volatile AtomicIntegerArray current;
+
+    private volatile AtomicIntegerArray previous;
+
+    private volatile long windowStart;
+
+    /**
+     * @param width counters per row, rounded up to a power of two
+     * @param windowMillis length of the window in milliseconds
+     */
+    WindowedCountMin(int width, long windowMillis) {
+        int size = Integer.highestOneBit(Math.max(2, width) - 1) << 1;
+        this.mask = size - 1;
+        this.windowMillis = windowMillis;
+        this.current = new AtomicIntegerArray(size * DEPTH);
+        this.previous = new AtomicIntegerArray(size * DEPTH);
+    }
+
+    /**
+     * Counts the key and returns the new estimate of its count.
+     * @param key the key seen
+     * @param nowMillis current time in milliseconds
+     * @return estimated count for the key
+     */
+    int increment(Object key, long nowMillis) {
+        rotate(nowMillis);
+        AtomicIntegerArray table = current;
+        AtomicIntegerArray old = previous;
+        int hash = spread(key.hashCode());
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = index(hash, row);
+            int count = table.incrementAndGet(index) + old.get(index);
+            estimate = Math.min(estimate, count);
+        }
+        return estimate;
+    }
+
+    /**
+     * Returns the estimate of the key's count in the current window only,
+     * without counting it.
+     * @param key the key
+     * @param nowMillis current time in milliseconds
+     * @return estimated count for the key in the current window
+     */
+    int estimateCurrent(Object key, long nowMillis) {
+        rotate(nowMillis);
+        AtomicIntegerArray table = current;
+        int hash = spread(key.hashCode());
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, table.get(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    private void rotate(long nowMillis) {
+        if (nowMillis - windowStart >= windowMillis) {
+            synchronized (this) {
+                if (nowMillis - windowStart >= windowMillis) {
+                    // If more than one window has passed the old counts
+                    // are all out of date.
+                    previous = nowMillis - windowStart < windowMillis * 2 ?
+                            current :
+                            new AtomicIntegerArray(current.length());
+                    current = new AtomicIntegerArray(current.length());
+                    windowStart = nowMillis;
+                }
+            }
+        }
+    }
+
+    private int index(int hash, int row) {
+        int h = hash * (0x9E3779B9 + (row << 1));
+        h ^= h >>> 16;
+        return row * (mask + 1) + (h & mask);
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+}
@@ -0,0 +1,259 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.update;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link UpdateLock} using lease files in a directory shared by the nodes,
+ * such as a network file system mount, or a local directory standing in for
+ * one when testing.
+ * <p>
+ * A lease is taken by creating the lease file, which fails if it already
+ * exists, and holds a token unique to the lease. While held the modified
+ * time of the file is renewed every third of the time to live. A lease
+ * which has not been renewed within its time to live, because its node has
+ * died, has expired and may be taken by another node. An expired lease file
+ * is first renamed to a unique name, which only one node can do. The token
+ * and modified time judged expired are recorded first and checked against
+ * the renamed file, so a node which was beaten to the expired lease, and
+ * has instead renamed the fresh lease created by the winner, or a lease
+ * renewed in the meantime, puts it back rather than also taking the lease.
+ * Another node could create the lease in the short time before it is put
+ * back, in which case the node it was renamed from finds that the lease
+ * was lost when it next renews it.
+ * <p>
+ * The time to live must be much longer than the clock differences between
+ * the nodes and any pause in renewal, for example garbage collection.
+ */
+public class DirectoryLeaseLock implements UpdateLock {
+
+    /**
+     * Default time a lease lasts without being renewed.
+     */
+    public static final long DEFAULT_TIME_TO_LIVE_MILLIS = 5 * 60 * 1000;
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(DirectoryLeaseLock.class);
+
+    private final Path directory;
+
+    private final String owner;
+
+    private final long timeToLiveMillis;
+
+    private final ScheduledExecutorService renewer;
+
+    /**
+     * Constructs a new instance of {@link DirectoryLeaseLock} with the
+     * {@link #DEFAULT_TIME_TO_LIVE_MILLIS}.
+     * @param directory shared directory where the lease files are created
+     * @param owner name of this node, recorded in its lease files
+     */
+    public DirectoryLeaseLock(Path directory, String owner) throws IOException {
+        this(directory, owner, DEFAULT_TIME_TO_LIVE_MILLIS);
+    }
+
+    /**
+     * Constructs a new instance of {@link DirectoryLeaseLock}.
+     * @param directory shared directory where the lease files are created
+     * @param owner name of this node, recorded in its lease files
+     * @param timeToLiveMillis time a lease lasts without being renewed
+     */
+    public DirectoryLeaseLock(Path directory,
+                              String owner,
+                              long timeToLiveMillis) throws IOException {
+        if (timeToLiveMillis < 3) {
+            throw new IllegalArgumentException(
+                    "timeToLiveMillis must be at least 3");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.owner = owner;
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.renewer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "lease-renewer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Lease tryAcquire(String name) throws IOException {
+        Path file = directory.resolve(name + ".lease");
+        String token = owner + " " + UUID.randomUUID();
+        if (create(file, token) == false) {
+            // Record the lease judged expired, to check it is the one renamed.
+            FileTime modified = modified(file);
+            String seen = read(file);
+            if (modified == null || seen == null ||
+                    System.currentTimeMillis() - modified.toMillis() <= timeToLiveMillis) {
+                return null;
+            }
+            Path expired = directory.resolve(
+                    name + ".lease." + UUID.randomUUID() + ".expired");
+            try {
+                Files.move(file, expired, StandardCopyOption.ATOMIC_MOVE);
+            } catch (NoSuchFileException e) {
+                // Another node took the expired lease first.
+                return null;
+            }
+            if (seen.equals(read(expired)) == false ||
+                    modified.equals(modified(expired)) == false) {
+                // Another node took the expired lease first and this is its
+                // fresh lease, or the lease was renewed, so put it back.
+                restore(expired, file);
+                return null;
+            }
+            logger.info("Took expired lease '{}'", file);
+            Files.deleteIfExists(expired);
+            if (create(file, token) == false) {
+                return null;
+            }
+        }
+        return new DirectoryLease(file, token);
+    }
+
+    /**
+     * Creates the lease file if it does not exist.
+     * @return true if created by this call
+     */
+    private static boolean create(Path file, String token) throws IOException {
+        try {
+            Files.write(file, token.getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return the modified time of the file, or null if it does not exist
+     */
+    private static FileTime modified(Path file) throws IOException {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (NoSuchFileException e) {
+            // Released since it was found, so free to be taken next time.
+            return null;
+        }
+    }
+
+    /**
+     * @return the token in the file, or null if it does not exist
+     */
+    private static String read(Path file) throws IOException {
+        try {
+            return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Renames a lease taken in error back to the lease file, unless another
+     * node has created the lease file since.
+     */
+    private static void restore(Path expired, Path file) throws IOException {
+        try {
+            // not ATOMIC_MOVE, which may replace an existing file
+            Files.move(expired, file);
+        } catch (FileAlreadyExistsException e) {
+            logger.warn("Could not put back lease '{}' as it has been " +
+                    "taken again", file);
+            Files.deleteIfExists(expired);
+        }
+    }
+
+    /**
+     * @return true if the lease file exists and holds the token
+     */
+    private static boolean owns(Path file, String token) {
+        try {
+            return token.equals(new String(
+                    Files.readAllBytes(file), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        renewer.shutdownNow();
+    }
+
+    private class DirectoryLease implements Lease {
+        private final Path file;
+        private final String token;
+        private final ScheduledFuture<?> renewal;
+
+        private DirectoryLease(Path file, String token) {
+            this.file = file;
+            this.token = token;
+            long period = timeToLiveMillis / 3;
+            this.renewal = renewer.scheduleAtFixedRate(
+                    this::renew, period, period, TimeUnit.MILLISECONDS);
+        }
+
+        private void renew() {
+            try {
+                if (owns(file, token)) {
+                    Files.setLastModifiedTime(file,
+                            FileTime.fromMillis(System.currentTimeMillis()));
+                } else {
+                    logger.warn("Lease '{}' was lost", file);
+                    renewal.cancel(false);
+                }
+            } catch (IOException e) {
+                logger.warn("Failed to renew lease '{}'", file, e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            renewal.cancel(false);
+            // Only delete the file if it has not expired and been taken by
+            // another node.
+            if (owns(file, token)) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
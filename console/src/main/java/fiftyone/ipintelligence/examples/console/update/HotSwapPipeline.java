@@ -0,0 +1,328 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.update;
+
+import fiftyone.pipeline.core.data.FlowData;
+import fiftyone.pipeline.core.flowelements.Pipeline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Serves IP Intelligence lookups from a pipeline which can be replaced with
+ * one built from a new data file without lookups waiting on the reload.
+ * <p>
+ * Rather than the engine reloading the data file in place, a swap builds a
+ * complete shadow pipeline from the new file in the background and warms it
+ * by replaying the most recently seen IP addresses, so the pages of the data
+ * file and any caches used by real traffic are already loaded. Traffic is
+ * then switched to the shadow pipeline with a single atomic reference
+ * write. The old pipeline is closed only once every lookup which started on
+ * it has finished.
+ * <p>
+ * The pipelines should be built with auto update and the data file system
+ * watcher disabled, and with a temporary copy of the data file so that the
+ * file can be replaced while in use. Instances are thread safe.
+ */
+public class HotSwapPipeline implements AutoCloseable {
+
+    /**
+     * Builds a pipeline from a data file.
+     */
+    public interface Factory {
+        Pipeline build(String dataFile) throws Exception;
+    }
+
+    /**
+     * Reads the result of a lookup, while the pipeline is held open.
+     * @param <T> type of the result
+     */
+    public interface Reader<T> {
+        T read(FlowData flowData) throws Exception;
+    }
+
+    /**
+     * Default number of recent IP addresses replayed to warm a new pipeline.
+     */
+    public static final int DEFAULT_WARM_UP_SIZE = 10000;
+
+    /**
+     * Evidence key used to pass each IP address to the pipeline.
+     */
+    public static final String EVIDENCE_KEY = "query.client-ip";
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(HotSwapPipeline.class);
+
+    /**
+     * A pipeline and the number of lookups currently using it.
+     */
+    private static final class Generation {
+        private final Pipeline pipeline;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private Generation(Pipeline pipeline) {
+            this.pipeline = pipeline;
+        }
+    }
+
+    private final Factory factory;
+
+    private final Path dataFile;
+
+    private final AtomicReference<Generation> current = new AtomicReference<>();
+
+    /**
+     * Ring of recently seen IP addresses used to warm new pipelines.
+     */
+    private final AtomicReferenceArray<String> recent;
+
+    private final AtomicLong recentIndex = new AtomicLong();
+
+    private final AtomicLong swaps = new AtomicLong();
+
+    private volatile long lastSwapMillis;
+
+    private volatile long lastDrainMillis;
+
+    private volatile FileTime lastModified;
+
+    private ScheduledExecutorService watcher;
+
+    /**
+     * Constructs a new instance of {@link HotSwapPipeline} with the
+     * {@link #DEFAULT_WARM_UP_SIZE}, building the first pipeline.
+     * @param factory builds a pipeline from the data file
+     * @param dataFile the data file
+     */
+    public HotSwapPipeline(Factory factory, Path dataFile) throws Exception {
+        this(factory, dataFile, DEFAULT_WARM_UP_SIZE);
+    }
+
+    /**
+     * Constructs a new instance of {@link HotSwapPipeline}, building the
+     * first pipeline.
+     * @param factory builds a pipeline from the data file
+     * @param dataFile the data file
+     * @param warmUpSize number of recent IP addresses replayed to warm a new
+     *                   pipeline
+     */
+    public HotSwapPipeline(Factory factory,
+                           Path dataFile,
+                           int warmUpSize) throws Exception {
+        if (warmUpSize < 1) {
+            throw new IllegalArgumentException(
+                    "warmUpSize must be greater than 0");
+        }
+        this.factory = factory;
+        this.dataFile = dataFile;
+        this.recent = new AtomicReferenceArray<>(warmUpSize);
+        this.lastModified = Files.getLastModifiedTime(dataFile);
+        this.current.set(new Generation(factory.build(dataFile.toString())));
+    }
+
+    /**
+     * Processes the IP address with the current pipeline and reads the
+     * result. The pipeline will not be closed until the reader returns.
+     * @param ip the IP address
+     * @param reader reads the result from the flow data
+     * @param <T> type of the result
+     * @return the result from the reader
+     */
+    public <T> T process(String ip, Reader<T> reader) throws Exception {
+        recent.set((int) (recentIndex.getAndIncrement() % recent.length()), ip);
+        Generation generation = acquire();
+        try (FlowData flowData = generation.pipeline.createFlowData()) {
+            flowData.addEvidence(EVIDENCE_KEY, ip);
+            flowData.process();
+            return reader.read(flowData);
+        } finally {
+            generation.inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Builds and warms a pipeline from the data file, then switches traffic
+     * to it and closes the old pipeline once its lookups have drained. If
+     * the new pipeline can not be built the current one remains in use.
+     */
+    public synchronized void swap() throws Exception {
+        long start = System.currentTimeMillis();
+        FileTime modified = Files.getLastModifiedTime(dataFile);
+        Pipeline shadow = factory.build(dataFile.toString());
+        try {
+            warm(shadow);
+        } catch (Exception e) {
+            shadow.close();
+            throw e;
+        }
+
+        Generation old = current.getAndSet(new Generation(shadow));
+        lastModified = modified;
+        long switched = System.currentTimeMillis();
+        lastSwapMillis = switched - start;
+
+        drain(old);
+        lastDrainMillis = System.currentTimeMillis() - switched;
+        swaps.incrementAndGet();
+        logger.info("Swapped to new pipeline in {}ms, old pipeline drained " +
+                "in {}ms", lastSwapMillis, lastDrainMillis);
+    }
+
+    /**
+     * Swaps the pipeline if the data file has been modified since the
+     * current pipeline was built.
+     * @return true if the pipeline was swapped
+     */
+    public synchronized boolean swapIfModified() throws Exception {
+        if (Files.getLastModifiedTime(dataFile).equals(lastModified)) {
+            return false;
+        }
+        swap();
+        return true;
+    }
+
+    /**
+     * Starts checking the data file for changes at the interval, swapping
+     * the pipeline when it is modified. Failures are logged and the current
+     * pipeline kept.
+     * @param interval time between checks
+     * @param unit unit of the interval
+     */
+    public synchronized void watch(long interval, TimeUnit unit) {
+        if (watcher != null) {
+            throw new IllegalStateException(
+                    "Already watching '" + dataFile + "'");
+        }
+        watcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hot-swap-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watcher.scheduleWithFixedDelay(() -> {
+            try {
+                swapIfModified();
+            } catch (Exception e) {
+                logger.warn("Failed to swap to the data file '{}'. The " +
+                        "current pipeline remains in use.", dataFile, e);
+            }
+        }, interval, interval, unit);
+    }
+
+    /**
+     * @return the number of swaps completed
+     */
+    public long getSwaps() {
+        return swaps.get();
+    }
+
+    /**
+     * @return milliseconds taken to build and warm the last new pipeline
+     */
+    public long getLastSwapMillis() {
+        return lastSwapMillis;
+    }
+
+    /**
+     * @return milliseconds taken for lookups on the last old pipeline to
+     * finish
+     */
+    public long getLastDrainMillis() {
+        return lastDrainMillis;
+    }
+
+    @Override
+    public synchronized void close() throws Exception {
+        if (watcher != null) {
+            watcher.shutdownNow();
+            watcher = null;
+        }
+        Generation generation = current.getAndSet(null);
+        if (generation != null) {
+            drain(generation);
+        }
+    }
+
+    /**
+     * Returns the current generation with its in flight count incremented.
+     * The count is incremented before checking the generation is still
+     * current, so a swap which has already replaced it can not miss the
+     * lookup when waiting for the count to reach zero.
+     */
+    private Generation acquire() {
+        while (true) {
+            Generation generation = current.get();
+            if (generation == null) {
+                throw new IllegalStateException("Pipeline has been closed");
+            }
+            generation.inFlight.incrementAndGet();
+            if (current.get() == generation) {
+                return generation;
+            }
+            generation.inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Replays the recent IP addresses through the pipeline.
+     */
+    private void warm(Pipeline pipeline) throws Exception {
+        List<String> ips = new ArrayList<>(recent.length());
+        for (int i = 0; i < recent.length(); i++) {
+            String ip = recent.get(i);
+            if (ip != null) {
+                ips.add(ip);
+            }
+        }
+        for (String ip : ips) {
+            try (FlowData flowData = pipeline.createFlowData()) {
+                flowData.addEvidence(EVIDENCE_KEY, ip);
+                flowData.process();
+            }
+        }
+        logger.debug("Warmed new pipeline with {} IP addresses", ips.size());
+    }
+
+    /**
+     * Waits for the lookups using the generation to finish, then closes it.
+     */
+    private static void drain(Generation generation) throws Exception {
+        while (generation.inFlight.get() > 0) {
+            Thread.sleep(1);
+        }
+        generation.pipeline.close();
+    }
+}
@@ -0,0 +1,384 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.update;
+
+import fiftyone.ipintelligence.examples.shared.DataFileDownloader;
+import fiftyone.ipintelligence.examples.shared.DataFileHeader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coordinates data file updates across a fleet of nodes so that only a
+ * limited number reload at once, rather than every node reloading as soon
+ * as it finds a new data file and taking a large share of the capacity out
+ * together.
+ * <p>
+ * An update first waits a random jitter, then obtains the new data file,
+ * then waits for one of a fixed number of reload slots, each a named lock in
+ * the {@link UpdateLock} shared by the nodes. Only while holding a slot is
+ * the new file moved into place and the reload made, for example by
+ * {@link HotSwapPipeline#swap()}.
+ * <p>
+ * With a cache directory shared by the nodes, the first node to find that
+ * the cache is out of date downloads and decompresses the new data file into
+ * it while holding the {@link #DOWNLOAD_LOCK}, and every other node hard
+ * links to the cached file, or copies it where links are not supported.
+ * Files in the cache are only ever replaced by renaming a new file over
+ * them, never written in place, so linked copies are not affected. Without a
+ * cache each node downloads the file itself.
+ * <p>
+ * Data files are compared by the published date in their header, or the
+ * time they were modified if the header can not be read.
+ */
+public class UpdateCoordinator {
+
+    /**
+     * Obtains a data file, only if newer than the time given.
+     */
+    public interface Source {
+        /**
+         * @param target path to write the data file to
+         * @param ifModifiedSince time in milliseconds of the data file
+         *                        already held, or 0 if none
+         * @return true if the target was written, false if there is no newer
+         * data file
+         */
+        boolean fetch(Path target, long ifModifiedSince) throws IOException;
+    }
+
+    /**
+     * Reloads the data file once it is in place.
+     */
+    public interface Reloader {
+        void reload(Path dataFile) throws Exception;
+    }
+
+    /**
+     * Name of the lock held while downloading into the cache directory.
+     */
+    public static final String DOWNLOAD_LOCK = "download";
+
+    /**
+     * Prefix of the names of the reload slot locks, followed by the slot
+     * number.
+     */
+    public static final String RELOAD_LOCK_PREFIX = "reload-";
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(UpdateCoordinator.class);
+
+    /**
+     * Builder for {@link UpdateCoordinator}.
+     */
+    public static class Builder {
+        private final UpdateLock lock;
+        private int maxConcurrentReloads = 1;
+        private long jitterMillis = 0;
+        private Path cacheDirectory = null;
+        private long retryMillis = 1000;
+        private long timeoutMillis = TimeUnit.MINUTES.toMillis(30);
+
+        /**
+         * @param lock shared by the nodes
+         */
+        public Builder(UpdateLock lock) {
+            this.lock = lock;
+        }
+
+        /**
+         * Sets the number of nodes which may reload at once. Must be the
+         * same on every node. Default 1.
+         * @param maxConcurrentReloads number of reload slots
+         * @return this builder
+         */
+        public Builder setMaxConcurrentReloads(int maxConcurrentReloads) {
+            this.maxConcurrentReloads = maxConcurrentReloads;
+            return this;
+        }
+
+        /**
+         * Sets the maximum random delay before each update starts, which
+         * spreads the nodes' downloads and reloads. Default none.
+         * @param jitter maximum delay
+         * @param unit unit of the delay
+         * @return this builder
+         */
+        public Builder setJitter(long jitter, TimeUnit unit) {
+            this.jitterMillis = unit.toMillis(jitter);
+            return this;
+        }
+
+        /**
+         * Sets a directory shared by the nodes where the new data file is
+         * downloaded once. Default none, so each node downloads.
+         * @param cacheDirectory shared directory
+         * @return this builder
+         */
+        public Builder setCacheDirectory(Path cacheDirectory) {
+            this.cacheDirectory = cacheDirectory;
+            return this;
+        }
+
+        /**
+         * Sets how often a held lock is retried. Default one second.
+         * @param retry interval
+         * @param unit unit of the interval
+         * @return this builder
+         */
+        public Builder setRetryInterval(long retry, TimeUnit unit) {
+            this.retryMillis = unit.toMillis(retry);
+            return this;
+        }
+
+        /**
+         * Sets how long to wait for a lock before the update fails. Default
+         * 30 minutes.
+         * @param timeout time to wait
+         * @param unit unit of the time
+         * @return this builder
+         */
+        public Builder setTimeout(long timeout, TimeUnit unit) {
+            this.timeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        /**
+         * @return a new coordinator
+         */
+        public UpdateCoordinator build() {
+            if (lock == null) {
+                throw new IllegalArgumentException("lock must be set");
+            }
+            if (maxConcurrentReloads < 1 || retryMillis < 1 ||
+                    jitterMillis < 0 || timeoutMillis < 0) {
+                throw new IllegalArgumentException(
+                        "maxConcurrentReloads and retry interval must be " +
+                        "greater than 0, and jitter and timeout not negative");
+            }
+            return new UpdateCoordinator(this);
+        }
+    }
+
+    private final UpdateLock lock;
+
+    private final int maxConcurrentReloads;
+
+    private final long jitterMillis;
+
+    private final Path cacheDirectory;
+
+    private final long retryMillis;
+
+    private final long timeoutMillis;
+
+    private final AtomicLong reloads = new AtomicLong();
+
+    private volatile long lastWaitMillis;
+
+    private UpdateCoordinator(Builder builder) {
+        this.lock = builder.lock;
+        this.maxConcurrentReloads = builder.maxConcurrentReloads;
+        this.jitterMillis = builder.jitterMillis;
+        this.cacheDirectory = builder.cacheDirectory;
+        this.retryMillis = builder.retryMillis;
+        this.timeoutMillis = builder.timeoutMillis;
+    }
+
+    /**
+     * A {@link Source} which downloads the gzipped data file from the URL
+     * with a {@link DataFileDownloader}, sending If-Modified-Since.
+     * @param url of the data file
+     * @return a new source
+     */
+    public static Source source(URL url) {
+        DataFileDownloader downloader = new DataFileDownloader();
+        return (target, ifModifiedSince) ->
+                downloader.download(url, target, ifModifiedSince) != null;
+    }
+
+    /**
+     * Updates the data file if a newer one is available, reloading it while
+     * holding a reload slot.
+     * @param dataFile the data file in use
+     * @param source of new data files
+     * @param reloader reloads the data file once it is in place
+     * @return true if the data file was updated and reloaded
+     * @throws IOException if a lock could not be acquired within the
+     * timeout, or the data file could not be obtained
+     */
+    public boolean update(Path dataFile,
+                          Source source,
+                          Reloader reloader) throws Exception {
+        if (jitterMillis > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(jitterMillis));
+        }
+        long current = published(dataFile);
+        Path staged = dataFile.resolveSibling(dataFile.getFileName() + ".staged");
+        if (stage(dataFile, staged, current, source) == false) {
+            return false;
+        }
+
+        long start = System.currentTimeMillis();
+        try (UpdateLock.Lease slot = acquireSlot()) {
+            lastWaitMillis = System.currentTimeMillis() - start;
+            logger.info("Reloading '{}' after waiting {}ms for a slot",
+                    dataFile, lastWaitMillis);
+            move(staged, dataFile);
+            reloader.reload(dataFile);
+            reloads.incrementAndGet();
+            return true;
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    /**
+     * @return number of updates reloaded by this coordinator
+     */
+    public long getReloads() {
+        return reloads.get();
+    }
+
+    /**
+     * @return time the last reload waited for a slot
+     */
+    public long getLastWaitMillis() {
+        return lastWaitMillis;
+    }
+
+    /**
+     * Puts a data file newer than the current one at the staged path, from
+     * the cache directory if there is one.
+     * @return true if there is a newer data file
+     */
+    private boolean stage(Path dataFile,
+                          Path staged,
+                          long current,
+                          Source source) throws Exception {
+        if (cacheDirectory == null) {
+            if (source.fetch(staged, current) == false) {
+                return false;
+            }
+            if (published(staged) <= current) {
+                Files.deleteIfExists(staged);
+                return false;
+            }
+            return true;
+        }
+
+        Files.createDirectories(cacheDirectory);
+        Path cached = cacheDirectory.resolve(dataFile.getFileName());
+        if (published(cached) <= current) {
+            try (UpdateLock.Lease download = acquire(DOWNLOAD_LOCK)) {
+                // Another node may have updated the cache while waiting.
+                if (published(cached) <= current) {
+                    logger.info("Downloading into cache '{}'", cached);
+                    source.fetch(cached, Math.max(current, published(cached)));
+                }
+            }
+        }
+        if (published(cached) <= current) {
+            return false;
+        }
+        Files.deleteIfExists(staged);
+        try {
+            Files.createLink(staged, cached);
+        } catch (IOException | UnsupportedOperationException e) {
+            // Links are not supported, or the cache is on another file
+            // system.
+            Files.copy(cached, staged, StandardCopyOption.COPY_ATTRIBUTES);
+        }
+        return true;
+    }
+
+    /**
+     * Waits for any of the reload slots.
+     */
+    private UpdateLock.Lease acquireSlot() throws Exception {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            for (int i = 0; i < maxConcurrentReloads; i++) {
+                UpdateLock.Lease lease = lock.tryAcquire(RELOAD_LOCK_PREFIX + i);
+                if (lease != null) {
+                    return lease;
+                }
+            }
+            waitUntil(deadline, "a reload slot");
+        }
+    }
+
+    /**
+     * Waits for the named lock.
+     */
+    private UpdateLock.Lease acquire(String name) throws Exception {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            UpdateLock.Lease lease = lock.tryAcquire(name);
+            if (lease != null) {
+                return lease;
+            }
+            waitUntil(deadline, "the " + name + " lock");
+        }
+    }
+
+    private void waitUntil(long deadline, String what) throws Exception {
+        if (System.currentTimeMillis() >= deadline) {
+            throw new IOException("Timed out waiting for " + what);
+        }
+        Thread.sleep(retryMillis);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * The published date of the data file in milliseconds, the time it was
+     * modified if the header can not be read, or 0 if it does not exist.
+     */
+    static long published(Path dataFile) throws IOException {
+        if (Files.exists(dataFile) == false) {
+            return 0;
+        }
+        try {
+            return DataFileHeader.read(dataFile).getPublished().getTime();
+        } catch (IOException e) {
+            return Files.getLastModifiedTime(dataFile).toMillis();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.update;
+
+import java.io.IOException;
+
+/**
+ * A named lock shared by the nodes which coordinate their data file updates
+ * with an {@link UpdateCoordinator}. Implementations decide how far the lock
+ * is shared, for example between the processes on a host with
+ * {@link FileUpdateLock}, or between hosts mounting a shared directory with
+ * {@link DirectoryLeaseLock}.
+ */
+public interface UpdateLock extends AutoCloseable {
+
+    /**
+     * A held lock, released when closed.
+     */
+    interface Lease extends AutoCloseable {
+        @Override
+        void close() throws IOException;
+    }
+
+    /**
+     * Acquires the named lock if no other node holds it, without waiting.
+     * @param name of the lock
+     * @return the lease, or null if the lock is held by another node
+     * @throws IOException if the lock backend can not be accessed
+     */
+    Lease tryAcquire(String name) throws IOException;
+
+    /**
+     * Releases any resources used by the lock backend.
+     */
+    @Override
+    default void close() {
+    }
+}
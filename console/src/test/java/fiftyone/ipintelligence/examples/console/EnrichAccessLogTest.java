@@ -0,0 +1,64 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static fiftyone.ipintelligence.examples.shared.DataFileHelper.ENTERPRISE_DATA_FILE_REL_PATH;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+public class EnrichAccessLogTest {
+    private static final Logger logger = LoggerFactory.getLogger(EnrichAccessLogTest.class);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void enrichAccessLogTest() throws Exception {
+        assumeTrue("Skipping test, no IP Intelligence data file found",
+                SuspiciousOnPremTest.dataFileAvailable());
+        File log = folder.newFile("access.log");
+        Files.write(log.toPath(), Arrays.asList(
+                "185.28.167.77 - - [10/Oct/2026:13:55:36 +0000] \"GET / HTTP/1.1\" 200 2326",
+                "2001:4860:4860::8888 - - [10/Oct/2026:13:55:37 +0000] \"GET / HTTP/1.1\" 200 2326",
+                "185.28.167.77 - - [10/Oct/2026:13:55:38 +0000] \"GET /about HTTP/1.1\" 200 512"),
+                StandardCharsets.UTF_8);
+        try (LoggerOutputStream outStream = new LoggerOutputStream(logger)) {
+            long lines = EnrichAccessLog.run(ENTERPRISE_DATA_FILE_REL_PATH,
+                    log.toPath(),
+                    EnrichAccessLog.DEFAULT_PROPERTIES,
+                    outStream);
+            assertEquals(3, lines);
+        }
+    }
+}
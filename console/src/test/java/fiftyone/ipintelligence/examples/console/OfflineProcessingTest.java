@@ -22,15 +22,19 @@
 
 package fiftyone.ipintelligence.examples.console;
 
+import fiftyone.ipintelligence.examples.console.offline.OutputFormat;
 import fiftyone.ipintelligence.examples.shared.DataFileHelper;
 import fiftyone.ipintelligence.shared.testhelpers.FileUtils;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeTrue;
 
 
@@ -55,4 +59,52 @@ public class OfflineProcessingTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    public void offlineProcessingBatchTest() throws Exception {
+        String dataFile = DataFileHelper.findAvailableDataFile(
+                DataFileHelper.ENTERPRISE_DATA_FILE_REL_PATH,
+                DataFileHelper.LITE_DATA_FILE_REL_PATH);
+        assumeTrue("Skipping test, no IP Intelligence data file with the " +
+                        "RegisteredName property found",
+                dataFile != null);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long count = OfflineProcessing.runBatch(dataFile,
+                new FileInputStream(Objects.requireNonNull(FileUtils.getEvidenceFile())),
+                output,
+                4,
+                100);
+        // Every record should be written as a separate YAML document rather
+        // than stopping at the limit of the simple example.
+        String[] documents = output.toString("UTF-8").split("(?m)^---$");
+        assertTrue(count > 20);
+        assertEquals(count, documents.length - 1);
+    }
+
+    @Test
+    public void offlineProcessingCacheTest() throws Exception {
+        String dataFile = DataFileHelper.findAvailableDataFile(
+                DataFileHelper.ENTERPRISE_DATA_FILE_REL_PATH,
+                DataFileHelper.LITE_DATA_FILE_REL_PATH);
+        assumeTrue("Skipping test, no IP Intelligence data file with the " +
+                        "RegisteredName property found",
+                dataFile != null);
+        ByteArrayOutputStream uncached = new ByteArrayOutputStream();
+        OfflineProcessing.runBatch(dataFile,
+                new FileInputStream(Objects.requireNonNull(FileUtils.getEvidenceFile())),
+                uncached,
+                4,
+                100,
+                OutputFormat.forName("yaml", OfflineProcessing.BATCH_COLUMNS),
+                0);
+        ByteArrayOutputStream cached = new ByteArrayOutputStream();
+        OfflineProcessing.runBatch(dataFile,
+                new FileInputStream(Objects.requireNonNull(FileUtils.getEvidenceFile())),
+                cached,
+                4,
+                100,
+                OutputFormat.forName("yaml", OfflineProcessing.BATCH_COLUMNS),
+                1000);
+        // Turning the cache on must not change the output.
+        assertEquals(uncached.toString("UTF-8"), cached.toString("UTF-8"));
+    }
+}
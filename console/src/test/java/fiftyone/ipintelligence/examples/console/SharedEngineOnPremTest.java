@@ -0,0 +1,75 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console;
+
+import fiftyone.ipintelligence.examples.shared.DataFileHelper;
+import fiftyone.ipintelligence.examples.shared.SharedEngineRegistry;
+import fiftyone.pipeline.engines.Constants;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static fiftyone.ipintelligence.examples.shared.DataFileHelper.ENTERPRISE_DATA_FILE_REL_PATH;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assume.assumeTrue;
+
+public class SharedEngineOnPremTest {
+    private static final Logger logger = LoggerFactory.getLogger(SharedEngineOnPremTest.class);
+
+    @Test
+    public void sharedEngineOnPremTest() throws Exception {
+        assumeTrue("Skipping test, no IP Intelligence data file found",
+                SuspiciousOnPremTest.dataFileAvailable());
+        try (LoggerOutputStream outStream = new LoggerOutputStream(logger)) {
+            SharedEngineOnPrem.run(ENTERPRISE_DATA_FILE_REL_PATH, outStream);
+        }
+    }
+
+    @Test
+    public void referenceCountTest() throws Exception {
+        assumeTrue("Skipping test, no IP Intelligence data file found",
+                SuspiciousOnPremTest.dataFileAvailable());
+        String dataFile = DataFileHelper.getDataFileLocation(ENTERPRISE_DATA_FILE_REL_PATH);
+        Constants.PerformanceProfiles profile = Constants.PerformanceProfiles.LowMemory;
+        SharedEngineRegistry registry = new SharedEngineRegistry();
+
+        SharedEngineRegistry.Lease first = registry.acquire(dataFile, profile);
+        SharedEngineRegistry.Lease second = registry.acquire(dataFile, profile);
+        assertSame(first.getEngine(), second.getEngine());
+        assertEquals(2, registry.getReferences(dataFile, profile));
+
+        first.close();
+        // closing twice releases only one reference
+        first.close();
+        assertEquals(1, registry.getReferences(dataFile, profile));
+        second.close();
+        assertEquals(0, registry.getReferences(dataFile, profile));
+
+        // a new engine is built once the last lease has been closed
+        try (SharedEngineRegistry.Lease third = registry.acquire(dataFile, profile)) {
+            assertNotSame(second.getEngine(), third.getEngine());
+        }
+    }
+}
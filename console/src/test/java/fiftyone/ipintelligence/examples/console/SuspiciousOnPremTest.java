@@ -22,11 +22,22 @@
 
 package fiftyone.ipintelligence.examples.console;
 
+import fiftyone.ipintelligence.examples.console.suspicious.BurstDetector;
+import fiftyone.ipintelligence.examples.console.suspicious.SuspiciousBatch;
 import fiftyone.ipintelligence.examples.shared.DataFileHelper;
 import fiftyone.ipintelligence.examples.shared.EvidenceHelper;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 import static fiftyone.ipintelligence.examples.shared.DataFileHelper.ENTERPRISE_DATA_FILE_REL_PATH;
+import static fiftyone.pipeline.util.FileFinder.getFilePath;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeTrue;
 
 public class SuspiciousOnPremTest {
@@ -39,6 +50,42 @@ public class SuspiciousOnPremTest {
                 EvidenceHelper.setUpEvidence(), System.out);
     }
 
+    @Test
+    public void suspiciousOnPremBatchTest() throws Exception {
+        assumeTrue("Skipping test, no IP Intelligence data file found",
+                dataFileAvailable());
+        List<String> ips = new ArrayList<>();
+        for (Map<String, String> evidence : EvidenceHelper.setUpEvidence()) {
+            ips.add(evidence.get("query.client-ip"));
+        }
+        SuspiciousBatch batch = SuspiciousOnPrem.runBatch(
+                ENTERPRISE_DATA_FILE_REL_PATH, ips, System.out);
+        assertEquals(ips.size(), batch.size());
+    }
+
+    @Test
+    public void suspiciousOnPremRulesTest() throws Exception {
+        assumeTrue("Skipping test, no IP Intelligence data file found",
+                dataFileAvailable());
+        SuspiciousOnPrem.runRules(ENTERPRISE_DATA_FILE_REL_PATH,
+                getFilePath("suspicious-rules.json").toPath(),
+                EvidenceHelper.setUpEvidence(), System.out);
+    }
+
+    @Test
+    public void suspiciousOnPremBurstsTest() throws Exception {
+        assumeTrue("Skipping test, no IP Intelligence data file found",
+                dataFileAvailable());
+        List<BurstDetector.Alert> alerts = SuspiciousOnPrem.runBursts(
+                ENTERPRISE_DATA_FILE_REL_PATH, EvidenceHelper.setUpEvidence(),
+                100, 50, System.out);
+        // Each range or ASN raises at most one alert in the window.
+        Set<String> keys = new HashSet<>();
+        for (BurstDetector.Alert alert : alerts) {
+            assertTrue(keys.add(alert.getType() + " " + alert.getKey()));
+        }
+    }
+
     static boolean dataFileAvailable() {
         try {
             DataFileHelper.getDataFileLocation(ENTERPRISE_DATA_FILE_REL_PATH);
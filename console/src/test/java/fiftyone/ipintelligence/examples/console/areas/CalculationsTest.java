@@ -25,8 +25,11 @@ package fiftyone.ipintelligence.examples.console.areas;
 import org.junit.Test;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Polygon;
 
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -110,6 +113,32 @@ public class CalculationsTest {
                 false, result2.getContains());
     }
 
+    @Test
+    public void testParallelLargePolygon() throws Exception {
+        // Covers 400 grid rectangles so the parallel calculation splits them.
+        Polygon polygon = createRectangle(40, 50, 20);
+        Result serial = Calculations.getAreas(polygon, 60, 50);
+        Result parallel = Calculations.getAreas(
+                polygon, 60, 50, ForkJoinPool.commonPool());
+        assertEquals(serial.getSquareKms(), parallel.getSquareKms(), 1);
+        assertEquals(serial.getGeometries(), parallel.getGeometries());
+        assertEquals(serial.getContains(), parallel.getContains());
+    }
+
+    @Test
+    public void testParallelMultiPolygon() throws Exception {
+        Polygon[] polygons = new Polygon[40];
+        for (int i = 0; i < polygons.length; i++) {
+            polygons[i] = createRectangle(-170 + i * 8, -40 + i, 3.5);
+        }
+        MultiPolygon multiPolygon = factory.createMultiPolygon(polygons);
+        Result serial = Calculations.getAreas(multiPolygon, 0, 0);
+        Result parallel = Calculations.getAreas(
+                multiPolygon, 0, 0, ForkJoinPool.commonPool());
+        assertEquals(serial.getSquareKms(), parallel.getSquareKms(), 1);
+        assertEquals(40, parallel.getGeometries());
+    }
+
     private static Polygon createRectangle(double x, double y, double d) {
         return factory.createPolygon(new Coordinate[]{
                 new Coordinate(x, y),
@@ -0,0 +1,73 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.areas;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class WkbCacheTest {
+
+    private static final String WKT = "MULTIPOLYGON (((0 51, 1 51, 1 52, " +
+            "0 52, 0 51)), ((2 51, 3 51, 3 52, 2 52, 2 51)))";
+
+    @Test
+    public void testSameResultAsWkt() throws Exception {
+        WkbCache cache = new WkbCache();
+        Result fromWkt = Calculations.getAreas(WKT, 51.5, 0.5);
+        Result fromWkb = Calculations.getAreas(
+                cache.getGeometry(WKT), 51.5, 0.5);
+        assertEquals(fromWkt.getSquareKms(), fromWkb.getSquareKms());
+        assertEquals(fromWkt.getGeometries(), fromWkb.getGeometries());
+        assertEquals(fromWkt.getContains(), fromWkb.getContains());
+    }
+
+    @Test
+    public void testParsedOnce() throws Exception {
+        WkbCache cache = new WkbCache();
+        byte[] first = cache.getWkb(WKT);
+        byte[] second = cache.getWkb(WKT);
+        assertSame(first, second);
+        assertEquals(1, cache.size());
+        assertEquals(WkbCache.sizeOf(WKT, first), cache.getBytes());
+    }
+
+    @Test
+    public void testLimitIncludesKey() throws Exception {
+        byte[] wkb = new WkbCache().getWkb(WKT);
+        // Room for the WKB but not the WKT key as well.
+        WkbCache cache = new WkbCache(wkb.length);
+        cache.getWkb(WKT);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getBytes());
+    }
+
+    @Test
+    public void testLimit() throws Exception {
+        WkbCache cache = new WkbCache(1);
+        cache.getWkb(WKT);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getBytes());
+    }
+}
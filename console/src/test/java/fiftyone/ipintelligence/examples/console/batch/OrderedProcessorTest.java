@@ -0,0 +1,140 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.batch;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OrderedProcessorTest {
+
+    @Test
+    public void testOrderPreserved() throws Exception {
+        Random random = new Random(0);
+        List<Integer> results = new ArrayList<>();
+        long count = new OrderedProcessor<Integer, Integer>(4, 8).run(
+                IntStream.range(0, 1000).iterator(),
+                item -> {
+                    // Vary the processing time so results complete out of
+                    // order.
+                    Thread.sleep(random.nextInt(2));
+                    return item * 2;
+                },
+                (sequence, result) -> {
+                    assertEquals(sequence * 2, (long) result);
+                    results.add(result);
+                });
+        assertEquals(1000, count);
+        assertEquals(1000, results.size());
+    }
+
+    @Test
+    public void testWindowBounded() throws Exception {
+        int window = 4;
+        AtomicInteger read = new AtomicInteger();
+        AtomicInteger consumed = new AtomicInteger();
+        Iterator<Integer> source = new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return read.get() < 200;
+            }
+
+            @Override
+            public Integer next() {
+                // The reader can be at most the window plus the item being
+                // consumed ahead of the sink.
+                assertTrue(read.get() - consumed.get() <= window + 1);
+                return read.getAndIncrement();
+            }
+        };
+        new OrderedProcessor<Integer, Integer>(2, window).run(
+                source,
+                item -> item,
+                (sequence, result) -> consumed.incrementAndGet());
+        assertEquals(200, consumed.get());
+    }
+
+    @Test
+    public void testTaskExceptionSurfaced() throws Exception {
+        try {
+            new OrderedProcessor<Integer, Integer>(2, 4).run(
+                    IntStream.range(0, 100).iterator(),
+                    item -> {
+                        if (item == 50) {
+                            throw new IllegalStateException("failed " + item);
+                        }
+                        return item;
+                    },
+                    (sequence, result) -> { });
+            fail("The exception from the task should be thrown");
+        } catch (IllegalStateException e) {
+            assertEquals("failed 50", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testReaderEndsAfterSinkException() throws Exception {
+        AtomicReference<Thread> reader = new AtomicReference<>();
+        Iterator<Integer> items = IntStream.range(0, 1000).iterator();
+        Iterator<Integer> source = new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                reader.set(Thread.currentThread());
+                return items.hasNext();
+            }
+
+            @Override
+            public Integer next() {
+                return items.next();
+            }
+        };
+        try {
+            new OrderedProcessor<Integer, Integer>(2, 4).run(
+                    source,
+                    item -> item,
+                    (sequence, result) -> {
+                        // Let the reader fill the window and block first.
+                        Thread.sleep(300);
+                        throw new IllegalStateException("sink failed");
+                    });
+            fail("The exception from the sink should be thrown");
+        } catch (IllegalStateException e) {
+            assertEquals("sink failed", e.getMessage());
+        }
+        reader.get().join(5000);
+        assertFalse("The reader thread should have ended",
+                reader.get().isAlive());
+        assertTrue(reader.get().isDaemon());
+    }
+}
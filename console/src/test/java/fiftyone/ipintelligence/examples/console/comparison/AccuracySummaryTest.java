@@ -0,0 +1,129 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.comparison;
+
+import org.junit.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AccuracySummaryTest {
+
+    /**
+     * Check that the quantiles are within the relative accuracy of the exact
+     * values for a skewed distribution similar to location errors.
+     */
+    @Test
+    public void testQuantileAccuracy() {
+        QuantileSketch sketch = new QuantileSketch(0.01);
+        Random random = new Random(0);
+        double[] values = new double[100000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextGaussian() * 2 + 3);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+        for (double quantile : new double[]{0.01, 0.5, 0.9, 0.99}) {
+            double expected = values[(int) (quantile * (values.length - 1))];
+            double actual = sketch.getQuantile(quantile);
+            assertEquals("Quantile " + quantile,
+                    expected, actual, expected * 0.01 + 1e-9);
+        }
+        assertEquals(values[0], sketch.getQuantile(0), 0);
+        assertEquals(values[values.length - 1], sketch.getQuantile(1), 0);
+    }
+
+    /**
+     * Check that merging two sketches gives the same result as adding all
+     * the values to one.
+     */
+    @Test
+    public void testMerge() {
+        QuantileSketch all = new QuantileSketch();
+        QuantileSketch first = new QuantileSketch();
+        QuantileSketch second = new QuantileSketch();
+        for (int i = 0; i < 1000; i++) {
+            all.add(i);
+            (i % 2 == 0 ? first : second).add(i * 1000.0 % 1001);
+            all.add(i * 1000.0 % 1001);
+        }
+        for (int i = 0; i < 1000; i++) {
+            first.add(i);
+        }
+        first.merge(second);
+        assertEquals(all.getCount(), first.getCount());
+        assertEquals(all.getMean(), first.getMean(), 1e-9);
+        for (double quantile : new double[]{0, 0.25, 0.5, 0.75, 1}) {
+            assertEquals(all.getQuantile(quantile),
+                    first.getQuantile(quantile), 0);
+        }
+    }
+
+    /**
+     * Check that rows are counted in the overall group and the group for
+     * each dimension, and that the report has a line per group.
+     */
+    @Test
+    public void testGroups() {
+        AccuracySummary summary = new AccuracySummary();
+        summary.add("High", "Europe", "InterNetwork", 0, 100, true);
+        summary.add("High", "Europe", "InterNetworkV6", 10, 200, true);
+        summary.add("Low", "Asia", "InterNetwork", 1000, 5000, false);
+        summary.add(null, "Asia", "InterNetwork", 50, 300, true);
+
+        AccuracySummary.Group all = summary.getGroup(
+                AccuracySummary.ALL, AccuracySummary.ALL);
+        assertEquals(4, all.getCount());
+        assertEquals(3, all.getContains());
+        assertEquals(0.75, all.getContainsRate(), 0);
+        assertEquals(2, summary.getGroup(
+                AccuracySummary.LOCATION_CONFIDENCE, "High").getCount());
+        assertEquals(1, summary.getGroup(
+                AccuracySummary.LOCATION_CONFIDENCE, null).getCount());
+        assertEquals(1, summary.getGroup(
+                AccuracySummary.CONTINENT, "Asia").getContains());
+        assertEquals(3, summary.getGroup(
+                AccuracySummary.ADDRESS_FAMILY, "InterNetwork").getCount());
+        assertNull(summary.getGroup(AccuracySummary.CONTINENT, "Africa"));
+
+        AccuracySummary other = new AccuracySummary();
+        other.add("High", "Africa", "InterNetwork", 5, 50, false);
+        summary.merge(other);
+        assertEquals(5, all.getCount());
+        assertEquals(1, summary.getGroup(
+                AccuracySummary.CONTINENT, "Africa").getCount());
+
+        StringWriter report = new StringWriter();
+        summary.write(new PrintWriter(report));
+        String[] lines = report.toString().split("\\R");
+        // Header, All, 3 confidences, 3 continents, 2 address families.
+        assertEquals(10, lines.length);
+        assertTrue(lines[0].startsWith("Dimension,Value,Records"));
+    }
+}
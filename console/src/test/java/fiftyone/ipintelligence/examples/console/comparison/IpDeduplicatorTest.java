@@ -0,0 +1,106 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.comparison;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IpDeduplicatorTest {
+
+    /**
+     * Check that the exact de-duplicator reports each address once,
+     * including equivalent forms of the same address, when it has to grow
+     * well beyond the initial size.
+     */
+    @Test
+    public void testExact() {
+        try (OffHeapIpSet set = new OffHeapIpSet(1)) {
+            for (int i = 0; i < 100000; i++) {
+                assertTrue(set.add(ipv4(i)));
+            }
+            for (int i = 0; i < 100000; i++) {
+                assertFalse(set.add(ipv4(i)));
+            }
+            assertTrue(set.add("::"));
+            assertFalse(set.add("0:0:0:0:0:0:0:0"));
+            assertTrue(set.add("2001:db8::1"));
+            assertFalse(set.add("2001:DB8:0:0:0:0:0:1"));
+            assertFalse(set.add("::ffff:0.0.0.1"));
+            assertTrue(set.add("not an ip"));
+            assertFalse(set.add("not an ip"));
+            assertEquals(100003, set.size());
+        }
+    }
+
+    /**
+     * Check that the bounded de-duplicator changes to a Bloom filter once
+     * the limit is passed, still reporting every address seen before the
+     * change as a duplicate.
+     */
+    @Test
+    public void testExactLimit() {
+        try (BoundedIpSet set = new BoundedIpSet(1000, 1, 0.01)) {
+            for (int i = 0; i < 1000; i++) {
+                assertTrue(set.add(ipv4(i)));
+            }
+            assertFalse(set.isApproximate());
+            assertTrue(set.add(ipv4(1000)));
+            assertTrue(set.isApproximate());
+            for (int i = 0; i <= 1000; i++) {
+                assertFalse(set.add(ipv4(i)));
+            }
+        }
+    }
+
+    /**
+     * Check that the Bloom filter never reports a seen address as new and
+     * that the false positive rate is close to the rate requested.
+     */
+    @Test
+    public void testApproximate() {
+        int count = 100000;
+        try (IpDeduplicator filter = IpDeduplicator.approximate(count, 0.01)) {
+            int falsePositives = 0;
+            for (int i = 0; i < count; i++) {
+                if (filter.add(ipv4(i)) == false) {
+                    falsePositives++;
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                assertFalse(filter.add(ipv4(i)));
+            }
+            // Fewer false positives occur while the filter is filling, so
+            // the observed rate should be well under the limit.
+            assertTrue("False positives " + falsePositives,
+                    falsePositives < count * 0.01);
+        }
+    }
+
+    private static String ipv4(int value) {
+        return ((value >>> 24) & 0xFF) + "." + ((value >>> 16) & 0xFF) + "." +
+                ((value >>> 8) & 0xFF) + "." + (value & 0xFF);
+    }
+}
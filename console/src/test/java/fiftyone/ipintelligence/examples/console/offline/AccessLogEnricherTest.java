@@ -0,0 +1,83 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.offline;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+
+public class AccessLogEnricherTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Check that every line is enriched with the values for its client IP
+     * address and written in order when the file is split into many small
+     * chunks, including CRLF line endings, tabs in values and a last line
+     * without a line break.
+     */
+    @Test
+    public void testEnrich() throws Exception {
+        StringBuilder log = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            String ip = "10.0." + (i / 256) + "." + (i % 256);
+            String line = ip + " - - [10/Oct/2026:13:55:36 +0000] " +
+                    "\"GET /" + i + " HTTP/1.1\" 200 2326";
+            log.append(line).append(i % 3 == 0 ? "\r\n" : "\n");
+            expected.append(line).append('\t').append(ip)
+                    .append('\t').append(i % 2 == 0 ? "-" : "odd value")
+                    .append('\n');
+        }
+        log.append("\n");
+        expected.append("\n");
+        log.append("::1 - - \"GET / HTTP/1.1\" 200 1");
+        expected.append("::1 - - \"GET / HTTP/1.1\" 200 1\t::1\todd value\n");
+
+        File file = folder.newFile("access.log");
+        Files.write(file.toPath(), log.toString().getBytes(StandardCharsets.UTF_8));
+
+        AccessLogEnricher enricher = new AccessLogEnricher(
+                ip -> new String[]{
+                        ip,
+                        ip.endsWith("1") || ip.endsWith("3") ||
+                        ip.endsWith("5") || ip.endsWith("7") ||
+                        ip.endsWith("9") ? "odd\tvalue" : null},
+                4,
+                100);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long lines = enricher.enrich(file.toPath(), output);
+
+        assertEquals(1001, lines);
+        assertEquals(expected.toString(),
+                new String(output.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
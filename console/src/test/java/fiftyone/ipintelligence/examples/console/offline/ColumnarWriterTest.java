@@ -0,0 +1,105 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.offline;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ColumnarWriterTest {
+
+    private static final String[] COLUMNS = {"ip", "country", "name"};
+
+    private static final String[] COUNTRIES = {"gb", "us", "de", null};
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Check that every column reads back the values written across several
+     * row groups, including a partial last group and null values.
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        File file = folder.newFile("output.col");
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            rows.add(new String[]{
+                    "10.0." + (i / 256) + "." + (i % 256),
+                    COUNTRIES[i % COUNTRIES.length],
+                    i % 7 == 0 ? null : "Network " + i});
+        }
+        try (ColumnarWriter writer = new ColumnarWriter(
+                new FileOutputStream(file), COLUMNS, 1000)) {
+            for (String[] row : rows) {
+                writer.write(row);
+            }
+            assertEquals(rows.size(), writer.getRowCount());
+        }
+
+        try (ColumnarReader reader = new ColumnarReader(file.toPath())) {
+            assertArrayEquals(COLUMNS, reader.getColumns());
+            assertEquals(rows.size(), reader.getRowCount());
+            for (int column = 0; column < COLUMNS.length; column++) {
+                List<String> values = reader.readColumn(COLUMNS[column]);
+                assertEquals(rows.size(), values.size());
+                for (int row = 0; row < rows.size(); row++) {
+                    assertEquals(rows.get(row)[column], values.get(row));
+                }
+            }
+        }
+    }
+
+    /**
+     * Check that a low cardinality column is dictionary encoded so the file
+     * is much smaller than the plain text values.
+     */
+    @Test
+    public void testDictionary() throws IOException {
+        File file = folder.newFile("countries.col");
+        int rows = 10000;
+        try (ColumnarWriter writer = new ColumnarWriter(
+                new FileOutputStream(file), new String[]{"country"},
+                ColumnarWriter.DEFAULT_ROW_GROUP_SIZE)) {
+            for (int i = 0; i < rows; i++) {
+                writer.write(new String[]{"United Kingdom"});
+            }
+        }
+        // One byte per row plus the header, dictionary and footer.
+        assertTrue("Size " + file.length(), file.length() < rows + 100);
+        try (ColumnarReader reader = new ColumnarReader(file.toPath())) {
+            assertEquals("United Kingdom",
+                    reader.readColumn("country").get(rows - 1));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.offline;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class DistinctIpBatchTest {
+
+    /**
+     * Check that each distinct IP address is looked up once, whichever
+     * evidence key and text form is used, and that the results are in the
+     * same order as the batch.
+     */
+    @Test
+    public void testDistinct() throws Exception {
+        List<Map<String, String>> batch = new ArrayList<>();
+        batch.add(evidence("server.client-ip", "192.168.0.1"));
+        batch.add(evidence("query.client-ip", "2001:db8::1"));
+        batch.add(evidence("query.client-ip", "192.168.0.1"));
+        batch.add(Collections.singletonMap("header.user-agent", "test"));
+        batch.add(evidence("server.client-ip", "2001:DB8:0:0:0:0:0:1"));
+        batch.add(evidence("server.client-ip", "::ffff:192.168.0.1"));
+        batch.add(Collections.singletonMap("header.user-agent", "test"));
+
+        List<String> looked = new ArrayList<>();
+        DistinctIpBatch<String> result = DistinctIpBatch.processWithStats(
+                batch,
+                evidence -> {
+                    String ip = DistinctIpBatch.ipOf(evidence);
+                    looked.add(ip);
+                    return "result " + looked.size();
+                });
+
+        // Two IP addresses plus the two records without an IP address.
+        assertEquals(4, result.getLookups());
+        assertEquals(4, looked.size());
+        List<String> results = result.getResults();
+        assertEquals(batch.size(), results.size());
+        assertSame(results.get(0), results.get(2));
+        assertSame(results.get(0), results.get(5));
+        assertSame(results.get(1), results.get(4));
+        assertNotSame(results.get(3), results.get(6));
+        assertEquals("result 1", results.get(0));
+        assertEquals("result 2", results.get(1));
+    }
+
+    private static Map<String, String> evidence(String key, String ip) {
+        Map<String, String> evidence = new HashMap<>();
+        evidence.put(key, ip);
+        return evidence;
+    }
+}
@@ -0,0 +1,63 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.offline;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertEquals;
+
+public class OutputFormatTest {
+
+    private static final String[] COLUMNS = {"server.client-ip", "ip.Name"};
+
+    @Test
+    public void testNdjson() throws IOException {
+        assertEquals(
+                "{\"server.client-ip\":\"1.2.3.4\",\"ip.Name\":\"A \\\"B\\\"\\n\"}\n" +
+                "{\"server.client-ip\":\"::1\",\"ip.Name\":null}\n",
+                write(new NdjsonFormat(COLUMNS)));
+    }
+
+    @Test
+    public void testCsv() throws IOException {
+        assertEquals(
+                "server.client-ip,ip.Name\n" +
+                "1.2.3.4,\"A \"\"B\"\"\n\"\n" +
+                "::1,\n",
+                write(new CsvFormat(COLUMNS)));
+    }
+
+    private static String write(OutputFormat format) throws IOException {
+        StringWriter writer = new StringWriter();
+        StringBuilder builder = new StringBuilder();
+        format.start(writer);
+        format.format(new String[]{"1.2.3.4", "A \"B\"\n"}, builder);
+        format.format(new String[]{"::1", null}, builder);
+        writer.write(builder.toString());
+        format.end(writer);
+        return writer.toString();
+    }
+}
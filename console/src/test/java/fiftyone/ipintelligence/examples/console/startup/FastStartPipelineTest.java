@@ -0,0 +1,63 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.startup;
+
+import org.junit.Test;
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FastStartPipelineTest {
+
+    @Test
+    public void testFailedLoadNotLive() throws Exception {
+        StartupTimer timer = new StartupTimer();
+        try (FastStartPipeline pipeline = new FastStartPipeline(
+                (dataFile, profile) -> {
+                    throw new IllegalStateException("no data file");
+                },
+                Paths.get("missing.ipi"),
+                timer)) {
+            assertFalse(pipeline.awaitReady(1, TimeUnit.MINUTES));
+            assertFalse(pipeline.awaitFullyLoaded(1, TimeUnit.MINUTES));
+            assertFalse(pipeline.isReady());
+            // the process should be restarted
+            assertFalse(pipeline.isLive());
+            assertNotNull(pipeline.getFailure());
+            assertTrue(timer.getMillis(FastStartPipeline.FIRST_PHASE) >= 0);
+            assertEquals(-1, timer.getMillis(FastStartPipeline.FULL_PHASE));
+            try {
+                pipeline.process("45.236.48.61", flowData -> null);
+                fail("Lookups should not be processed before ready");
+            } catch (IllegalStateException e) {
+                // expected
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.startup;
+
+import org.junit.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StartupTimerTest {
+
+    @Test
+    public void testPhasesRecorded() throws Exception {
+        StartupTimer timer = new StartupTimer();
+        assertEquals(42, (int) timer.time("First", () -> {
+            Thread.sleep(20);
+            return 42;
+        }));
+        timer.mark("Ready");
+
+        List<StartupTimer.Entry> entries = timer.getEntries();
+        assertEquals(2, entries.size());
+        assertEquals("First", entries.get(0).getName());
+        assertTrue(timer.getMillis("First") >= 20);
+        assertEquals(0, timer.getMillis("Ready"));
+        assertTrue(timer.getEndMillis("Ready") >= timer.getEndMillis("First"));
+        assertEquals(-1, timer.getMillis("Missing"));
+        assertEquals(-1, timer.getEndMillis("Missing"));
+    }
+
+    @Test
+    public void testFailedPhaseRecorded() {
+        StartupTimer timer = new StartupTimer();
+        try {
+            timer.time("Failing", () -> {
+                throw new IllegalStateException("failed");
+            });
+            fail("The exception from the phase should be thrown");
+        } catch (Exception e) {
+            assertEquals("failed", e.getMessage());
+        }
+        assertEquals(1, timer.getEntries().size());
+        assertEquals("Failing", timer.getEntries().get(0).getName());
+    }
+
+    @Test
+    public void testReport() throws Exception {
+        StartupTimer timer = new StartupTimer();
+        timer.time("A much longer phase name", () -> null);
+        timer.mark("Ready");
+        StringWriter output = new StringWriter();
+        timer.report(new PrintWriter(output));
+
+        String[] lines = output.toString().split("\\R");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("Phase "));
+        assertTrue(lines[1].startsWith("A much longer phase name "));
+        assertTrue(lines[2].startsWith("Ready "));
+        // columns line up with the longest name
+        assertEquals(lines[0].length(), lines[1].length());
+    }
+}
@@ -0,0 +1,147 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.suspicious;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BurstDetectorTest {
+
+    private final AtomicLong now = new AtomicLong(1000000);
+
+    private final List<BurstDetector.Alert> alerts = new ArrayList<>();
+
+    private BurstDetector detector(int capacity) {
+        return new BurstDetector.Builder()
+                .setWindow(10, TimeUnit.SECONDS)
+                .setBuckets(10)
+                .setRangeThreshold(100)
+                .setAsnThreshold(150)
+                .setCapacity(capacity)
+                .setClock(now::get)
+                .setListener(alerts::add)
+                .build();
+    }
+
+    @Test
+    public void testAlertOncePerWindow() {
+        BurstDetector detector = detector(100);
+        for (int i = 0; i < 99; i++) {
+            detector.record("10.0.0.0", "AS1");
+        }
+        assertTrue(alerts.isEmpty());
+
+        detector.record("10.0.0.0", "AS1");
+        assertEquals(1, alerts.size());
+        assertEquals(BurstDetector.Type.RANGE, alerts.get(0).getType());
+        assertEquals("10.0.0.0", alerts.get(0).getKey());
+        assertEquals(100, alerts.get(0).getCount());
+
+        // A second range in the same ASN takes it over its threshold.
+        for (int i = 0; i < 50; i++) {
+            detector.record("10.0.1.0", "AS1");
+        }
+        assertEquals(2, alerts.size());
+        assertEquals(BurstDetector.Type.ASN, alerts.get(1).getType());
+
+        // Still bursting but already alerted in this window.
+        for (int i = 0; i < 100; i++) {
+            detector.record("10.0.0.0", "AS1");
+        }
+        assertEquals(2, alerts.size());
+
+        // A new window, and a new burst.
+        now.addAndGet(TimeUnit.SECONDS.toMillis(11));
+        for (int i = 0; i < 100; i++) {
+            detector.record("10.0.0.0", null);
+        }
+        assertEquals(3, alerts.size());
+    }
+
+    @Test
+    public void testSlowTrafficDoesNotAlert() {
+        BurstDetector detector = detector(100);
+        // 100 requests spread over 20 seconds is only 50 in any window.
+        for (int i = 0; i < 100; i++) {
+            detector.record("10.0.0.0", null);
+            now.addAndGet(200);
+        }
+        assertTrue(alerts.isEmpty());
+    }
+
+    @Test
+    public void testBoundedHeavyHitters() {
+        BurstDetector detector = detector(10);
+        // Many ranges seen once, which must not displace the burst.
+        for (int i = 0; i < 1000; i++) {
+            detector.record("192.168." + (i / 256) + "." + (i % 256), null);
+            if (i % 10 == 0) {
+                detector.record("10.0.0.0", null);
+            }
+        }
+        List<Map.Entry<String, Long>> top =
+                detector.getTop(BurstDetector.Type.RANGE, 20);
+        assertTrue(top.size() <= 10);
+        assertEquals("10.0.0.0", top.get(0).getKey());
+        assertEquals(100, (long) top.get(0).getValue());
+        assertEquals(1, alerts.size());
+    }
+
+    @Test
+    public void testAdmissionIgnoresPreviousWindow() {
+        BurstDetector detector = detector(1);
+        detector.record("10.0.0.0", null);
+        // Not enough to be admitted in this window.
+        for (int i = 0; i < 24; i++) {
+            detector.record("10.0.0.1", null);
+        }
+        now.addAndGet(TimeUnit.SECONDS.toMillis(10));
+        // Admitted on the estimate over both windows, but only the count in
+        // the current window is carried into the sliding window.
+        detector.record("10.0.0.1", null);
+        List<Map.Entry<String, Long>> top =
+                detector.getTop(BurstDetector.Type.RANGE, 10);
+        assertEquals(1, top.size());
+        assertEquals("10.0.0.1", top.get(0).getKey());
+        assertEquals(1, (long) top.get(0).getValue());
+    }
+
+    @Test
+    public void testRangeKeyIsAddressLiteral() throws Exception {
+        assertEquals("1.2.3.4",
+                BurstDetector.rangeKey(InetAddress.getByName("1.2.3.4")));
+        assertEquals("1.2.3.4", BurstDetector.rangeKey(InetAddress.getByAddress(
+                "host", new byte[]{1, 2, 3, 4})));
+        assertNull(BurstDetector.rangeKey(null));
+    }
+}
@@ -0,0 +1,153 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.suspicious;
+
+import org.junit.Test;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RuleSetTest {
+
+    @Test
+    public void testDefaultRulesMatchExample() throws Exception {
+        RuleSet rules;
+        try (Reader reader = new InputStreamReader(
+                getClass().getResourceAsStream("/suspicious-rules.json"),
+                StandardCharsets.UTF_8)) {
+            rules = RuleSet.parse(reader);
+        }
+
+        // The same cases as SuspiciousBatchTest.
+        assertFalse(rules.isSuspicious(values(
+                false, 3, 3, "High", false, "gb", "gb")));
+        assertTrue(rules.isSuspicious(values(
+                false, 8, 8, "Low", false, "gb", "gb")));
+        assertFalse(rules.isSuspicious(values(
+                true, 8, 8, "Low", false, "gb", "gb")));
+        assertTrue(rules.isSuspicious(values(
+                false, 1, 1, "High", true, "fr", "gb")));
+        assertTrue(rules.isSuspicious(values(
+                false, 1, 1, "High", true, "fr", null)));
+        assertFalse(rules.isSuspicious(values(
+                false, 1, 1, "High", true, "Unknown", "gb")));
+        assertFalse(rules.isSuspicious(values(
+                false, 1, 1, "High", true, null, "gb")));
+        assertTrue(rules.isSuspicious(values(
+                false, 1, 4, "High", false, "gb", "gb")));
+        assertFalse(rules.isSuspicious(values(
+                null, null, null, null, null, null, null)));
+        assertEquals(new HashSet<>(Arrays.asList(
+                "IsCellular", "HardwareDiversity", "BrowserDiversity",
+                "LocationConfidence", "IsHosted", "CountryCode",
+                "RegisteredCountry")),
+                new HashSet<>(rules.getProperties()));
+    }
+
+    @Test
+    public void testShortCircuit() {
+        RuleSet rules = RuleSet.parse("{\"rules\": [{\"name\": \"r\", \"all\": [" +
+                "{\"property\": \"A\", \"op\": \"==\", \"value\": \"x\", \"probability\": 0.01}," +
+                "{\"property\": \"B\", \"op\": \">\", \"value\": 1}]}]}");
+        Set<String> fetched = new HashSet<>();
+        boolean result = rules.isSuspicious(property -> {
+            fetched.add(property);
+            return "A".equals(property) ? "y" : 2;
+        });
+        assertFalse(result);
+        // A is least likely to be true so is evaluated first, and B is
+        // never fetched.
+        assertEquals(new HashSet<>(Arrays.asList("A")), fetched);
+    }
+
+    @Test
+    public void testScoreAndThreshold() {
+        RuleSet rules = RuleSet.parse(
+                "threshold: 3\n" +
+                "rules:\n" +
+                "  - {name: one, score: 1, property: A, op: '>', value: 0}\n" +
+                "  - {name: two, score: 2, property: B, op: '<=', value: 5}\n" +
+                "  - {name: never, score: 1, not: {property: A, op: '>', value: 0}}\n");
+        Map<String, Object> values = new HashMap<>();
+        values.put("A", 1);
+        values.put("B", "5");
+        assertEquals(3, rules.score(values::get), 0);
+        assertTrue(rules.isSuspicious(values::get));
+        assertEquals(new HashSet<>(Arrays.asList("one", "two")),
+                new HashSet<>(rules.matches(values::get)));
+
+        values.put("B", 6);
+        assertEquals(1, rules.score(values::get), 0);
+        assertFalse(rules.isSuspicious(values::get));
+    }
+
+    @Test
+    public void testInvalidRules() {
+        assertInvalid("{\"rules\": [{\"name\": \"r\", " +
+                "\"property\": \"A\", \"op\": \"=~\", \"value\": 1}]}");
+        assertInvalid("{\"rules\": [{\"name\": \"r\", \"score\": 0, " +
+                "\"property\": \"A\", \"op\": \"==\", \"value\": 1}]}");
+        assertInvalid("{\"rules\": [{\"name\": \"r\", " +
+                "\"property\": \"A\", \"op\": \">\", \"value\": \"x\"}]}");
+        assertInvalid("{\"rules\": [{\"name\": \"r\", \"all\": []}]}");
+        assertInvalid("{not json");
+    }
+
+    private static void assertInvalid(String rules) {
+        try {
+            RuleSet.parse(rules);
+            fail("Rules should not be valid: " + rules);
+        } catch (IllegalArgumentException e) {
+            // Expected.
+        }
+    }
+
+    private static RuleSet.Source values(Boolean isCellular,
+                                         Integer hardwareDiversity,
+                                         Integer browserDiversity,
+                                         String locationConfidence,
+                                         Boolean isHosted,
+                                         String country,
+                                         String registeredCountry) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("IsCellular", isCellular);
+        values.put("HardwareDiversity", hardwareDiversity);
+        values.put("BrowserDiversity", browserDiversity);
+        values.put("LocationConfidence", locationConfidence);
+        values.put("IsHosted", isHosted);
+        values.put("CountryCode", country);
+        values.put("RegisteredCountry", registeredCountry);
+        return values::get;
+    }
+}
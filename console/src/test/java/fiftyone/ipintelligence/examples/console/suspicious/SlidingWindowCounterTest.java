@@ -0,0 +1,68 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.suspicious;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SlidingWindowCounterTest {
+
+    @Test
+    public void testSlides() {
+        // Ten buckets of 100ms.
+        SlidingWindowCounter counter = new SlidingWindowCounter(1000, 10);
+        counter.increment(0);
+        counter.add(150, 2);
+        counter.add(950, 3);
+        assertEquals(6, counter.sum(999));
+        // The first bucket has left the window.
+        assertEquals(5, counter.sum(1000));
+        // Reusing a bucket for a new period resets it.
+        counter.increment(1010);
+        assertEquals(6, counter.sum(1010));
+        assertEquals(4, counter.sum(1100));
+        assertEquals(0, counter.sum(5000));
+    }
+
+    @Test
+    public void testConcurrentIncrements() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1000, 10);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    counter.increment(500);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(40000, counter.sum(500));
+    }
+}
@@ -0,0 +1,80 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.suspicious;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SuspiciousBatchTest {
+
+    @Test
+    public void testEvaluate() {
+        SuspiciousBatch batch = new SuspiciousBatch(new String[]{
+                "1.1.1.1", "2.2.2.2", "3.3.3.3", "4.4.4.4",
+                "5.5.5.5", "6.6.6.6", "7.7.7.7", "8.8.8.8"});
+        // Nothing unusual.
+        batch.set(0, false, 3, 3, "High", false, "gb", "gb", 90);
+        // High hardware diversity with low location confidence.
+        batch.set(1, false, 8, 8, "Low", false, "gb", "gb", 90);
+        // As above but cellular, which is expected.
+        batch.set(2, true, 8, 8, "Low", false, "gb", "gb", 90);
+        // Hosted in a different country to the registered one.
+        batch.set(3, false, 1, 1, "High", true, "fr", "gb", 10);
+        // Hosted but the country is unknown.
+        batch.set(4, false, 1, 1, "High", true, "Unknown", "gb", 10);
+        // Hosted but the country has no value.
+        batch.set(5, false, 1, 1, "High", true, null, "gb", 10);
+        // More browsers than the hardware explains.
+        batch.set(6, false, 1, 4, "High", false, "gb", "gb", 50);
+        // No values at all.
+        batch.set(7, null, null, null, null, null, null, null, null);
+
+        boolean[] result = batch.evaluate();
+
+        assertFalse(result[0]);
+        assertTrue(result[1]);
+        assertFalse(result[2]);
+        assertTrue(result[3]);
+        assertFalse(result[4]);
+        assertFalse(result[5]);
+        assertTrue(result[6]);
+        assertFalse(result[7]);
+        assertEquals(3, batch.getSuspiciousCount());
+        assertTrue(batch.isSuspicious(3));
+        assertEquals("4.4.4.4", batch.getIp(3));
+    }
+
+    @Test
+    public void testCountryCodes() {
+        assertEquals(SuspiciousBatch.NO_VALUE, SuspiciousBatch.countryCode(null));
+        assertEquals(SuspiciousBatch.UNKNOWN, SuspiciousBatch.countryCode("Unknown"));
+        assertEquals(
+                SuspiciousBatch.countryCode("gb"),
+                SuspiciousBatch.countryCode("gb"));
+        assertTrue(SuspiciousBatch.countryCode("gb") !=
+                SuspiciousBatch.countryCode("fr"));
+    }
+}
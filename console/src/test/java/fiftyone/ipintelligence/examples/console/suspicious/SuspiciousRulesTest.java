@@ -0,0 +1,91 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.suspicious;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SuspiciousRulesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReload() throws Exception {
+        Path file = folder.newFile("rules.json").toPath();
+        write(file, "A", 1000);
+        try (SuspiciousRules rules = new SuspiciousRules(file)) {
+            RuleSet first = rules.getRules();
+            assertEquals(Collections.singletonList("A"), first.getProperties());
+
+            // Unchanged so not reloaded.
+            assertFalse(rules.reloadIfModified());
+            assertSame(first, rules.getRules());
+
+            write(file, "B", 2000);
+            assertTrue(rules.reloadIfModified());
+            assertEquals(Collections.singletonList("B"),
+                    rules.getRules().getProperties());
+        }
+    }
+
+    @Test
+    public void testInvalidReloadKeepsRules() throws Exception {
+        Path file = folder.newFile("rules.json").toPath();
+        write(file, "A", 1000);
+        try (SuspiciousRules rules = new SuspiciousRules(file)) {
+            RuleSet first = rules.getRules();
+            Files.write(file, "{\"rules\": [{\"name\": \"bad\"}]}"
+                    .getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(file, FileTime.fromMillis(2000));
+            try {
+                rules.reloadIfModified();
+                fail("Invalid rules should not load");
+            } catch (IllegalArgumentException e) {
+                // Expected.
+            }
+            assertSame(first, rules.getRules());
+        }
+    }
+
+    private static void write(Path file, String property, long modified)
+            throws Exception {
+        Files.write(file, ("{\"rules\": [{\"name\": \"r\", \"property\": \"" +
+                property + "\", \"op\": \">\", \"value\": 1}]}")
+                .getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified));
+    }
+}
@@ -0,0 +1,138 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.update;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class DirectoryLeaseLockTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testExclusive() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        try (DirectoryLeaseLock a = new DirectoryLeaseLock(directory, "a");
+             DirectoryLeaseLock b = new DirectoryLeaseLock(directory, "b")) {
+            UpdateLock.Lease lease = a.tryAcquire("reload-0");
+            assertNotNull(lease);
+            assertNull(b.tryAcquire("reload-0"));
+            assertNotNull("Other names should be independent",
+                    b.tryAcquire("reload-1"));
+            lease.close();
+            assertNotNull(b.tryAcquire("reload-0"));
+        }
+    }
+
+    @Test
+    public void testExpired() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        // a lease left by a node which died
+        Path file = directory.resolve("reload-0.lease");
+        Files.write(file, "dead".getBytes());
+        Files.setLastModifiedTime(file,
+                FileTime.fromMillis(System.currentTimeMillis() - 60000));
+        try (DirectoryLeaseLock b = new DirectoryLeaseLock(directory, "b", 1000)) {
+            UpdateLock.Lease lease = b.tryAcquire("reload-0");
+            assertNotNull("An expired lease should be taken", lease);
+            lease.close();
+            assertFalse(Files.exists(file));
+        }
+    }
+
+    @Test
+    public void testRenewed() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        try (DirectoryLeaseLock a = new DirectoryLeaseLock(directory, "a", 300);
+             DirectoryLeaseLock b = new DirectoryLeaseLock(directory, "b", 300)) {
+            UpdateLock.Lease lease = a.tryAcquire("download");
+            assertNotNull(lease);
+            // longer than the time to live, so only held if renewed
+            Thread.sleep(900);
+            assertNull(b.tryAcquire("download"));
+            lease.close();
+            assertFalse(Files.exists(directory.resolve("download.lease")));
+        }
+    }
+
+    @Test
+    public void testConcurrentTakeover() throws Exception {
+        Path directory = folder.getRoot().toPath();
+        Path file = directory.resolve("reload-0.lease");
+        int nodes = 8;
+        List<DirectoryLeaseLock> locks = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(nodes);
+        try {
+            for (int i = 0; i < nodes; i++) {
+                locks.add(new DirectoryLeaseLock(directory, "node" + i, 60000));
+            }
+            for (int round = 0; round < 50; round++) {
+                // a lease left by a node which died
+                Files.write(file, "dead".getBytes());
+                Files.setLastModifiedTime(file,
+                        FileTime.fromMillis(System.currentTimeMillis() - 120000));
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<UpdateLock.Lease>> futures = new ArrayList<>();
+                for (DirectoryLeaseLock lock : locks) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        return lock.tryAcquire("reload-0");
+                    }));
+                }
+                start.countDown();
+                List<UpdateLock.Lease> held = new ArrayList<>();
+                for (Future<UpdateLock.Lease> future : futures) {
+                    if (future.get() != null) {
+                        held.add(future.get());
+                    }
+                }
+                assertEquals("Only one node may take the expired lease",
+                        1, held.size());
+                held.get(0).close();
+                assertFalse(Files.exists(file));
+            }
+        } finally {
+            executor.shutdownNow();
+            for (DirectoryLeaseLock lock : locks) {
+                lock.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.update;
+
+import fiftyone.ipintelligence.IPIntelligencePipelineBuilder;
+import fiftyone.ipintelligence.examples.shared.DataFileHelper;
+import fiftyone.ipintelligence.shared.IPIntelligenceData;
+import fiftyone.pipeline.engines.Constants;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static fiftyone.ipintelligence.examples.shared.DataFileHelper.ENTERPRISE_DATA_FILE_REL_PATH;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class HotSwapPipelineTest {
+
+    @Test
+    public void testSwapDuringLookups() throws Exception {
+        String dataFile;
+        try {
+            dataFile = DataFileHelper.getDataFileLocation(ENTERPRISE_DATA_FILE_REL_PATH);
+        } catch (Exception e) {
+            dataFile = null;
+        }
+        assumeTrue("Skipping test, no IP Intelligence data file found",
+                dataFile != null);
+
+        HotSwapPipeline.Factory factory = location -> new IPIntelligencePipelineBuilder()
+                .useOnPremise(location, true)
+                .setPerformanceProfile(Constants.PerformanceProfiles.MaxPerformance)
+                .setShareUsage(false)
+                .setAutoUpdate(false)
+                .setDataUpdateOnStartup(false)
+                .setDataFileSystemWatcher(false)
+                .build();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (HotSwapPipeline pipeline = new HotSwapPipeline(
+                factory, Paths.get(dataFile), 100)) {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    long lookups = 0;
+                    while (running.get()) {
+                        // Every lookup must succeed, including those which
+                        // started on a pipeline which has been swapped out.
+                        assertTrue(pipeline.process("45.236.48.61",
+                                flowData -> flowData.get(IPIntelligenceData.class) != null));
+                        lookups++;
+                    }
+                    return lookups;
+                }));
+            }
+
+            pipeline.swap();
+            pipeline.swap();
+            running.set(false);
+
+            for (Future<Long> future : futures) {
+                assertTrue(future.get() > 0);
+            }
+            assertEquals(2, pipeline.getSwaps());
+            // The file has not changed since the last swap.
+            assertFalse(pipeline.swapIfModified());
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.console.update;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class UpdateCoordinatorTest {
+
+    private static final long OLD = 1_600_000_000_000L;
+    private static final long NEW = 1_700_000_000_000L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Writes a data file, which is not a real one so it is dated by its
+     * modified time.
+     */
+    private static void write(Path file, String content, long modified) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified));
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A source with a data file published at {@link #NEW}, counting fetches.
+     */
+    private static UpdateCoordinator.Source source(AtomicInteger fetches) {
+        return (target, ifModifiedSince) -> {
+            fetches.incrementAndGet();
+            if (ifModifiedSince >= NEW) {
+                return false;
+            }
+            write(target, "new", NEW);
+            return true;
+        };
+    }
+
+    private UpdateCoordinator.Builder builder() throws IOException {
+        return new UpdateCoordinator.Builder(
+                new FileUpdateLock(folder.getRoot().toPath().resolve("locks")))
+                .setRetryInterval(10, TimeUnit.MILLISECONDS)
+                .setTimeout(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testUpdate() throws Exception {
+        Path dataFile = folder.getRoot().toPath().resolve("node/data.ipi");
+        write(dataFile, "old", OLD);
+        AtomicInteger reloads = new AtomicInteger();
+        UpdateCoordinator coordinator = builder().build();
+
+        assertTrue(coordinator.update(dataFile, source(new AtomicInteger()),
+                path -> reloads.incrementAndGet()));
+        assertEquals("new", read(dataFile));
+        assertEquals(1, reloads.get());
+        assertEquals(1, coordinator.getReloads());
+        assertFalse("The staged file should be removed",
+                Files.exists(dataFile.resolveSibling("data.ipi.staged")));
+
+        assertFalse("There should be nothing newer to update to",
+                coordinator.update(dataFile, source(new AtomicInteger()),
+                        path -> reloads.incrementAndGet()));
+        assertEquals(1, reloads.get());
+    }
+
+    @Test
+    public void testSharedCache() throws Exception {
+        Path cache = folder.getRoot().toPath().resolve("cache");
+        AtomicInteger fetches = new AtomicInteger();
+        for (String node : new String[]{"a", "b", "c"}) {
+            Path dataFile = folder.getRoot().toPath().resolve(node + "/data.ipi");
+            write(dataFile, "old", OLD);
+            UpdateCoordinator coordinator = builder().setCacheDirectory(cache).build();
+            assertTrue(coordinator.update(dataFile, source(fetches), path -> { }));
+            assertEquals("new", read(dataFile));
+        }
+        assertEquals("Only the first node should download", 1, fetches.get());
+    }
+
+    @Test
+    public void testMaxConcurrentReloads() throws Exception {
+        int nodes = 6;
+        AtomicInteger reloading = new AtomicInteger();
+        AtomicInteger maxReloading = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(nodes);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < nodes; i++) {
+                Path dataFile = folder.getRoot().toPath().resolve(i + "/data.ipi");
+                write(dataFile, "old", OLD);
+                UpdateCoordinator coordinator = builder()
+                        .setMaxConcurrentReloads(2)
+                        .build();
+                futures.add(executor.submit(() -> coordinator.update(
+                        dataFile, source(new AtomicInteger()), path -> {
+                            int now = reloading.incrementAndGet();
+                            maxReloading.accumulateAndGet(now, Math::max);
+                            Thread.sleep(100);
+                            reloading.decrementAndGet();
+                        })));
+            }
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue("No more than 2 nodes should reload at once, was " +
+                maxReloading.get(), maxReloading.get() <= 2);
+    }
+
+    @Test
+    public void testSlotTimeout() throws Exception {
+        Path locks = folder.getRoot().toPath().resolve("locks");
+        Path dataFile = folder.getRoot().toPath().resolve("node/data.ipi");
+        write(dataFile, "old", OLD);
+        UpdateCoordinator coordinator = builder()
+                .setTimeout(50, TimeUnit.MILLISECONDS)
+                .build();
+        try (UpdateLock.Lease held = new FileUpdateLock(locks)
+                .tryAcquire(UpdateCoordinator.RELOAD_LOCK_PREFIX + 0)) {
+            coordinator.update(dataFile, source(new AtomicInteger()), path -> { });
+            fail("The update should time out waiting for a slot");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("reload slot"));
+        }
+        assertEquals("The data file should be unchanged", "old", read(dataFile));
+        assertFalse(Files.exists(dataFile.resolveSibling("data.ipi.staged")));
+    }
+}
@@ -0,0 +1,72 @@
+#!/usr/bin/env bash
+# This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+# Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+# Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+#
+# This Original Work is licensed under the European Union Public Licence
+# (EUPL) v.1.2 and is subject to its terms as set out below.
+#
+# If a copy of the EUPL was not distributed with this file, You can obtain
+# one at https://opensource.org/licenses/EUPL-1.2.
+#
+# The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+# amended by the European Commission) shall be deemed incompatible for
+# the purposes of the Work and the provisions of the compatibility
+# clause in Article 5 of the EUPL shall not apply.
+#
+# If using the Work as, or as part of, a network application, by
+# including the attribution notice(s) required under Article 5 of the EUPL
+# in the end user terms of the application under an appropriate heading,
+# such notice(s) shall fulfill the requirements of that article.
+
+# Measures the effect of the class data sharing archive generated by the
+# appcds Maven profile on the console examples. The StartupOnPrem example is
+# run several times in new processes with class data sharing off, with the
+# default JDK archive only, and with the application archive. The median
+# time for the whole process and the median time to the first lookup, as
+# reported by the example, are printed for each. For example:
+#
+#   mvn package -Pappcds -pl console -am
+#   scripts/measure-cds.sh 10 ip-intelligence-data/51Degrees-EnterpriseIpiV41.ipi
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+DATA_FILE="${2:-ip-intelligence-data/51Degrees-EnterpriseIpiV41.ipi}"
+MAIN=fiftyone.ipintelligence.examples.console.StartupOnPrem
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd -P)"
+TARGET="$ROOT/console/target"
+JAR="$(ls "$TARGET"/*-jar-with-dependencies.jar 2>/dev/null | head -n 1 || true)"
+ARCHIVE="$(ls "$TARGET"/*.jsa 2>/dev/null | head -n 1 || true)"
+if [ -z "$JAR" ] || [ -z "$ARCHIVE" ]; then
+    echo "Run mvn package -Pappcds -pl console -am first" >&2
+    exit 1
+fi
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+measure() {
+    local name="$1"
+    shift
+    local totals=() firsts=()
+    for ((i = 0; i < RUNS; i++)); do
+        local start end output
+        start=$(date +%s%N)
+        output=$(java "$@" -cp "$JAR" "$MAIN" "$DATA_FILE" 2>/dev/null)
+        end=$(date +%s%N)
+        totals+=($(((end - start) / 1000000)))
+        firsts+=("$(echo "$output" | sed -n 's/^Ready to serve after \([0-9]*\)ms$/\1/p')")
+    done
+    printf "%-20s %10s %14s\n" "$name" \
+        "$(printf "%s\n" "${totals[@]}" | median)" \
+        "$(printf "%s\n" "${firsts[@]}" | median)"
+}
+
+printf "Median of %d runs of %s, in milliseconds\n" "$RUNS" "$MAIN"
+printf "%-20s %10s %14s\n" "Class data sharing" "Process" "First lookup"
+measure "Off" -Xshare:off
+measure "JDK archive" -Xshare:auto
+measure "Application archive" "-XX:SharedArchiveFile=$ARCHIVE"
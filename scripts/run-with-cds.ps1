@@ -0,0 +1,59 @@
+# This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+# Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+# Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+#
+# This Original Work is licensed under the European Union Public Licence
+# (EUPL) v.1.2 and is subject to its terms as set out below.
+#
+# If a copy of the EUPL was not distributed with this file, You can obtain
+# one at https://opensource.org/licenses/EUPL-1.2.
+#
+# The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+# amended by the European Commission) shall be deemed incompatible for
+# the purposes of the Work and the provisions of the compatibility
+# clause in Article 5 of the EUPL shall not apply.
+#
+# If using the Work as, or as part of, a network application, by
+# including the attribution notice(s) required under Article 5 of the EUPL
+# in the end user terms of the application under an appropriate heading,
+# such notice(s) shall fulfill the requirements of that article.
+
+# Runs an example from the jar with dependencies of a module, using the
+# class data sharing archive generated by the appcds Maven profile when it
+# exists. See run-with-cds.sh. For example:
+#
+#   mvn package -Pappcds -pl console -am
+#   .\scripts\run-with-cds.ps1 -Module console `
+#       -MainClass fiftyone.ipintelligence.examples.console.OfflineProcessing
+
+param(
+    [Parameter(Mandatory)][string]$Module,
+    [Parameter(Mandatory)][string]$MainClass,
+    [Parameter(ValueFromRemainingArguments)][string[]]$Arguments = @()
+)
+
+$Root = (Resolve-Path ([IO.Path]::Combine($PSScriptRoot, ".."))).Path
+$Target = [IO.Path]::Combine($Root, $Module, "target")
+
+$Jar = Get-ChildItem -Path $Target -Filter "*-jar-with-dependencies.jar" -ErrorAction SilentlyContinue |
+    Select-Object -First 1
+if ($null -eq $Jar) {
+    Write-Error "No jar with dependencies in '$Target', run mvn package first"
+    exit 1
+}
+
+$JavaOptions = @()
+if ($env:JAVA_OPTS) {
+    $JavaOptions += $env:JAVA_OPTS -split " "
+}
+$Archive = Get-ChildItem -Path $Target -Filter "*.jsa" -ErrorAction SilentlyContinue |
+    Select-Object -First 1
+if ($null -ne $Archive) {
+    $JavaOptions += "-XX:SharedArchiveFile=$($Archive.FullName)"
+}
+else {
+    Write-Warning "No class data sharing archive in '$Target', run mvn package -Pappcds to generate one. Starting without it."
+}
+
+& java @JavaOptions -cp $Jar.FullName $MainClass @Arguments
+exit $LASTEXITCODE
@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+# This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+# Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+# Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+#
+# This Original Work is licensed under the European Union Public Licence
+# (EUPL) v.1.2 and is subject to its terms as set out below.
+#
+# If a copy of the EUPL was not distributed with this file, You can obtain
+# one at https://opensource.org/licenses/EUPL-1.2.
+#
+# The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+# amended by the European Commission) shall be deemed incompatible for
+# the purposes of the Work and the provisions of the compatibility
+# clause in Article 5 of the EUPL shall not apply.
+#
+# If using the Work as, or as part of, a network application, by
+# including the attribution notice(s) required under Article 5 of the EUPL
+# in the end user terms of the application under an appropriate heading,
+# such notice(s) shall fulfill the requirements of that article.
+
+# Runs an example from the jar with dependencies of a module, using the
+# class data sharing archive generated by the appcds Maven profile when it
+# exists. The classes in the archive are mapped rather than loaded from the
+# jar, which shortens start-up. For example:
+#
+#   mvn package -Pappcds -pl console -am
+#   scripts/run-with-cds.sh console \
+#       fiftyone.ipintelligence.examples.console.OfflineProcessing
+#
+# Extra JVM options can be passed in JAVA_OPTS. The archive is only used if
+# the jar has not changed since it was generated, otherwise the JVM warns
+# and starts without it.
+
+set -euo pipefail
+
+if [ $# -lt 2 ]; then
+    echo "Usage: $0 <module> <main class> [arguments...]" >&2
+    echo "  module: console or web/getting-started.onprem" >&2
+    exit 1
+fi
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd -P)"
+TARGET="$ROOT/$1/target"
+shift
+
+JAR="$(ls "$TARGET"/*-jar-with-dependencies.jar 2>/dev/null | head -n 1 || true)"
+if [ -z "$JAR" ]; then
+    echo "No jar with dependencies in '$TARGET', run mvn package first" >&2
+    exit 1
+fi
+
+CDS_OPTS=""
+ARCHIVE="$(ls "$TARGET"/*.jsa 2>/dev/null | head -n 1 || true)"
+if [ -n "$ARCHIVE" ]; then
+    CDS_OPTS="-XX:SharedArchiveFile=$ARCHIVE"
+else
+    echo "No class data sharing archive in '$TARGET', run mvn package" \
+        "-Pappcds to generate one. Starting without it." >&2
+fi
+
+# JAVA_OPTS and CDS_OPTS are deliberately split into separate options
+# shellcheck disable=SC2086
+exec java ${JAVA_OPTS:-} $CDS_OPTS -cp "$JAR" "$@"
@@ -0,0 +1,365 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.shared;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Downloads a gzipped data file, decompresses it and verifies it in a single
+ * pass, so the compressed file is never written to disk and the decompressed
+ * file is only written once.
+ * <p>
+ * The compressed bytes pass through an MD5 digest, as the update service
+ * provides the MD5 of the compressed content in the Content-MD5 header,
+ * then through a {@link GZIPInputStream}. The decompressed bytes are read
+ * into a direct {@link ByteBuffer} and written with a {@link FileChannel} to
+ * a temporary file next to the target, so the JVM does not copy them again
+ * into native memory for each write. Only once the digest matches is the
+ * temporary file forced to disk and atomically renamed over the target, so
+ * readers of the target, such as an engine watching it, never see a partial
+ * or corrupt file. The channel is closed before the rename, as Windows
+ * will not rename a file which is open.
+ * <p>
+ * No disk space is reserved for the temporary file up front, as Java has no
+ * way to do so; extending the file would only make it sparse.
+ */
+public class DataFileDownloader {
+
+    /**
+     * Default size of the direct buffer used for writing.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * Header holding the hex MD5 of the compressed content.
+     */
+    public static final String MD5_HEADER = "Content-MD5";
+
+    /**
+     * The outcome of a download.
+     */
+    public static class Result {
+        private final Path file;
+        private final long compressedBytes;
+        private final long bytes;
+        private final String md5;
+        private final long millis;
+
+        Result(Path file, long compressedBytes, long bytes, String md5, long millis) {
+            this.file = file;
+            this.compressedBytes = compressedBytes;
+            this.bytes = bytes;
+            this.md5 = md5;
+            this.millis = millis;
+        }
+
+        /**
+         * @return the data file written
+         */
+        public Path getFile() {
+            return file;
+        }
+
+        /**
+         * @return number of compressed bytes read
+         */
+        public long getCompressedBytes() {
+            return compressedBytes;
+        }
+
+        /**
+         * @return size of the decompressed data file
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return hex MD5 of the compressed bytes
+         */
+        public String getMd5() {
+            return md5;
+        }
+
+        /**
+         * @return time taken to download, verify and write the file
+         */
+        public long getMillis() {
+            return millis;
+        }
+    }
+
+    private final int bufferSize;
+
+    /**
+     * Constructs a new instance of {@link DataFileDownloader} with the
+     * {@link #DEFAULT_BUFFER_SIZE}.
+     */
+    public DataFileDownloader() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a new instance of {@link DataFileDownloader}.
+     * @param bufferSize size of the direct buffer used for writing
+     */
+    public DataFileDownloader(int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException(
+                    "bufferSize must be greater than 0");
+        }
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Downloads the gzipped data file from the URL and replaces the target
+     * with it, verifying it against the Content-MD5 header if the response
+     * has one.
+     * @param url to get the gzipped data file from
+     * @param target path of the data file to replace or create
+     * @return the outcome of the download
+     * @throws IOException if the download fails, or the MD5 does not match in
+     * which case the target is unchanged
+     */
+    public Result download(URL url, Path target) throws IOException {
+        return download(url, target, 0);
+    }
+
+    /**
+     * Downloads the gzipped data file from the URL if it has been modified
+     * since the time given, and replaces the target with it, verifying it
+     * against the Content-MD5 header if the response has one.
+     * @param url to get the gzipped data file from
+     * @param target path of the data file to replace or create
+     * @param ifModifiedSince time in milliseconds sent as If-Modified-Since,
+     *                        or 0 to always download
+     * @return the outcome of the download, or null if the server responded
+     * that the data file has not been modified
+     * @throws IOException if the download fails, or the MD5 does not match in
+     * which case the target is unchanged
+     */
+    public Result download(URL url,
+                           Path target,
+                           long ifModifiedSince) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            if (ifModifiedSince > 0) {
+                connection.setIfModifiedSince(ifModifiedSince);
+            }
+            int code = connection.getResponseCode();
+            if (code == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                return null;
+            }
+            if (code != HttpURLConnection.HTTP_OK) {
+                throw new IOException("Download from '" + url +
+                        "' failed with status " + code);
+            }
+            try (InputStream in = connection.getInputStream()) {
+                return write(in, connection.getHeaderField(MD5_HEADER), target);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * Decompresses the gzipped stream, verifying it against the expected MD5,
+     * and replaces the target with it.
+     * @param compressed stream of the gzipped data file, not closed
+     * @param expectedMd5 hex MD5 of the compressed bytes, or null to skip
+     *                    verification
+     * @param target path of the data file to replace or create
+     * @return the outcome
+     * @throws IOException if the stream can not be read or decompressed, or
+     * the MD5 does not match in which case the target is unchanged
+     */
+    public Result write(InputStream compressed,
+                        String expectedMd5,
+                        Path target) throws IOException {
+        long start = System.currentTimeMillis();
+        Path directory = target.toAbsolutePath().getParent();
+        MessageDigest digest = md5();
+        CountingInputStream counted = new CountingInputStream(compressed);
+        DigestInputStream digested = new DigestInputStream(counted, digest);
+        Path temp = Files.createTempFile(
+                directory, target.getFileName().toString() + ".", ".tmp");
+        boolean moved = false;
+        try {
+            long bytes;
+            String md5;
+            try (FileChannel channel = FileChannel.open(temp,
+                    StandardOpenOption.WRITE)) {
+                bytes = decompress(digested, channel);
+
+                // include any bytes after the end of the gzip member
+                byte[] rest = new byte[8192];
+                while (digested.read(rest) >= 0) {
+                    // reading updates the digest
+                }
+                md5 = toHex(digest.digest());
+                if (expectedMd5 != null &&
+                        md5.equalsIgnoreCase(expectedMd5.trim()) == false) {
+                    throw new IOException("MD5 " + md5 + " of the download " +
+                            "does not match the expected " + expectedMd5);
+                }
+                channel.force(true);
+            }
+            // the channel must be closed before the rename on Windows
+            move(temp, target);
+            moved = true;
+            // the file may have been looked for, and not found, before
+            DataFileLocator.clearMissing();
+            return new Result(target, counted.count, bytes, md5,
+                    System.currentTimeMillis() - start);
+        } finally {
+            if (moved == false) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * Decompresses the stream into the channel, returning the number of
+     * bytes written.
+     */
+    private long decompress(InputStream compressed,
+                            FileChannel channel) throws IOException {
+        // not closed, so that the caller can read what remains of the
+        // compressed stream
+        GZIPInputStream gzip = new GZIPInputStream(compressed, 64 * 1024);
+        ReadableByteChannel source = Channels.newChannel(gzip);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+        long position = 0;
+        while (source.read(buffer) >= 0) {
+            if (buffer.hasRemaining() == false) {
+                position = flush(buffer, channel, position);
+            }
+        }
+        return flush(buffer, channel, position);
+    }
+
+    private static long flush(ByteBuffer buffer,
+                              FileChannel channel,
+                              long position) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        buffer.clear();
+        return position;
+    }
+
+    /**
+     * Renames the temporary file over the target atomically where the file
+     * system allows, then forces the directory so the rename is durable.
+     */
+    private static void move(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        try (FileChannel directory = FileChannel.open(
+                target.toAbsolutePath().getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException e) {
+            // Not all platforms allow a directory to be opened, in which case
+            // the rename is left to be made durable by the operating system.
+        }
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support MD5.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param bytes to convert
+     * @return the bytes as lower case hex
+     */
+    public static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Counts the bytes read from the stream.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
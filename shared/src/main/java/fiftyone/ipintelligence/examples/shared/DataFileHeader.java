@@ -0,0 +1,229 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.shared;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * The metadata held in the header of an IP Intelligence data file (.ipi):
+ * the format version, the published and next update dates, and the name of
+ * the data set which is its tier, for example "Lite" or "Enterprise".
+ * <p>
+ * {@link #read(Path)} maps only the fixed size header, and the few bytes of
+ * the name it points to, so checking a data file takes microseconds and a
+ * few kilobytes of memory rather than building an engine which loads the
+ * whole file. The header is little endian and packed:
+ * <pre>
+ * offset  size  field
+ *  0      16    version major, minor, build, revision (int32)
+ * 16      16    tag
+ * 32      16    export tag
+ * 48       4    copyright offset (int32)
+ * 52       2    age (int16)
+ * 54       4    minimum count (int32)
+ * 58       4    name offset (int32), within the strings collection
+ * 62       4    format offset (int32)
+ * 66       4    published date, year (int16), month, day
+ * 70       4    next update date, year (int16), month, day
+ * 74      12    strings collection start, length, count (int32)
+ * </pre>
+ * Each string is an int16 length, including a null terminator, followed by
+ * the characters.
+ */
+public class DataFileHeader {
+
+    /**
+     * Size in bytes of the part of the header which is read.
+     */
+    public static final int HEADER_SIZE = 86;
+
+    /**
+     * The only major format version understood.
+     */
+    public static final int SUPPORTED_VERSION_MAJOR = 4;
+
+    private static final int NAME_OFFSET = 58;
+    private static final int PUBLISHED_OFFSET = 66;
+    private static final int NEXT_UPDATE_OFFSET = 70;
+    private static final int STRINGS_OFFSET = 74;
+
+    /**
+     * Longest data set name which is accepted as valid.
+     */
+    private static final int MAX_NAME_LENGTH = 256;
+
+    private final String dataFilePath;
+    private final String version;
+    private final Date published;
+    private final Date nextUpdate;
+    private final String tier;
+
+    /**
+     * Constructs a new instance of {@link DataFileHeader}.
+     * @param dataFilePath path to the data file
+     * @param version format version, or null if not known
+     * @param published date the data file was published
+     * @param nextUpdate date the next data file is expected
+     * @param tier name of the data set, for example "Lite"
+     */
+    public DataFileHeader(String dataFilePath,
+                          String version,
+                          Date published,
+                          Date nextUpdate,
+                          String tier) {
+        this.dataFilePath = dataFilePath;
+        this.version = version;
+        this.published = published;
+        this.nextUpdate = nextUpdate;
+        this.tier = tier;
+    }
+
+    /**
+     * Reads the header of the data file.
+     * @param dataFile path to an IP Intelligence data file
+     * @return the header
+     * @throws IOException if the file can not be read or the header is not
+     * one that is understood
+     */
+    public static DataFileHeader read(Path dataFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(
+                dataFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("'" + dataFile + "' is too small to " +
+                        "be an IP Intelligence data file");
+            }
+            MappedByteBuffer header = channel.map(
+                    FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+
+            int major = header.getInt(0);
+            if (major != SUPPORTED_VERSION_MAJOR) {
+                throw new IOException("'" + dataFile + "' has unsupported " +
+                        "format version " + major);
+            }
+            String version = major + "." + header.getInt(4) + "." +
+                    header.getInt(8) + "." + header.getInt(12);
+            Date published = readDate(header, PUBLISHED_OFFSET, dataFile);
+            Date nextUpdate = readDate(header, NEXT_UPDATE_OFFSET, dataFile);
+
+            long namePosition = (long) header.getInt(STRINGS_OFFSET) +
+                    header.getInt(NAME_OFFSET);
+            if (namePosition < HEADER_SIZE || namePosition + 2 > size) {
+                throw new IOException("'" + dataFile + "' has an invalid " +
+                        "data set name offset");
+            }
+            String tier = readString(channel, namePosition, size, dataFile);
+
+            return new DataFileHeader(dataFile.toString(), version,
+                    published, nextUpdate, tier);
+        }
+    }
+
+    /**
+     * @return path to the data file
+     */
+    public String getDataFilePath() {
+        return dataFilePath;
+    }
+
+    /**
+     * @return format version, for example "4.1.0.0", or null if not known
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return date the data file was published
+     */
+    public Date getPublished() {
+        return published;
+    }
+
+    /**
+     * @return date the next data file is expected
+     */
+    public Date getNextUpdate() {
+        return nextUpdate;
+    }
+
+    /**
+     * @return name of the data set, for example "Lite" or "Enterprise"
+     */
+    public String getTier() {
+        return tier;
+    }
+
+    private static Date readDate(ByteBuffer header, int offset, Path dataFile)
+            throws IOException {
+        int year = header.getShort(offset);
+        int month = header.get(offset + 2);
+        int day = header.get(offset + 3);
+        if (year < 2000 || month < 1 || month > 12 || day < 1 || day > 31) {
+            throw new IOException("'" + dataFile + "' has an invalid date " +
+                    "in its header");
+        }
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        calendar.clear();
+        calendar.set(year, month - 1, day);
+        return calendar.getTime();
+    }
+
+    private static String readString(FileChannel channel,
+                                     long position,
+                                     long size,
+                                     Path dataFile) throws IOException {
+        int available = (int) Math.min(2 + MAX_NAME_LENGTH, size - position);
+        MappedByteBuffer buffer = channel.map(
+                FileChannel.MapMode.READ_ONLY, position, available);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        int length = buffer.getShort(0);
+        if (length < 1 || length > available - 2) {
+            throw new IOException("'" + dataFile + "' has an invalid " +
+                    "data set name");
+        }
+        byte[] bytes = new byte[length];
+        buffer.position(2);
+        buffer.get(bytes);
+        // Drop the null terminator.
+        int end = bytes[length - 1] == 0 ? length - 1 : length;
+        for (int i = 0; i < end; i++) {
+            if (bytes[i] < 0x20) {
+                throw new IOException("'" + dataFile + "' has an invalid " +
+                        "data set name");
+            }
+        }
+        return new String(bytes, 0, end, StandardCharsets.UTF_8);
+    }
+}
@@ -42,8 +42,6 @@ import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.Objects;
 
-import static fiftyone.pipeline.util.FileFinder.getFilePath;
-
 public class DataFileHelper {
     static Logger logger = LoggerFactory.getLogger(DataFileHelper.class);
 
@@ -132,6 +130,32 @@ public static class DatafileInfo {
         }
     }
 
+    /**
+     * Read the metadata of a data file from its header, which maps only a
+     * few kilobytes of the file rather than building an engine as
+     * {@link #getDatafileMetaData(String)} does. If the header is not one
+     * that {@link DataFileHeader} understands then an engine is built to
+     * read the metadata instead.
+     * @param dataFileLocation path to the data file
+     * @return the metadata
+     * @throws Exception if the metadata can not be read
+     */
+    public static DataFileHeader readDataFileHeader(String dataFileLocation) throws Exception {
+        try {
+            return DataFileHeader.read(Paths.get(dataFileLocation));
+        } catch (IOException e) {
+            logger.debug("Could not read header of '{}', building an engine " +
+                    "instead. {}", dataFileLocation, e.getMessage());
+            DatafileInfo info = getDatafileMetaData(dataFileLocation);
+            return new DataFileHeader(
+                    info.getFileInfo().getDataFilePath(),
+                    null,
+                    info.getFileInfo().getDataPublishedDateTime(),
+                    info.getFileInfo().getUpdateAvailableTime(),
+                    info.getTier());
+        }
+    }
+
     public static void logDataFileInfo(IPIntelligenceOnPremiseEngine engine) {
         // Lite or Enterprise
         String dataTier = engine.getDataSourceTier();
@@ -193,7 +217,8 @@ public static class DatafileInfo {
      * An absolute path supplied by the caller is used as is. Otherwise an
      * explicit path supplied via the {@link #IPI_PATH_ENV_VAR} environment
      * variable or system property is checked before the folder hierarchy is
-     * searched for the passed filename.
+     * searched for the passed filename with a {@link DataFileLocator}, which
+     * remembers where the file was found for next time.
      * @param dataFilename a filename to find (can be absolute or relative path)
      * @return a full pathname
      * @throws Exception if the file was not found
@@ -231,11 +256,13 @@ public static class DatafileInfo {
                 throw new IOException("Data file not found at absolute path: " + dataFilename);
             }
         } else {
-            // It's a relative path, try FileFinder first (searches project directories)
-            try {
-                return getFilePath(dataFilename).getAbsolutePath();
-            } catch (Exception e) {
-                // If FileFinder fails, try as relative to current working directory
+            // It's a relative path, look in the index of previously found
+            // files, then search the project directories
+            Path located = DataFileLocator.locate(dataFilename);
+            if (Objects.nonNull(located)) {
+                return located.toString();
+            } else {
+                // Otherwise try as relative to current working directory
                 Path relativePath = Paths.get(System.getProperty("user.dir"), dataFilename);
                 if (Files.exists(relativePath)) {
                     return relativePath.toString();
@@ -0,0 +1,331 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.shared;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves relative data file paths, such as
+ * {@link DataFileHelper#ENTERPRISE_DATA_FILE_REL_PATH}, to absolute paths
+ * quickly on large checkouts.
+ * <p>
+ * Resolved paths are kept in an index file, by default in the user's home
+ * directory so that other users can not add entries to it, keyed by the
+ * working directory and the relative path. Each entry records the modified
+ * time of the file found, and is only used if the file still exists with
+ * that time and its path ends with the relative path, so after the first
+ * run resolution is a lookup and a stat. The index file can be moved with the
+ * {@link #INDEX_FILE_NAME} environment variable or system property, or
+ * disabled by setting it to "none".
+ * <p>
+ * Without an index entry the working directory is searched breadth first to
+ * {@link #DEFAULT_MAX_DEPTH} levels. Each level is searched in parallel, and
+ * at each directory the relative path is resolved directly rather than every
+ * file listed. The shallowest match wins, and matches at the same depth are
+ * ordered by path so the result does not depend on thread timing. Hidden
+ * directories and build output are skipped. The ancestors of the working
+ * directory are then checked.
+ */
+public class DataFileLocator {
+
+    /**
+     * Name of the environment variable or system property which may hold the
+     * path of the index file.
+     */
+    public static final String INDEX_FILE_NAME = "51DEGREES_IPI_INDEX";
+
+    /**
+     * Value of {@link #INDEX_FILE_NAME} which disables the index file.
+     */
+    public static final String INDEX_DISABLED = "none";
+
+    /**
+     * Default number of directory levels searched below the working
+     * directory, and checked above it.
+     */
+    public static final int DEFAULT_MAX_DEPTH = 6;
+
+    /**
+     * Names of directories which never contain the data files.
+     */
+    private static final Set<String> SKIPPED = new HashSet<>(Arrays.asList(
+            "target", "build", "node_modules", "out", "bin"));
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(DataFileLocator.class);
+
+    /**
+     * Time after which a relative path which was not found is searched for
+     * again.
+     */
+    public static final long MISSING_RETRY_MILLIS = 60000;
+
+    /**
+     * Relative paths recently looked for by this process which were not
+     * found, and when, so that looking again for an unavailable file does
+     * not repeat the search. Cleared when a data file is downloaded.
+     */
+    private static final Map<String, Long> missing = new ConcurrentHashMap<>();
+
+    /**
+     * Guards reading and writing the index file within this process.
+     */
+    private static final Object indexLock = new Object();
+
+    /**
+     * Resolves the relative path from the working directory.
+     * @param relativePath path of the data file, for example
+     *                     {@link DataFileHelper#ENTERPRISE_DATA_FILE_REL_PATH}
+     * @return the absolute path, or null if not found
+     */
+    public static Path locate(String relativePath) {
+        return locate(Paths.get(System.getProperty("user.dir")),
+                relativePath, indexFile(), DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * Resolves the relative path from the directory.
+     * @param root directory to search from
+     * @param relativePath path of the data file
+     * @param indexFile the index file, or null for none
+     * @param maxDepth directory levels to search below, and check above, the
+     *                 root
+     * @return the absolute path, or null if not found
+     */
+    public static Path locate(Path root,
+                              String relativePath,
+                              Path indexFile,
+                              int maxDepth) {
+        root = root.toAbsolutePath().normalize();
+        String key = root + "|" + relativePath;
+        Long missed = missing.get(key);
+        if (missed != null &&
+                System.currentTimeMillis() - missed < MISSING_RETRY_MILLIS) {
+            return null;
+        }
+        Path relative = Paths.get(relativePath);
+        Path found = lookup(indexFile, key, relative);
+        if (found != null) {
+            return found;
+        }
+
+        long start = System.currentTimeMillis();
+        found = search(root, relative, maxDepth);
+        if (found == null) {
+            found = searchAncestors(root, relative, maxDepth);
+        }
+        logger.debug("Searched for '{}' in {}ms", relativePath,
+                System.currentTimeMillis() - start);
+        if (found == null) {
+            missing.put(key, System.currentTimeMillis());
+            return null;
+        }
+        missing.remove(key);
+        store(indexFile, key, found);
+        return found;
+    }
+
+    /**
+     * Forgets the paths which were not found by this process, for example
+     * after a data file has been downloaded.
+     */
+    public static void clearMissing() {
+        missing.clear();
+    }
+
+    /**
+     * @return the index file from {@link #INDEX_FILE_NAME}, or the default,
+     * or null if disabled
+     */
+    static Path indexFile() {
+        String value = System.getenv(INDEX_FILE_NAME);
+        if (Objects.isNull(value)) {
+            value = System.getProperty(INDEX_FILE_NAME);
+        }
+        if (Objects.isNull(value)) {
+            // Not the shared temporary directory, where another user could
+            // plant entries pointing at a file of their choosing.
+            return Paths.get(System.getProperty("user.home"),
+                    ".51degrees", "ipi-index.properties");
+        }
+        return INDEX_DISABLED.equalsIgnoreCase(value) ? null : Paths.get(value);
+    }
+
+    /**
+     * Breadth first search of the root, a level at a time, with the
+     * directories of each level checked in parallel.
+     */
+    static Path search(Path root, Path relative, int maxDepth) {
+        List<Path> level = Collections.singletonList(root);
+        for (int depth = 0; depth <= maxDepth && level.isEmpty() == false; depth++) {
+            Path found = level.parallelStream()
+                    .map(directory -> directory.resolve(relative))
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .findFirst()
+                    .orElse(null);
+            if (found != null) {
+                return found;
+            }
+            if (depth < maxDepth) {
+                level = level.parallelStream()
+                        .flatMap(directory -> children(directory).stream())
+                        .collect(Collectors.toList());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks the relative path from each ancestor of the root.
+     */
+    private static Path searchAncestors(Path root, Path relative, int maxDepth) {
+        Path directory = root.getParent();
+        for (int i = 0; i < maxDepth && directory != null; i++) {
+            Path candidate = directory.resolve(relative);
+            if (Files.isRegularFile(candidate)) {
+                return candidate;
+            }
+            directory = directory.getParent();
+        }
+        return null;
+    }
+
+    private static List<Path> children(Path directory) {
+        List<Path> children = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                path -> Files.isDirectory(path) &&
+                        path.getFileName().toString().startsWith(".") == false &&
+                        SKIPPED.contains(path.getFileName().toString()) == false)) {
+            for (Path child : stream) {
+                children.add(child);
+            }
+        } catch (IOException e) {
+            // Unreadable directories are skipped.
+        }
+        return children;
+    }
+
+    /**
+     * @return the indexed path if it still exists with the recorded modified
+     * time and ends with the relative path, otherwise null
+     */
+    private static Path lookup(Path indexFile, String key, Path relative) {
+        if (indexFile == null) {
+            return null;
+        }
+        String entry;
+        synchronized (indexLock) {
+            entry = load(indexFile).getProperty(key);
+        }
+        if (entry == null) {
+            return null;
+        }
+        int separator = entry.lastIndexOf('|');
+        if (separator < 0) {
+            return null;
+        }
+        try {
+            Path path = Paths.get(entry.substring(0, separator));
+            long modified = Long.parseLong(entry.substring(separator + 1));
+            if (path.endsWith(relative) &&
+                    Files.isRegularFile(path) &&
+                    Files.getLastModifiedTime(path).toMillis() == modified) {
+                return path;
+            }
+        } catch (IOException | RuntimeException e) {
+            // The entry is not usable, so is replaced after a search.
+        }
+        return null;
+    }
+
+    /**
+     * Records the path in the index file, replacing the file atomically so
+     * that other processes never read a partial index.
+     */
+    private static void store(Path indexFile, String key, Path path) {
+        if (indexFile == null) {
+            return;
+        }
+        synchronized (indexLock) {
+            try {
+                Properties index = load(indexFile);
+                index.setProperty(key, path + "|" +
+                        Files.getLastModifiedTime(path).toMillis());
+                Path parent = indexFile.toAbsolutePath().getParent();
+                Files.createDirectories(parent);
+                Path temp = Files.createTempFile(parent,
+                        indexFile.getFileName().toString(), ".tmp");
+                try {
+                    try (OutputStream out = Files.newOutputStream(temp)) {
+                        index.store(out, "51Degrees data file locations");
+                    }
+                    try {
+                        Files.move(temp, indexFile, StandardCopyOption.ATOMIC_MOVE,
+                                StandardCopyOption.REPLACE_EXISTING);
+                    } catch (AtomicMoveNotSupportedException e) {
+                        Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            } catch (IOException e) {
+                logger.debug("Could not update index file '{}'", indexFile, e);
+            }
+        }
+    }
+
+    private static Properties load(Path indexFile) {
+        Properties index = new Properties();
+        if (Files.isRegularFile(indexFile)) {
+            try (InputStream in = Files.newInputStream(indexFile)) {
+                index.load(in);
+            } catch (IOException | IllegalArgumentException e) {
+                logger.debug("Ignoring unreadable index file '{}'", indexFile, e);
+            }
+        }
+        return index;
+    }
+}
@@ -0,0 +1,139 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.shared;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Approximate count of how often keys have been seen recently, used by
+ * {@link IpResultCache} to decide whether a new entry is worth keeping
+ * instead of an existing one (TinyLFU admission).
+ * <p>
+ * A Count-Min sketch of four bit counters, sixteen to a long. Each key
+ * increments one counter in each of four rows and its frequency is the
+ * minimum of the four. Once the number of increments reaches ten times the
+ * capacity all the counters are halved so that the counts reflect recent
+ * popularity. The sketch is shared by every segment of the cache, so each
+ * counter is updated with a compare and swap of its long, which keeps a
+ * counter from carrying into its neighbour when threads race. Halving may
+ * run while other threads increment, which only makes the estimates
+ * slightly less accurate.
+ */
+class FrequencySketch {
+
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private static final long[] SEEDS = {
+            0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L,
+            0x9AE16A3B2F90404FL, 0xCBF29CE484222325L};
+
+    private final AtomicLongArray table;
+
+    private final int mask;
+
+    private final int sampleSize;
+
+    private final AtomicInteger additions = new AtomicInteger();
+
+    /**
+     * Constructs a new instance of {@link FrequencySketch}.
+     * @param capacity maximum number of entries in the cache
+     */
+    FrequencySketch(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 16) - 1) << 1;
+        table = new AtomicLongArray(size);
+        mask = size - 1;
+        sampleSize = 10 * Math.max(capacity, 16);
+    }
+
+    /**
+     * Increments the counters for the key.
+     */
+    void increment(IpAddressKey key) {
+        long hash = spread(key);
+        int start = (int) (hash & 3) << 2;
+        boolean added = false;
+        for (int row = 0; row < 4; row++) {
+            int index = indexOf(hash, row);
+            int offset = (start + row) << 2;
+            while (true) {
+                long word = table.get(index);
+                if (((word >>> offset) & 0xFL) == 15) {
+                    break;
+                }
+                if (table.compareAndSet(index, word, word + (1L << offset))) {
+                    added = true;
+                    break;
+                }
+            }
+        }
+        // Only the thread which reaches the sample size halves the counters.
+        if (added && additions.incrementAndGet() == sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Returns the estimated number of recent occurrences of the key, up to
+     * fifteen.
+     */
+    int frequency(IpAddressKey key) {
+        long hash = spread(key);
+        int start = (int) (hash & 3) << 2;
+        int frequency = 15;
+        for (int row = 0; row < 4; row++) {
+            int index = indexOf(hash, row);
+            int offset = (start + row) << 2;
+            frequency = Math.min(frequency,
+                    (int) ((table.get(index) >>> offset) & 0xFL));
+        }
+        return frequency;
+    }
+
+    /**
+     * Halves every counter.
+     */
+    private void reset() {
+        for (int i = 0; i < table.length(); i++) {
+            long word;
+            do {
+                word = table.get(i);
+            } while (table.compareAndSet(i, word, (word >>> 1) & RESET_MASK) == false);
+        }
+        additions.addAndGet(-(sampleSize / 2));
+    }
+
+    private int indexOf(long hash, int row) {
+        long value = (hash + SEEDS[row]) * SEEDS[row];
+        value += value >>> 32;
+        return (int) value & mask;
+    }
+
+    private static long spread(IpAddressKey key) {
+        long hash = key.getHigh() * 0x9E3779B97F4A7C15L ^ key.getLow();
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -0,0 +1,368 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.shared;
+
+import java.net.InetAddress;
+
+/**
+ * An IP address packed into two longs forming a 128 bit key. IPv4
+ * addresses are held in their IPv4 mapped IPv6 form (::ffff:a.b.c.d) so
+ * that both address families share a single ordering.
+ * <p>
+ * Parsing is performed directly from the characters of the address without
+ * regular expressions, string splitting or DNS lookups so it is suitable
+ * for use on every record of large files. Instances are immutable and
+ * ordered by unsigned numeric value.
+ */
+public final class IpAddressKey implements Comparable<IpAddressKey> {
+
+    /**
+     * The upper 64 bits of an IPv4 mapped IPv6 address.
+     */
+    private static final long IPV4_MAPPED_HIGH = 0L;
+
+    /**
+     * The bits that mark the lower 64 bits as an IPv4 mapped address.
+     */
+    private static final long IPV4_MAPPED_LOW = 0xFFFF00000000L;
+
+    private final long high;
+
+    private final long low;
+
+    /**
+     * Constructs a new instance of {@link IpAddressKey}.
+     * @param high upper 64 bits of the IPv6 address
+     * @param low lower 64 bits of the IPv6 address
+     */
+    public IpAddressKey(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Parses the IP address literal provided.
+     * @param ip an IPv4 or IPv6 address literal
+     * @return the key for the address, or null if ip is not a valid IP
+     * address literal
+     */
+    public static IpAddressKey parse(CharSequence ip) {
+        long[] key = new long[2];
+        if (ip == null || pack(ip, 0, ip.length(), key) == false) {
+            return null;
+        }
+        return new IpAddressKey(key[0], key[1]);
+    }
+
+    /**
+     * Returns the key for the address provided.
+     * @param address an IPv4 or IPv6 address
+     * @return the key for the address
+     */
+    public static IpAddressKey of(InetAddress address) {
+        return of(address.getAddress());
+    }
+
+    /**
+     * Returns the key for the network order address bytes provided.
+     * @param address 4 byte IPv4 or 16 byte IPv6 address
+     * @return the key for the address
+     */
+    public static IpAddressKey of(byte[] address) {
+        if (address.length == 4) {
+            return new IpAddressKey(
+                    IPV4_MAPPED_HIGH,
+                    IPV4_MAPPED_LOW | (readLong(address, 0, 4)));
+        }
+        if (address.length == 16) {
+            return new IpAddressKey(
+                    readLong(address, 0, 8),
+                    readLong(address, 8, 8));
+        }
+        throw new IllegalArgumentException(
+                "Address must be 4 or 16 bytes not " + address.length);
+    }
+
+    /**
+     * Packs the IP address literal between start and end into the two
+     * element key array without allocating any objects other than a small
+     * array for IPv6 groups.
+     * @param ip characters containing the IP address literal
+     * @param start index of the first character of the address
+     * @param end index after the last character of the address
+     * @param key array of at least 2 elements to receive the upper and lower
+     *            64 bits of the address
+     * @return true if the characters were a valid IP address, otherwise
+     * false and the content of key is undefined
+     */
+    public static boolean pack(CharSequence ip, int start, int end, long[] key) {
+        // Ignore any IPv6 zone index.
+        for (int i = start; i < end; i++) {
+            if (ip.charAt(i) == '%') {
+                end = i;
+                break;
+            }
+        }
+        if (start >= end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (ip.charAt(i) == ':') {
+                return packIPv6(ip, start, end, key);
+            }
+        }
+        long ipv4 = parseIPv4(ip, start, end);
+        if (ipv4 < 0) {
+            return false;
+        }
+        key[0] = IPV4_MAPPED_HIGH;
+        key[1] = IPV4_MAPPED_LOW | ipv4;
+        return true;
+    }
+
+    /**
+     * Parses a dotted decimal IPv4 address returning the 32 bit value, or -1
+     * if the characters are not a valid IPv4 address.
+     */
+    private static long parseIPv4(CharSequence ip, int start, int end) {
+        long result = 0;
+        int octets = 0;
+        int value = -1;
+        for (int i = start; i < end; i++) {
+            char c = ip.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+                if (value > 255) {
+                    return -1;
+                }
+            } else if (c == '.') {
+                if (value < 0 || octets == 3) {
+                    return -1;
+                }
+                result = (result << 8) | value;
+                octets++;
+                value = -1;
+            } else {
+                return -1;
+            }
+        }
+        if (value < 0 || octets != 3) {
+            return -1;
+        }
+        return (result << 8) | value;
+    }
+
+    /**
+     * Parses an IPv6 address including the compressed '::' form and a
+     * trailing dotted decimal IPv4 address.
+     */
+    private static boolean packIPv6(
+            CharSequence ip,
+            int start,
+            int end,
+            long[] key) {
+        int[] groups = new int[8];
+        int count = 0;
+        // Index of the group that follows the '::', or -1 if none.
+        int gap = -1;
+        int i = start;
+        if (ip.charAt(i) == ':') {
+            if (i + 1 >= end || ip.charAt(i + 1) != ':') {
+                return false;
+            }
+            gap = 0;
+            i += 2;
+        }
+        while (i < end) {
+            int groupStart = i;
+            int value = 0;
+            int digits = 0;
+            int digit;
+            while (i < end && (digit = hexValue(ip.charAt(i))) >= 0) {
+                value = (value << 4) | digit;
+                digits++;
+                i++;
+            }
+            if (i < end && ip.charAt(i) == '.') {
+                // A trailing IPv4 address forms the last two groups.
+                if (count > 6) {
+                    return false;
+                }
+                long ipv4 = parseIPv4(ip, groupStart, end);
+                if (ipv4 < 0) {
+                    return false;
+                }
+                groups[count++] = (int) (ipv4 >>> 16);
+                groups[count++] = (int) (ipv4 & 0xFFFF);
+                break;
+            }
+            if (digits == 0 || digits > 4 || count == 8) {
+                return false;
+            }
+            groups[count++] = value;
+            if (i == end) {
+                break;
+            }
+            if (ip.charAt(i) != ':') {
+                return false;
+            }
+            i++;
+            if (i < end && ip.charAt(i) == ':') {
+                if (gap >= 0) {
+                    return false;
+                }
+                gap = count;
+                i++;
+            } else if (i == end) {
+                return false;
+            }
+        }
+        if (gap < 0) {
+            if (count != 8) {
+                return false;
+            }
+        } else {
+            if (count > 7) {
+                return false;
+            }
+            // Move the groups after the gap to the end and fill the gap
+            // with zeros.
+            int tail = count - gap;
+            for (int j = 0; j < tail; j++) {
+                groups[7 - j] = groups[count - 1 - j];
+            }
+            for (int j = gap; j < 8 - tail; j++) {
+                groups[j] = 0;
+            }
+        }
+        key[0] = ((long) groups[0] << 48) | ((long) groups[1] << 32) |
+                ((long) groups[2] << 16) | groups[3];
+        key[1] = ((long) groups[4] << 48) | ((long) groups[5] << 32) |
+                ((long) groups[6] << 16) | groups[7];
+        return true;
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static long readLong(byte[] bytes, int offset, int length) {
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+        return value;
+    }
+
+    /**
+     * Upper 64 bits of the IPv6 form of the address.
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * Lower 64 bits of the IPv6 form of the address.
+     */
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * True if the key relates to an IPv4 address.
+     */
+    public boolean isIPv4() {
+        return high == IPV4_MAPPED_HIGH &&
+                (low & 0xFFFFFFFF00000000L) == IPV4_MAPPED_LOW;
+    }
+
+    /**
+     * Returns the network order bytes of the address, 4 bytes for IPv4 and
+     * 16 bytes for IPv6.
+     */
+    public byte[] toBytes() {
+        if (isIPv4()) {
+            return new byte[]{
+                    (byte) (low >>> 24),
+                    (byte) (low >>> 16),
+                    (byte) (low >>> 8),
+                    (byte) low};
+        }
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (high >>> (56 - i * 8));
+            bytes[i + 8] = (byte) (low >>> (56 - i * 8));
+        }
+        return bytes;
+    }
+
+    @Override
+    public int compareTo(IpAddressKey other) {
+        int difference = Long.compareUnsigned(high, other.high);
+        if (difference != 0) {
+            return difference;
+        }
+        return Long.compareUnsigned(low, other.low);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof IpAddressKey == false) {
+            return false;
+        }
+        IpAddressKey other = (IpAddressKey) obj;
+        return high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high * 31 + low);
+    }
+
+    @Override
+    public String toString() {
+        if (isIPv4()) {
+            return ((low >>> 24) & 0xFF) + "." + ((low >>> 16) & 0xFF) + "." +
+                    ((low >>> 8) & 0xFF) + "." + (low & 0xFF);
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            long value = i < 4 ? high : low;
+            if (i > 0) {
+                builder.append(':');
+            }
+            builder.append(Long.toHexString(
+                    (value >>> (48 - (i % 4) * 16)) & 0xFFFF));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,441 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.shared;
+
+import fiftyone.ipintelligence.shared.IPIntelligenceData;
+import fiftyone.pipeline.core.data.ElementData;
+import fiftyone.pipeline.core.data.FlowData;
+import fiftyone.pipeline.core.flowelements.Pipeline;
+import fiftyone.pipeline.engines.services.DataUpdateService;
+import fiftyone.pipeline.engines.services.OnUpdateComplete;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in cache of IP Intelligence results for individual IP addresses in
+ * front of a pipeline. Repeated IP addresses are answered without creating
+ * or processing flow data.
+ * <p>
+ * Only the configured properties are stored, as a compact immutable
+ * {@link Result}, keyed by the IP address packed into an
+ * {@link IpAddressKey} so that different text forms of the same address
+ * share an entry. The cache is split into segments by key hash, each a
+ * least recently used map guarded by its own lock. When a segment is full a
+ * new entry is only admitted if a {@link FrequencySketch} estimates it has
+ * been requested more often recently than the entry it would evict
+ * (TinyLFU), which keeps one-off addresses from flushing out the hot ones.
+ * <p>
+ * Create instances with {@link Builder}:
+ * <pre>
+ *     IpResultCache cache = new IpResultCache.Builder()
+ *         .setMaximumSize(100000)
+ *         .setProperty("RegisteredCountry")
+ *         .build(pipeline);
+ *     IpResultCache.Result result = cache.lookup("185.28.167.77");
+ * </pre>
+ * Call {@link #invalidate()}, or register the cache with the data update
+ * service, when the data file is reloaded. Instances are thread safe.
+ */
+public class IpResultCache implements OnUpdateComplete {
+
+    /**
+     * Default maximum number of IP addresses held.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 100000;
+
+    /**
+     * Evidence key used to pass the IP address to the pipeline.
+     */
+    public static final String EVIDENCE_KEY = "query.client-ip";
+
+    /**
+     * Turns the value of a property into the string which is cached.
+     */
+    public interface Formatter {
+        String format(ElementData data, String property);
+    }
+
+    /**
+     * Builder for {@link IpResultCache}.
+     */
+    public static class Builder {
+        private final List<String> properties = new ArrayList<>();
+        private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+        private Formatter formatter = PropertyHelper::firstValueAsString;
+        private int segments = Math.max(1, Integer.highestOneBit(
+                Runtime.getRuntime().availableProcessors() * 4));
+
+        /**
+         * Set the maximum number of IP addresses held.
+         * @param maximumSize greater than 0
+         * @return this builder
+         */
+        public Builder setMaximumSize(int maximumSize) {
+            if (maximumSize < 1) {
+                throw new IllegalArgumentException(
+                        "Maximum size must be greater than 0");
+            }
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Set the number of independently locked segments, rounded up to a
+         * power of two. Defaults to four per processor.
+         * @param segments greater than 0
+         * @return this builder
+         */
+        public Builder setConcurrency(int segments) {
+            if (segments < 1) {
+                throw new IllegalArgumentException(
+                        "Concurrency must be greater than 0");
+            }
+            this.segments = segments == 1 ?
+                    1 : Integer.highestOneBit(segments - 1) << 1;
+            return this;
+        }
+
+        /**
+         * Add a property to store for each IP address.
+         * @param property name of the property
+         * @return this builder
+         */
+        public Builder setProperty(String property) {
+            properties.add(property);
+            return this;
+        }
+
+        /**
+         * Add properties to store for each IP address.
+         * @param properties names of the properties
+         * @return this builder
+         */
+        public Builder setProperties(List<String> properties) {
+            this.properties.addAll(properties);
+            return this;
+        }
+
+        /**
+         * Set how the value of each property is turned into the string
+         * cached. Defaults to
+         * {@link PropertyHelper#firstValueAsString(ElementData, String)},
+         * which is null when the property has no value. Use
+         * {@link PropertyHelper#valueAsString(ElementData, String)} for the
+         * same strings as the typed getters and
+         * {@link PropertyHelper#asStringProperty}.
+         * @param formatter the formatter
+         * @return this builder
+         */
+        public Builder setFormatter(Formatter formatter) {
+            this.formatter = formatter;
+            return this;
+        }
+
+        /**
+         * Build the cache in front of the pipeline.
+         * @param pipeline containing an IP Intelligence engine with at least
+         *                 the properties to be cached
+         * @return a new cache
+         */
+        public IpResultCache build(Pipeline pipeline) {
+            if (properties.isEmpty()) {
+                throw new IllegalStateException(
+                        "At least one property must be set");
+            }
+            return new IpResultCache(
+                    pipeline, properties, maximumSize, segments, formatter);
+        }
+    }
+
+    /**
+     * The cached property values for an IP address. Values are held in an
+     * array in the order of the properties configured, with the index of
+     * each property shared by all results.
+     */
+    public static final class Result {
+        private final Map<String, Integer> indexes;
+        private final String[] values;
+
+        private Result(Map<String, Integer> indexes, String[] values) {
+            this.indexes = indexes;
+            this.values = values;
+        }
+
+        /**
+         * Returns the value of the property.
+         * @param property name of a cached property
+         * @return the value of the property from the
+         * {@link Formatter}, by default the first value as a string or null
+         * if the property has no value
+         */
+        public String get(String property) {
+            Integer index = indexes.get(property);
+            if (index == null) {
+                throw new IllegalArgumentException(
+                        "Property '" + property + "' is not cached");
+            }
+            return values[index];
+        }
+
+        /**
+         * Returns the value at the index of the property in
+         * {@link IpResultCache#getProperties()}.
+         */
+        public String get(int index) {
+            return values[index];
+        }
+    }
+
+    /**
+     * A least recently used map guarded by its own lock.
+     */
+    private static class Segment extends LinkedHashMap<IpAddressKey, Result> {
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        boolean isFull() {
+            return size() >= capacity;
+        }
+
+        IpAddressKey eldest() {
+            Iterator<IpAddressKey> keys = keySet().iterator();
+            return keys.hasNext() ? keys.next() : null;
+        }
+    }
+
+    private final Pipeline pipeline;
+
+    private final String[] properties;
+
+    private final Map<String, Integer> indexes;
+
+    private final Segment[] segments;
+
+    private final FrequencySketch sketch;
+
+    private final Formatter formatter;
+
+    /**
+     * Incremented when the cache is invalidated so that results from
+     * lookups which started before are not added afterwards.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder rejections = new LongAdder();
+
+    private IpResultCache(Pipeline pipeline,
+                          List<String> properties,
+                          int maximumSize,
+                          int segmentCount,
+                          Formatter formatter) {
+        this.pipeline = pipeline;
+        this.formatter = formatter;
+        this.properties = properties.toArray(new String[0]);
+        Map<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < this.properties.length; i++) {
+            map.put(this.properties[i], i);
+        }
+        this.indexes = Collections.unmodifiableMap(map);
+        int count = Math.min(segmentCount,
+                Integer.highestOneBit(maximumSize));
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment((maximumSize + count - 1) / count);
+        }
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Returns the cached properties for the IP address, processing it with
+     * the pipeline if it is not in the cache.
+     * @param ip the IP address
+     * @return the cached property values
+     */
+    public Result lookup(String ip) throws Exception {
+        IpAddressKey key = IpAddressKey.parse(ip);
+        if (key == null) {
+            // Not a valid address so let the pipeline report it.
+            misses.increment();
+            return process(ip);
+        }
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            sketch.increment(key);
+            Result result = segment.get(key);
+            if (result != null) {
+                hits.increment();
+                return result;
+            }
+        }
+        misses.increment();
+        long current = generation.get();
+        Result result = process(ip);
+        synchronized (segment) {
+            // The result may be from the previous data file if the cache
+            // was invalidated while it was being processed.
+            if (generation.get() != current) {
+                return result;
+            }
+            if (segment.isFull() && segment.containsKey(key) == false) {
+                IpAddressKey victim = segment.eldest();
+                if (sketch.frequency(key) <= sketch.frequency(victim)) {
+                    rejections.increment();
+                    return result;
+                }
+                segment.remove(victim);
+                evictions.increment();
+            }
+            segment.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Removes all the cached results. Must be called when the engine's data
+     * file is reloaded.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Invalidates the cache when the data update service has refreshed the
+     * engine with a new data file.
+     */
+    @Override
+    public void call(Object sender, DataUpdateService.DataUpdateCompleteArgs args) {
+        if (args.getStatus() ==
+                DataUpdateService.AutoUpdateStatus.AUTO_UPDATE_SUCCESS) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Names of the cached properties in the order of their indexes.
+     */
+    public List<String> getProperties() {
+        return Collections.unmodifiableList(Arrays.asList(properties.clone()));
+    }
+
+    /**
+     * Number of IP addresses currently cached.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Number of independently locked segments.
+     */
+    int getSegmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * Number of lookups answered from the cache.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of lookups processed by the pipeline.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of entries removed to make space for more frequent ones.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Number of results not cached because they were less frequent than
+     * the entry they would have replaced.
+     */
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    /**
+     * Proportion of lookups answered from the cache, or 0 if there have
+     * been none.
+     */
+    public double getHitRate() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private Result process(String ip) throws Exception {
+        try (FlowData flowData = pipeline.createFlowData()) {
+            flowData.addEvidence(EVIDENCE_KEY, ip);
+            flowData.process();
+            IPIntelligenceData data = flowData.get(IPIntelligenceData.class);
+            String[] values = new String[properties.length];
+            for (int i = 0; i < properties.length; i++) {
+                values[i] = formatter.format(data, properties[i]);
+            }
+            return new Result(indexes, values);
+        }
+    }
+
+    private Segment segmentFor(IpAddressKey key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return segments[hash & (segments.length - 1)];
+    }
+}
@@ -0,0 +1,120 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.shared;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Loads all or part of a data file into the operating system page cache
+ * before it is used, so that the first lookups do not each wait on reads
+ * from disk.
+ * <p>
+ * The file is mapped read only a chunk at a time and each chunk is loaded
+ * with {@link MappedByteBuffer#load()}, which advises the operating system
+ * that the pages will be needed and touches every one of them in order.
+ * Nothing is copied into the Java heap, and the pages belong to the page
+ * cache rather than the process, so they are shared with every other
+ * process reading the same file. Pipelines which read the data file from
+ * disk, with the LowMemory profile and without a temporary copy, then share
+ * one copy of the data in memory however many run on the host.
+ */
+public class PageCacheWarmer {
+
+    /**
+     * Default number of bytes mapped at once.
+     */
+    public static final long DEFAULT_CHUNK_SIZE = 256L * 1024 * 1024;
+
+    /**
+     * The outcome of warming a file.
+     */
+    public static class Result {
+        private final long bytes;
+        private final long millis;
+
+        Result(long bytes, long millis) {
+            this.bytes = bytes;
+            this.millis = millis;
+        }
+
+        /**
+         * @return number of bytes loaded
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return time taken to load them
+         */
+        public long getMillis() {
+            return millis;
+        }
+    }
+
+    /**
+     * Loads the whole file into the page cache.
+     * @param file to load
+     * @return the outcome
+     */
+    public static Result warm(Path file) throws IOException {
+        return warm(file, 0, Long.MAX_VALUE, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Loads a section of the file into the page cache, for example the
+     * first part of it when there is not enough memory for all of it.
+     * @param file to load
+     * @param offset of the first byte to load
+     * @param length number of bytes to load, limited to the end of the file
+     * @param chunkSize number of bytes mapped at once
+     * @return the outcome
+     */
+    public static Result warm(Path file,
+                              long offset,
+                              long length,
+                              long chunkSize) throws IOException {
+        if (offset < 0 || length < 0 || chunkSize < 1 ||
+                chunkSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("offset and length must not " +
+                    "be negative, and chunkSize must be between 1 and " +
+                    Integer.MAX_VALUE);
+        }
+        long start = System.currentTimeMillis();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long end = offset + Math.min(length, Math.max(0, channel.size() - offset));
+            for (long position = offset; position < end; position += chunkSize) {
+                long size = Math.min(chunkSize, end - position);
+                // The mapping is released when the buffer is collected, but
+                // the pages stay in the page cache.
+                channel.map(FileChannel.MapMode.READ_ONLY, position, size).load();
+            }
+            return new Result(Math.max(0, end - offset),
+                    System.currentTimeMillis() - start);
+        }
+    }
+}
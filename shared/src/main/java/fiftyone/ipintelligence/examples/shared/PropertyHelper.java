@@ -22,6 +22,7 @@
 
 package fiftyone.ipintelligence.examples.shared;
 
+import fiftyone.pipeline.core.data.ElementData;
 import fiftyone.pipeline.core.data.IWeightedValue;
 import fiftyone.pipeline.core.data.WktString;
 import fiftyone.pipeline.engines.data.AspectPropertyValue;
@@ -224,4 +225,59 @@ public class PropertyHelper {
         return (T) value;
     }
 
+    /**
+     * Helper to get the first value of a property by name, for example when
+     * the properties are taken from configuration rather than code.
+     * @param data the element data to get the property from
+     * @param property the name of the property
+     * @return the first unwrapped value, or null when there is no value or
+     * the property is not available
+     */
+    public static Object firstValueOf(ElementData data, String property) {
+        Object value;
+        try {
+            value = data.get(property);
+        } catch (RuntimeException e) {
+            // The property is not available in the data file.
+            return null;
+        }
+        if (value instanceof AspectPropertyValue) {
+            value = firstValue((AspectPropertyValue<?>) value);
+        }
+        return value;
+    }
+
+    /**
+     * Helper to get the value of a property by name as a string, rendered
+     * in the same way as {@link #asStringProperty(AspectPropertyValue)},
+     * for example when caching the values written by code that uses the
+     * typed getters.
+     * @param data the element data to get the property from
+     * @param property the name of the property
+     * @return the value as a string or a "no value" message
+     */
+    public static String valueAsString(ElementData data, String property) {
+        Object value = data.get(property);
+        if (value instanceof AspectPropertyValue) {
+            AspectPropertyValue<?> propertyValue = (AspectPropertyValue<?>) value;
+            return propertyValue.hasValue() ?
+                    unwrapValue(propertyValue.getValue()) :
+                    reportNoValue(propertyValue);
+        }
+        return value == null ? reportNoValue(null) : unwrapValue(value);
+    }
+
+    /**
+     * Helper to get the first value of a property by name as a string, for
+     * example when caching a configurable projection of properties.
+     * @param data the element data to get the property from
+     * @param property the name of the property
+     * @return the first unwrapped value as a string, or null when there is
+     * no value or the property is not available
+     */
+    public static String firstValueAsString(ElementData data, String property) {
+        Object value = firstValueOf(data, property);
+        return value == null ? null : value.toString();
+    }
+
 }
@@ -0,0 +1,323 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.shared;
+
+import fiftyone.ipintelligence.shared.IPIntelligenceData;
+import fiftyone.pipeline.core.data.FlowData;
+import fiftyone.pipeline.core.flowelements.Pipeline;
+import fiftyone.pipeline.engines.services.DataUpdateService;
+import fiftyone.pipeline.engines.services.OnUpdateComplete;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static fiftyone.ipintelligence.examples.shared.PropertyHelper.firstValue;
+import static fiftyone.ipintelligence.examples.shared.PropertyHelper.firstValueAsString;
+import static fiftyone.ipintelligence.examples.shared.PropertyHelper.tryGet;
+
+/**
+ * Caches IP Intelligence results by IP range in front of a pipeline.
+ * <p>
+ * Every IP address in a network range returns the same IP Intelligence
+ * data, so when traffic is concentrated on relatively few ranges most
+ * lookups can be answered without calling the engine. On a miss the IP
+ * address is processed by the pipeline and the {@code IpRangeStart} and
+ * {@code IpRangeEnd} returned are used to add the projected property values
+ * to a sorted interval index. Later IP addresses are found with a single
+ * floor search of the index.
+ * <p>
+ * The pipeline must be built with the IpRangeStart and IpRangeEnd
+ * properties enabled as well as the properties to cache. The cache must be
+ * invalidated when the data file is reloaded, either by calling
+ * {@link #invalidate()} or by registering the cache with the data update
+ * service using {@link DataUpdateService#onUpdateComplete(OnUpdateComplete)}.
+ * <p>
+ * When the number of ranges reaches the maximum a range is evicted for each
+ * new one using the CLOCK approximation of least recently used: ranges are
+ * marked when they answer a lookup, and a hand moving around the ranges
+ * clears the marks, evicting the first range it finds unmarked. Adding and
+ * evicting ranges takes a lock, but lookups answered from the cache do not.
+ * Instances are thread safe.
+ */
+public class RangeResultCache implements OnUpdateComplete {
+
+    /**
+     * Default maximum number of ranges held.
+     */
+    public static final int DEFAULT_MAX_RANGES = 100000;
+
+    /**
+     * Evidence key used to pass the IP address to the pipeline.
+     */
+    public static final String EVIDENCE_KEY = "query.client-ip";
+
+    /**
+     * A range of IP addresses and the property values for every address in
+     * the range.
+     */
+    private static class Range {
+        final IpAddressKey end;
+        final String[] values;
+        /**
+         * Set when the range answers a lookup, and cleared by the clock hand.
+         */
+        volatile boolean referenced;
+
+        Range(IpAddressKey end, String[] values) {
+            this.end = end;
+            this.values = values;
+        }
+    }
+
+    private final Pipeline pipeline;
+
+    private final String[] properties;
+
+    private final int maxRanges;
+
+    private final ConcurrentSkipListMap<IpAddressKey, Range> ranges =
+            new ConcurrentSkipListMap<>();
+
+    /**
+     * Number of entries in the ranges, as the size of a skip list is found
+     * by walking it.
+     */
+    private final AtomicInteger count = new AtomicInteger();
+
+    /**
+     * Start of each cached range in the order they were added, which the
+     * clock hand moves around. Guarded by the instance lock.
+     */
+    private final IpAddressKey[] clock;
+
+    private int hand;
+
+    /**
+     * Incremented when the cache is invalidated so that results from
+     * lookups which started before are not added afterwards.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs a new instance of {@link RangeResultCache} with the
+     * {@link #DEFAULT_MAX_RANGES}.
+     * @param pipeline containing an IP Intelligence engine
+     * @param properties names of the properties to cache
+     */
+    public RangeResultCache(Pipeline pipeline, List<String> properties) {
+        this(pipeline, properties, DEFAULT_MAX_RANGES);
+    }
+
+    /**
+     * Constructs a new instance of {@link RangeResultCache}.
+     * @param pipeline containing an IP Intelligence engine
+     * @param properties names of the properties to cache
+     * @param maxRanges maximum number of ranges held
+     */
+    public RangeResultCache(Pipeline pipeline,
+                            List<String> properties,
+                            int maxRanges) {
+        if (maxRanges < 1) {
+            throw new IllegalArgumentException(
+                    "Maximum ranges must be greater than 0");
+        }
+        this.pipeline = pipeline;
+        this.properties = properties.toArray(new String[0]);
+        this.maxRanges = maxRanges;
+        this.clock = new IpAddressKey[maxRanges];
+    }
+
+    /**
+     * Returns the values of the cached properties for the IP address,
+     * processing it with the pipeline only if it is not in a cached range.
+     * @param ip the IP address
+     * @return the values in the same order as {@link #getProperties()}, null
+     * where the property has no value. The array must not be modified.
+     */
+    public String[] lookup(String ip) throws Exception {
+        IpAddressKey key = IpAddressKey.parse(ip);
+        if (key != null) {
+            Map.Entry<IpAddressKey, Range> entry = ranges.floorEntry(key);
+            if (entry != null && key.compareTo(entry.getValue().end) <= 0) {
+                Range range = entry.getValue();
+                // Only write when needed to keep hot ranges cheap to read.
+                if (range.referenced == false) {
+                    range.referenced = true;
+                }
+                hits.increment();
+                return range.values;
+            }
+        }
+        misses.increment();
+
+        long current = generation.get();
+        try (FlowData flowData = pipeline.createFlowData()) {
+            flowData.addEvidence(EVIDENCE_KEY, ip);
+            flowData.process();
+            IPIntelligenceData data = flowData.get(IPIntelligenceData.class);
+
+            String[] values = new String[properties.length];
+            for (int i = 0; i < properties.length; i++) {
+                values[i] = firstValueAsString(data, properties[i]);
+            }
+
+            InetAddress start = firstValue(tryGet(data::getIpRangeStart));
+            InetAddress end = firstValue(tryGet(data::getIpRangeEnd));
+            if (key != null && start != null && end != null) {
+                add(IpAddressKey.of(start), IpAddressKey.of(end), values,
+                        current);
+            }
+            return values;
+        }
+    }
+
+    /**
+     * Removes all the cached ranges. Must be called when the engine's data
+     * file is reloaded.
+     */
+    public synchronized void invalidate() {
+        generation.incrementAndGet();
+        ranges.clear();
+        Arrays.fill(clock, null);
+        hand = 0;
+        count.set(0);
+    }
+
+    /**
+     * Invalidates the cache when the data update service has refreshed the
+     * engine with a new data file.
+     */
+    @Override
+    public void call(Object sender, DataUpdateService.DataUpdateCompleteArgs args) {
+        if (args.getStatus() ==
+                DataUpdateService.AutoUpdateStatus.AUTO_UPDATE_SUCCESS) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Names of the cached properties in the order of the values returned
+     * from {@link #lookup(String)}.
+     */
+    public List<String> getProperties() {
+        List<String> names = new ArrayList<>(properties.length);
+        Collections.addAll(names, properties);
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Returns the first address of the cached range containing the IP
+     * address.
+     * @param ip the IP address
+     * @return the start of the range, or null if the IP address is not in a
+     * cached range
+     */
+    public String getRangeStart(String ip) {
+        IpAddressKey key = IpAddressKey.parse(ip);
+        if (key == null) {
+            return null;
+        }
+        Map.Entry<IpAddressKey, Range> entry = ranges.floorEntry(key);
+        return entry != null && key.compareTo(entry.getValue().end) <= 0 ?
+                entry.getKey().toString() :
+                null;
+    }
+
+    /**
+     * Number of ranges currently cached.
+     */
+    public int size() {
+        return count.get();
+    }
+
+    /**
+     * Number of lookups answered from the cache.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of lookups processed by the pipeline.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Adds the range unless the cache has been invalidated since the lookup
+     * started, evicting a range first if the index is full. Holding the
+     * lock means an invalidation can not happen part way through.
+     */
+    private synchronized void add(IpAddressKey start,
+                                  IpAddressKey end,
+                                  String[] values,
+                                  long expectedGeneration) {
+        if (start.compareTo(end) > 0 ||
+                generation.get() != expectedGeneration ||
+                ranges.containsKey(start)) {
+            return;
+        }
+        int slot = count.get();
+        if (slot >= maxRanges) {
+            slot = evict();
+        }
+        ranges.put(start, new Range(end, values));
+        clock[slot] = start;
+        count.incrementAndGet();
+    }
+
+    /**
+     * Moves the clock hand until it finds a range which has not answered a
+     * lookup since the hand last passed, clearing the marks of those which
+     * have, then removes it. Ends within two turns of the clock.
+     * @return the slot of the range removed
+     */
+    private int evict() {
+        while (true) {
+            int slot = hand;
+            hand = (hand + 1) % maxRanges;
+            Range range = ranges.get(clock[slot]);
+            if (range.referenced) {
+                range.referenced = false;
+            } else {
+                ranges.remove(clock[slot]);
+                clock[slot] = null;
+                count.decrementAndGet();
+                return slot;
+            }
+        }
+    }
+}
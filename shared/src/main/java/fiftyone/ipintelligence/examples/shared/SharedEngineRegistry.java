@@ -0,0 +1,279 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.shared;
+
+import fiftyone.ipintelligence.engine.onpremise.flowelements.IPIntelligenceOnPremiseEngine;
+import fiftyone.ipintelligence.engine.onpremise.flowelements.IPIntelligenceOnPremiseEngineBuilder;
+import fiftyone.pipeline.core.flowelements.Pipeline;
+import fiftyone.pipeline.engines.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Shares one on-premise IP Intelligence engine between all the pipelines in
+ * a process which use the same data file and performance profile, so the
+ * memory for the data file is used once rather than once per pipeline.
+ * <p>
+ * {@link #acquire(String, Constants.PerformanceProfiles)} returns a
+ * {@link Lease} on the engine for the data file and profile, building the
+ * engine if no other lease is held. The engine is added to any number of
+ * pipelines with {@code PipelineBuilder.addFlowElement}, which must not be
+ * set to close their elements. When the last lease is closed the engine is
+ * closed. {@link #build(String, Constants.PerformanceProfiles, PipelineFactory)}
+ * ties a lease to a single pipeline, so the lease is released when the
+ * pipeline is closed.
+ * <pre>{@code
+ * try (SharedEngineRegistry.SharedPipeline shared =
+ *         SharedEngineRegistry.getInstance().build(dataFile, MaxPerformance,
+ *             engine -> new PipelineBuilder()
+ *                 .addFlowElement(engine)
+ *                 .build())) {
+ *     shared.getPipeline().createFlowData()...
+ * }
+ * }</pre>
+ * Engines are built with auto update and the file system watcher disabled,
+ * as a reload would affect every pipeline using the engine. Instances are
+ * thread safe.
+ */
+public class SharedEngineRegistry {
+
+    /**
+     * Builds the engine for a data file and profile.
+     */
+    public interface EngineFactory {
+        IPIntelligenceOnPremiseEngine build(
+                String dataFile,
+                Constants.PerformanceProfiles profile) throws Exception;
+    }
+
+    /**
+     * Builds a pipeline containing the shared engine.
+     */
+    public interface PipelineFactory {
+        Pipeline build(IPIntelligenceOnPremiseEngine engine) throws Exception;
+    }
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(SharedEngineRegistry.class);
+
+    private static final SharedEngineRegistry instance = new SharedEngineRegistry();
+
+    /**
+     * An engine and the number of leases on it.
+     */
+    private static final class Entry {
+        private final IPIntelligenceOnPremiseEngine engine;
+        private int references;
+
+        private Entry(IPIntelligenceOnPremiseEngine engine) {
+            this.engine = engine;
+        }
+    }
+
+    /**
+     * A reference to a shared engine, released when closed.
+     */
+    public final class Lease implements AutoCloseable {
+        private final String key;
+        private final Entry entry;
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        private Lease(String key, Entry entry) {
+            this.key = key;
+            this.entry = entry;
+        }
+
+        /**
+         * @return the shared engine, valid until this lease is closed
+         */
+        public IPIntelligenceOnPremiseEngine getEngine() {
+            return entry.engine;
+        }
+
+        /**
+         * Releases this reference, closing the engine if it was the last.
+         * Closing more than once has no further effect.
+         */
+        @Override
+        public void close() throws Exception {
+            if (closed.compareAndSet(false, true)) {
+                release(key, entry);
+            }
+        }
+    }
+
+    /**
+     * A pipeline holding a lease on its shared engine, which is released
+     * when the pipeline is closed.
+     */
+    public static final class SharedPipeline implements AutoCloseable {
+        private final Pipeline pipeline;
+        private final Lease lease;
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+
+        private SharedPipeline(Pipeline pipeline, Lease lease) {
+            this.pipeline = pipeline;
+            this.lease = lease;
+        }
+
+        /**
+         * @return the pipeline
+         */
+        public Pipeline getPipeline() {
+            return pipeline;
+        }
+
+        /**
+         * @return the shared engine in the pipeline
+         */
+        public IPIntelligenceOnPremiseEngine getEngine() {
+            return lease.getEngine();
+        }
+
+        /**
+         * Closes the pipeline and releases its lease on the engine. Closing
+         * more than once has no further effect.
+         */
+        @Override
+        public void close() throws Exception {
+            if (closed.compareAndSet(false, true) == false) {
+                return;
+            }
+            try {
+                pipeline.close();
+            } finally {
+                lease.close();
+            }
+        }
+    }
+
+    private final EngineFactory factory;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * Constructs a new instance of {@link SharedEngineRegistry} which builds
+     * engines from the data file without a temporary copy.
+     */
+    public SharedEngineRegistry() {
+        this((dataFile, profile) ->
+                new IPIntelligenceOnPremiseEngineBuilder(LoggerFactory.getILoggerFactory())
+                        .setPerformanceProfile(profile)
+                        .setAutoUpdate(false)
+                        .setDataFileSystemWatcher(false)
+                        .setDataUpdateOnStartup(false)
+                        .build(dataFile, false));
+    }
+
+    /**
+     * Constructs a new instance of {@link SharedEngineRegistry}.
+     * @param factory builds the engines
+     */
+    public SharedEngineRegistry(EngineFactory factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * @return the registry shared by the whole process
+     */
+    public static SharedEngineRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * Takes a lease on the engine for the data file and profile, building
+     * the engine if there is none. Other data files and profiles wait while
+     * an engine is built.
+     * @param dataFile path to the data file
+     * @param profile performance profile of the engine
+     * @return a lease on the engine, which must be closed when no pipeline
+     * uses it
+     */
+    public synchronized Lease acquire(String dataFile,
+                                      Constants.PerformanceProfiles profile) throws Exception {
+        String key = key(dataFile, profile);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            logger.info("Building shared engine for '{}'", key);
+            entry = new Entry(factory.build(dataFile, profile));
+            entries.put(key, entry);
+        }
+        entry.references++;
+        return new Lease(key, entry);
+    }
+
+    /**
+     * Builds a pipeline with the shared engine for the data file and
+     * profile, which holds a lease on the engine until it is closed.
+     * @param dataFile path to the data file
+     * @param profile performance profile of the engine
+     * @param pipelineFactory builds the pipeline, adding the engine to it
+     * @return the pipeline
+     */
+    public SharedPipeline build(String dataFile,
+                                Constants.PerformanceProfiles profile,
+                                PipelineFactory pipelineFactory) throws Exception {
+        Lease lease = acquire(dataFile, profile);
+        try {
+            return new SharedPipeline(pipelineFactory.build(lease.getEngine()), lease);
+        } catch (Exception e) {
+            lease.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @param dataFile path to the data file
+     * @param profile performance profile of the engine
+     * @return number of leases held on the engine, or 0 if there is none
+     */
+    public synchronized int getReferences(String dataFile,
+                                          Constants.PerformanceProfiles profile) {
+        Entry entry = entries.get(key(dataFile, profile));
+        return entry == null ? 0 : entry.references;
+    }
+
+    private synchronized void release(String key, Entry entry) throws Exception {
+        entry.references--;
+        if (entry.references == 0) {
+            if (entries.get(key) == entry) {
+                entries.remove(key);
+            }
+            logger.info("Closing shared engine for '{}'", key);
+            entry.engine.close();
+        }
+    }
+
+    private static String key(String dataFile,
+                              Constants.PerformanceProfiles profile) {
+        Objects.requireNonNull(dataFile, "dataFile");
+        Objects.requireNonNull(profile, "profile");
+        return Paths.get(dataFile).toAbsolutePath().normalize() + "|" + profile;
+    }
+}
@@ -0,0 +1,130 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.shared;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DataFileDownloaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        Random random = new Random(size);
+        // compressible, but not trivially so
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) random.nextInt(16);
+        }
+        return content;
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    private static String md5(byte[] bytes) throws Exception {
+        return DataFileDownloader.toHex(
+                MessageDigest.getInstance("MD5").digest(bytes));
+    }
+
+    @Test
+    public void testWrite() throws Exception {
+        byte[] content = content(300000);
+        byte[] compressed = gzip(content);
+        Path target = folder.getRoot().toPath().resolve("data.ipi");
+        // a small buffer so that many writes are needed
+        DataFileDownloader.Result result = new DataFileDownloader(4096).write(
+                new ByteArrayInputStream(compressed), md5(compressed), target);
+        assertArrayEquals(content, Files.readAllBytes(target));
+        assertEquals(content.length, result.getBytes());
+        assertEquals(compressed.length, result.getCompressedBytes());
+        assertEquals(md5(compressed), result.getMd5());
+        assertEquals(1, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void testReplaceLarger() throws Exception {
+        Path target = folder.getRoot().toPath().resolve("data.ipi");
+        Files.write(target, content(500000));
+        byte[] content = content(200000);
+        new DataFileDownloader().write(
+                new ByteArrayInputStream(gzip(content)), null, target);
+        // none of the larger file remains
+        assertArrayEquals(content, Files.readAllBytes(target));
+    }
+
+    @Test
+    public void testMd5Mismatch() throws Exception {
+        Path target = folder.getRoot().toPath().resolve("data.ipi");
+        byte[] original = content(1000);
+        Files.write(target, original);
+        byte[] compressed = gzip(content(2000));
+        try {
+            new DataFileDownloader().write(new ByteArrayInputStream(compressed),
+                    md5(original), target);
+            fail("An MD5 mismatch should fail the update");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("MD5"));
+        }
+        assertArrayEquals("The target should be unchanged",
+                original, Files.readAllBytes(target));
+        assertEquals("The temporary file should be deleted",
+                1, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void testCorrupt() throws Exception {
+        Path target = folder.getRoot().toPath().resolve("data.ipi");
+        byte[] compressed = gzip(content(2000));
+        compressed[compressed.length / 2] ^= 0x55;
+        try {
+            new DataFileDownloader().write(
+                    new ByteArrayInputStream(compressed), null, target);
+            fail("A corrupt download should fail the update");
+        } catch (IOException e) {
+            // expected
+        }
+        assertEquals(0, folder.getRoot().list().length);
+    }
+}
@@ -0,0 +1,119 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.shared;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+public class DataFileHeaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRead() throws Exception {
+        Path file = write(4, 2024, 3, 15, "Enterprise");
+        DataFileHeader header = DataFileHeader.read(file);
+        assertEquals("4.1.0.0", header.getVersion());
+        assertEquals("Enterprise", header.getTier());
+        assertEquals("2024-03-15", format(header.getPublished()));
+        assertEquals("2024-03-22", format(header.getNextUpdate()));
+        assertEquals(file.toString(), header.getDataFilePath());
+    }
+
+    @Test
+    public void testInvalid() throws Exception {
+        assertInvalid(write(3, 2024, 3, 15, "Lite"));
+        assertInvalid(write(4, 2024, 13, 15, "Lite"));
+        Path small = folder.newFile("small.ipi").toPath();
+        Files.write(small, new byte[10]);
+        assertInvalid(small);
+    }
+
+    /**
+     * Check the header agrees with the metadata from building an engine.
+     */
+    @Test
+    public void testMatchesEngine() throws Exception {
+        String dataFile = DataFileHelper.findAvailableDataFile();
+        assumeTrue("Skipping test, no IP Intelligence data file found",
+                dataFile != null);
+        DataFileHeader header = DataFileHeader.read(Paths.get(dataFile));
+        DataFileHelper.DatafileInfo info = DataFileHelper.getDatafileMetaData(dataFile);
+        assertEquals(info.getTier(), header.getTier());
+        assertEquals(format(info.getFileInfo().getDataPublishedDateTime()),
+                format(header.getPublished()));
+    }
+
+    private Path write(int major, int year, int month, int day, String name)
+            throws IOException {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        int stringsStart = DataFileHeader.HEADER_SIZE + 10;
+        ByteBuffer buffer = ByteBuffer
+                .allocate(stringsStart + 2 + nameBytes.length + 1)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0, major).putInt(4, 1);
+        // Name is the first string.
+        buffer.putInt(58, 0);
+        buffer.putShort(66, (short) year).put(68, (byte) month).put(69, (byte) day);
+        buffer.putShort(70, (short) year).put(72, (byte) month).put(73, (byte) (day + 7));
+        buffer.putInt(74, stringsStart).putInt(78, 2 + nameBytes.length + 1).putInt(82, 1);
+        buffer.putShort(stringsStart, (short) (nameBytes.length + 1));
+        buffer.position(stringsStart + 2);
+        buffer.put(nameBytes);
+        Path file = folder.newFile().toPath();
+        Files.write(file, buffer.array());
+        return file;
+    }
+
+    private static void assertInvalid(Path file) {
+        try {
+            DataFileHeader.read(file);
+            fail("Header should not be valid");
+        } catch (IOException e) {
+            // Expected.
+        }
+    }
+
+    private static String format(Date date) {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd");
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format.format(date);
+    }
+}
@@ -0,0 +1,133 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.shared;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DataFileLocatorTest {
+
+    private static final String RELATIVE = "ip-intelligence-data/test.ipi";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path create(Path directory) throws Exception {
+        Path file = directory.resolve(RELATIVE);
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[]{1, 2, 3});
+        return file;
+    }
+
+    @Test
+    public void testShallowestWins() throws Exception {
+        Path root = folder.newFolder("root").toPath();
+        create(root.resolve("a/b/c"));
+        Path shallow = create(root.resolve("z"));
+        assertEquals(shallow, DataFileLocator.locate(root, RELATIVE, null, 6));
+    }
+
+    @Test
+    public void testMaxDepth() throws Exception {
+        Path root = folder.newFolder("root").toPath();
+        create(root.resolve("a/b/c"));
+        assertNull(DataFileLocator.locate(root, RELATIVE, null, 2));
+    }
+
+    @Test
+    public void testSkipsBuildOutput() throws Exception {
+        Path root = folder.newFolder("root").toPath();
+        create(root.resolve("target"));
+        create(root.resolve(".git"));
+        assertNull(DataFileLocator.locate(root, RELATIVE, null, 6));
+    }
+
+    @Test
+    public void testAncestor() throws Exception {
+        Path checkout = folder.newFolder("checkout").toPath();
+        Path expected = create(checkout);
+        Path module = Files.createDirectories(checkout.resolve("web/module"));
+        assertEquals(expected, DataFileLocator.locate(module, RELATIVE, null, 6));
+    }
+
+    @Test
+    public void testIndex() throws Exception {
+        Path root = folder.newFolder("root").toPath();
+        Path index = folder.getRoot().toPath().resolve("index.properties");
+        Path first = create(root.resolve("x"));
+        assertEquals(first, DataFileLocator.locate(root, RELATIVE, index, 6));
+        assertTrue(Files.exists(index));
+
+        // a shallower copy is not found while the indexed file is unchanged
+        create(root);
+        assertEquals(first, DataFileLocator.locate(root, RELATIVE, index, 6));
+
+        // the entry is not used once the indexed file has been modified
+        Files.setLastModifiedTime(first,
+                FileTime.fromMillis(System.currentTimeMillis() - 60000));
+        assertEquals(root.resolve(RELATIVE),
+                DataFileLocator.locate(root, RELATIVE, index, 6));
+    }
+
+    @Test
+    public void testMissingCleared() throws Exception {
+        Path root = folder.newFolder("root").toPath();
+        assertNull(DataFileLocator.locate(root, RELATIVE, null, 6));
+
+        // a file which appears later is not searched for again straight away
+        Path downloaded = create(root);
+        assertNull(DataFileLocator.locate(root, RELATIVE, null, 6));
+
+        // until the misses are cleared, as they are after a download
+        DataFileLocator.clearMissing();
+        assertEquals(downloaded, DataFileLocator.locate(root, RELATIVE, null, 6));
+    }
+
+    @Test
+    public void testIndexEntryForOtherFile() throws Exception {
+        Path root = folder.newFolder("root").toPath();
+        Path expected = create(root.resolve("x"));
+        Path other = folder.newFile("other.ipi").toPath();
+
+        // an entry which does not end with the relative path is ignored
+        Path index = folder.getRoot().toPath().resolve("index.properties");
+        Properties properties = new Properties();
+        properties.setProperty(root.toAbsolutePath().normalize() + "|" + RELATIVE,
+                other + "|" + Files.getLastModifiedTime(other).toMillis());
+        try (OutputStream out = Files.newOutputStream(index)) {
+            properties.store(out, null);
+        }
+        assertEquals(expected, DataFileLocator.locate(root, RELATIVE, index, 6));
+    }
+}
@@ -0,0 +1,112 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.shared;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+
+import static org.junit.Assert.*;
+
+public class IpAddressKeyTest {
+
+    @Test
+    public void testIPv4() throws Exception {
+        assertMatchesInetAddress("116.154.188.222");
+        assertMatchesInetAddress("0.0.0.0");
+        assertMatchesInetAddress("255.255.255.255");
+        assertTrue(IpAddressKey.parse("45.236.48.61").isIPv4());
+        assertEquals("45.236.48.61",
+                IpAddressKey.parse("45.236.48.61").toString());
+    }
+
+    @Test
+    public void testIPv6() throws Exception {
+        assertMatchesInetAddress("2001:0db8:085a:0000:0000:8a2e:0370:7334");
+        assertMatchesInetAddress("2001:db8:85a::8a2e:370:7334");
+        assertMatchesInetAddress("::1");
+        assertMatchesInetAddress("::");
+        assertMatchesInetAddress("fe80::");
+        assertMatchesInetAddress("2001:db8::1:0:0:1");
+        assertFalse(IpAddressKey.parse("2001:db8::1").isIPv4());
+    }
+
+    @Test
+    public void testIPv4MappedEqualsIPv4() {
+        assertEquals(IpAddressKey.parse("1.2.3.4"),
+                IpAddressKey.parse("::ffff:1.2.3.4"));
+        assertEquals(IpAddressKey.parse("1.2.3.4"),
+                IpAddressKey.parse("::ffff:102:304"));
+    }
+
+    @Test
+    public void testZoneIgnored() {
+        assertEquals(IpAddressKey.parse("fe80::1"),
+                IpAddressKey.parse("fe80::1%eth0"));
+    }
+
+    @Test
+    public void testInvalid() {
+        assertNull(IpAddressKey.parse(""));
+        assertNull(IpAddressKey.parse("1.2.3"));
+        assertNull(IpAddressKey.parse("1.2.3.4.5"));
+        assertNull(IpAddressKey.parse("256.1.1.1"));
+        assertNull(IpAddressKey.parse("1..2.3"));
+        assertNull(IpAddressKey.parse("example.com"));
+        assertNull(IpAddressKey.parse("1:2:3:4:5:6:7"));
+        assertNull(IpAddressKey.parse("1:2:3:4:5:6:7:8:9"));
+        assertNull(IpAddressKey.parse("1::2::3"));
+        assertNull(IpAddressKey.parse(":1:2:3:4:5:6:7"));
+        assertNull(IpAddressKey.parse("1:2:3:4:5:6:7:"));
+        assertNull(IpAddressKey.parse("12345::"));
+        assertNull(IpAddressKey.parse("1:2:3:4:5:6:7::8"));
+    }
+
+    @Test
+    public void testOrdering() {
+        assertTrue(IpAddressKey.parse("1.2.3.4").compareTo(
+                IpAddressKey.parse("1.2.3.5")) < 0);
+        assertTrue(IpAddressKey.parse("200.0.0.0").compareTo(
+                IpAddressKey.parse("10.0.0.0")) > 0);
+        assertTrue(IpAddressKey.parse("1.2.3.4").compareTo(
+                IpAddressKey.parse("2001:db8::")) < 0);
+        assertTrue(IpAddressKey.parse("ffff::").compareTo(
+                IpAddressKey.parse("7fff::")) > 0);
+    }
+
+    @Test
+    public void testRange() {
+        long[] key = new long[2];
+        assertTrue(IpAddressKey.pack("x 10.0.0.1 y", 2, 10, key));
+        assertEquals(IpAddressKey.parse("10.0.0.1"),
+                new IpAddressKey(key[0], key[1]));
+    }
+
+    private static void assertMatchesInetAddress(String ip) throws Exception {
+        InetAddress address = InetAddress.getByName(ip);
+        IpAddressKey key = IpAddressKey.parse(ip);
+        assertNotNull(ip, key);
+        assertEquals(ip, IpAddressKey.of(address), key);
+        assertArrayEquals(address.getAddress(), key.toBytes());
+    }
+}
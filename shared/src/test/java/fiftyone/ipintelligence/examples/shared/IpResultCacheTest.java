@@ -0,0 +1,142 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.shared;
+
+import fiftyone.ipintelligence.IPIntelligencePipelineBuilder;
+import fiftyone.pipeline.core.flowelements.Pipeline;
+import fiftyone.pipeline.engines.Constants;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class IpResultCacheTest {
+
+    /**
+     * Check that frequently seen keys have a higher estimate than keys seen
+     * once, and that the estimates decay once the sample size is reached.
+     */
+    @Test
+    public void testFrequencySketch() {
+        FrequencySketch sketch = new FrequencySketch(1000);
+        IpAddressKey hot = IpAddressKey.parse("192.168.0.1");
+        for (int i = 0; i < 10; i++) {
+            sketch.increment(hot);
+        }
+        for (int i = 0; i < 500; i++) {
+            sketch.increment(IpAddressKey.parse("10.0." + (i / 256) + "." + (i % 256)));
+        }
+        assertEquals(10, sketch.frequency(hot));
+        assertTrue(sketch.frequency(IpAddressKey.parse("10.0.0.1")) <= 2);
+
+        // Adding many more keys halves the counters.
+        for (int i = 0; i < 20000; i++) {
+            sketch.increment(IpAddressKey.parse("172.16." + (i / 256) + "." + (i % 256)));
+        }
+        assertTrue(sketch.frequency(hot) < 10);
+    }
+
+    /**
+     * Check that counters saturate rather than carry into their neighbours
+     * when many threads increment the same key.
+     */
+    @Test
+    public void testFrequencySketchConcurrent() throws Exception {
+        FrequencySketch sketch = new FrequencySketch(100000);
+        IpAddressKey hot = IpAddressKey.parse("192.168.0.1");
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    sketch.increment(hot);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(15, sketch.frequency(hot));
+        assertEquals(0, sketch.frequency(IpAddressKey.parse("10.0.0.1")));
+    }
+
+    /**
+     * Check that the concurrency is rounded up to a power of two, including
+     * for a single processor.
+     */
+    @Test
+    public void testConcurrency() {
+        assertEquals(1, new IpResultCache.Builder()
+                .setConcurrency(1)
+                .setProperty("RegisteredCountry")
+                .build(null)
+                .getSegmentCount());
+        assertEquals(4, new IpResultCache.Builder()
+                .setConcurrency(3)
+                .setProperty("RegisteredCountry")
+                .build(null)
+                .getSegmentCount());
+        assertEquals(8, new IpResultCache.Builder()
+                .setConcurrency(8)
+                .setProperty("RegisteredCountry")
+                .build(null)
+                .getSegmentCount());
+    }
+
+    /**
+     * Check that repeated lookups of the same address, in any text form,
+     * are answered from the cache.
+     */
+    @Test
+    public void testLookup() throws Exception {
+        String dataFile = DataFileHelper.findAvailableDataFile();
+        assumeTrue("Skipping test, no IP Intelligence data file found",
+                dataFile != null);
+        try (Pipeline pipeline = new IPIntelligencePipelineBuilder()
+                .useOnPremise(DataFileHelper.getDataFileLocation(dataFile), false)
+                .setPerformanceProfile(Constants.PerformanceProfiles.MaxPerformance)
+                .setShareUsage(false)
+                .setAutoUpdate(false)
+                .setDataUpdateOnStartup(false)
+                .setDataFileSystemWatcher(false)
+                .build()) {
+            IpResultCache cache = new IpResultCache.Builder()
+                    .setMaximumSize(16)
+                    .setProperty("RegisteredCountry")
+                    .build(pipeline);
+
+            IpResultCache.Result first = cache.lookup("2001:db8::1");
+            IpResultCache.Result second = cache.lookup("2001:DB8:0:0:0:0:0:1");
+            assertSame(first, second);
+            assertEquals(first.get(0), first.get("RegisteredCountry"));
+            assertEquals(1, cache.getHits());
+            assertEquals(1, cache.getMisses());
+            assertEquals(0.5, cache.getHitRate(), 0);
+
+            cache.invalidate();
+            assertEquals(0, cache.size());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.shared;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class PageCacheWarmerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file(int size) throws Exception {
+        Path file = folder.newFile().toPath();
+        Files.write(file, new byte[size]);
+        return file;
+    }
+
+    @Test
+    public void testWarmAll() throws Exception {
+        Path file = file(100000);
+        assertEquals(100000, PageCacheWarmer.warm(file).getBytes());
+    }
+
+    @Test
+    public void testWarmSection() throws Exception {
+        Path file = file(100000);
+        // several chunks, the last of them partial
+        assertEquals(50000, PageCacheWarmer.warm(file, 1000, 50000, 4096).getBytes());
+        // limited to the end of the file
+        assertEquals(10000, PageCacheWarmer.warm(file, 90000, 50000, 4096).getBytes());
+        assertEquals(0, PageCacheWarmer.warm(file, 200000, 50000, 4096).getBytes());
+    }
+
+    @Test
+    public void testInvalid() throws Exception {
+        Path file = file(10);
+        try {
+            PageCacheWarmer.warm(file, -1, 10, 4096);
+            fail("A negative offset should be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            PageCacheWarmer.warm(file, 0, 10, 0);
+            fail("A zero chunk size should be rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
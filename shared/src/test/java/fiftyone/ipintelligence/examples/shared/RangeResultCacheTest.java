@@ -0,0 +1,117 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.shared;
+
+import fiftyone.ipintelligence.IPIntelligencePipelineBuilder;
+import fiftyone.pipeline.core.flowelements.Pipeline;
+import fiftyone.pipeline.engines.Constants;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeTrue;
+
+public class RangeResultCacheTest {
+
+    /**
+     * Check that addresses in the same range are answered from the cache
+     * with the same values as the pipeline, and that invalidating the cache
+     * sends the next lookup to the pipeline.
+     */
+    @Test
+    public void testSameRange() throws Exception {
+        String dataFile = DataFileHelper.findAvailableDataFile();
+        assumeTrue("Skipping test, no IP Intelligence data file found",
+                dataFile != null);
+        try (Pipeline pipeline = new IPIntelligencePipelineBuilder()
+                .useOnPremise(DataFileHelper.getDataFileLocation(dataFile), false)
+                .setPerformanceProfile(Constants.PerformanceProfiles.MaxPerformance)
+                .setShareUsage(false)
+                .setAutoUpdate(false)
+                .setDataUpdateOnStartup(false)
+                .setDataFileSystemWatcher(false)
+                .setProperty("IpRangeStart")
+                .setProperty("IpRangeEnd")
+                .setProperty("RegisteredCountry")
+                .build()) {
+            RangeResultCache cache = new RangeResultCache(
+                    pipeline, Arrays.asList("RegisteredCountry"));
+
+            String[] first = cache.lookup("185.28.167.77");
+            assertEquals(1, cache.getMisses());
+            assumeTrue("Skipping test, data file does not return ranges",
+                    cache.size() == 1);
+
+            // The range start is always in the same range as the address.
+            String[] second = cache.lookup(cache.getRangeStart("185.28.167.77"));
+            assertEquals(1, cache.getHits());
+            assertArrayEquals(first, second);
+
+            cache.invalidate();
+            assertEquals(0, cache.size());
+            cache.lookup("185.28.167.77");
+            assertEquals(2, cache.getMisses());
+        }
+    }
+
+    /**
+     * Check that when the cache is full a single range is evicted, one that
+     * has not been used recently, rather than the whole cache.
+     */
+    @Test
+    public void testEvictsUnusedRange() throws Exception {
+        String dataFile = DataFileHelper.findAvailableDataFile();
+        assumeTrue("Skipping test, no IP Intelligence data file found",
+                dataFile != null);
+        try (Pipeline pipeline = new IPIntelligencePipelineBuilder()
+                .useOnPremise(DataFileHelper.getDataFileLocation(dataFile), false)
+                .setPerformanceProfile(Constants.PerformanceProfiles.MaxPerformance)
+                .setShareUsage(false)
+                .setAutoUpdate(false)
+                .setDataUpdateOnStartup(false)
+                .setDataFileSystemWatcher(false)
+                .setProperty("IpRangeStart")
+                .setProperty("IpRangeEnd")
+                .setProperty("RegisteredCountry")
+                .build()) {
+            RangeResultCache cache = new RangeResultCache(
+                    pipeline, Arrays.asList("RegisteredCountry"), 2);
+
+            cache.lookup("185.28.167.77");
+            cache.lookup("8.8.8.8");
+            assumeTrue("Skipping test, data file does not return ranges",
+                    cache.size() == 2);
+            // Used since it was added, so not evicted.
+            cache.lookup("185.28.167.77");
+            cache.lookup("1.1.1.1");
+            assertEquals(2, cache.size());
+            assertNotNull(cache.getRangeStart("185.28.167.77"));
+            assertNull(cache.getRangeStart("8.8.8.8"));
+            assertNotNull(cache.getRangeStart("1.1.1.1"));
+        }
+    }
+}
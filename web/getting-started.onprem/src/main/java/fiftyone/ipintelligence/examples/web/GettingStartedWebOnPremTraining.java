@@ -0,0 +1,90 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.web;
+
+import fiftyone.ipintelligence.examples.shared.DataFileHelper;
+import org.eclipse.jetty.server.Server;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+import static fiftyone.common.testhelpers.LogbackHelper.configureLogback;
+import static fiftyone.ipintelligence.examples.shared.DataFileHelper.ENTERPRISE_DATA_FILE_REL_PATH;
+import static fiftyone.ipintelligence.examples.web.GettingStartedWebOnPrem.getResourceBase;
+import static fiftyone.pipeline.util.FileFinder.getFilePath;
+
+/**
+ * A short, representative workload which loads the classes that
+ * {@link GettingStartedWebOnPrem} needs to serve its first page: starting
+ * Jetty and the web application, building the pipeline from its
+ * configuration and processing requests. The appcds Maven profile runs this
+ * with {@code -XX:ArchiveClassesAtExit} to write a class data sharing
+ * archive of every class loaded, which the example is then started with to
+ * shorten its start-up.
+ */
+public class GettingStartedWebOnPremTraining {
+    private static final Logger logger =
+            LoggerFactory.getLogger(GettingStartedWebOnPremTraining.class);
+
+    /**
+     * Number of requests made, so the classes used by every request and not
+     * just the first are loaded.
+     */
+    public static final int REQUESTS = 10;
+
+    public static void main(String[] args) throws Exception {
+        configureLogback(getFilePath("logback.xml"));
+        String dataFile = args.length > 0 ? args[0] : ENTERPRISE_DATA_FILE_REL_PATH;
+        System.setProperty("TestDataFile",
+                DataFileHelper.getDataFileLocation(dataFile));
+
+        // An OS assigned port, so the build does not clash with a running
+        // example.
+        Server server = EmbedJetty.startWebApp(
+                getFilePath(getResourceBase()).getAbsolutePath(), 0);
+        try {
+            URL url = new URL("http://localhost:" + EmbedJetty.boundPort(server) + "/");
+            for (int i = 0; i < REQUESTS; i++) {
+                HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+                int code = connection.getResponseCode();
+                if (code != HttpURLConnection.HTTP_OK) {
+                    throw new IllegalStateException(
+                            "Training request failed with status " + code);
+                }
+                try (InputStream response = connection.getInputStream()) {
+                    byte[] buffer = new byte[8192];
+                    while (response.read(buffer) >= 0) {
+                        // read the whole page
+                    }
+                }
+                connection.disconnect();
+            }
+            logger.info("Made {} training requests", REQUESTS);
+        } finally {
+            EmbedJetty.stopAndJoin(server);
+        }
+    }
+}
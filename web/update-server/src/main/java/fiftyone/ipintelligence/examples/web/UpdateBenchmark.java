@@ -0,0 +1,443 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+/*!
+ * @example web/UpdateBenchmark.java
+ *
+ * This example benchmarks automatic data file updates against the local UpdateServer, so
+ * that update performance can be measured, and regression tested, without a license key or
+ * network access.
+ *
+ * The following are measured:
+ *
+ * 1. The time to download the gzipped data file, verify its MD5 and decompress it, both as
+ * separate steps and as the single streaming pass made by DataFileDownloader.
+ * 2. The time for a running pipeline to reload the new data file once it is in place, and
+ * the latency of lookups made during the reload compared to those made at other times.
+ * 3. The time to build a pipeline which downloads its data file from the server on
+ * start-up, which covers the whole update process as performed by the update client.
+ *
+ * Arguments are the data file to serve, the download rate limit in bytes per second (0 for
+ * unlimited), and the number of lookup threads.
+ *
+ * This example is available in full on [GitHub](https://github.com/51Degrees/ip-intelligence-java-examples/blob/main/web/update-server/src/main/java/fiftyone/ipintelligence/examples/web/UpdateBenchmark.java).
+ *
+ * Required Maven Dependencies:
+ * - [com.51degrees:ip-intelligence](https://central.sonatype.com/artifact/com.51degrees/ip-intelligence)
+ */
+
+package fiftyone.ipintelligence.examples.web;
+
+import fiftyone.ipintelligence.IPIntelligencePipelineBuilder;
+import fiftyone.ipintelligence.examples.shared.DataFileDownloader;
+import fiftyone.ipintelligence.examples.shared.DataFileHelper;
+import fiftyone.pipeline.core.data.FlowData;
+import fiftyone.pipeline.core.flowelements.Pipeline;
+import fiftyone.pipeline.engines.Constants;
+import fiftyone.pipeline.engines.services.DataUpdateService;
+import fiftyone.pipeline.engines.services.DataUpdateServiceDefault;
+import org.eclipse.jetty.server.Server;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static fiftyone.common.testhelpers.LogbackHelper.configureLogback;
+import static fiftyone.ipintelligence.examples.shared.DataFileHelper.ENTERPRISE_DATA_FILE_REL_PATH;
+import static fiftyone.pipeline.util.FileFinder.getFilePath;
+
+/**
+ * Benchmarks the stages of a data file update using a local {@link UpdateServer}.
+ */
+public class UpdateBenchmark {
+    public static final int DEFAULT_THREADS = 4;
+    // maximum time to wait for a reload to complete
+    public static final long RELOAD_TIMEOUT_SECONDS = 120;
+    // IP addresses used for the lookups made during the benchmark
+    private static final String[] IPS = {
+            "116.154.188.222", "45.236.48.61", "2001:0db8:085a:0000:0000:8a2e:0370:7334",
+            "8.8.8.8", "1.1.1.1", "185.28.167.77", "2a01:4f8:0:a0a1::2"};
+    private static final Logger logger = LoggerFactory.getLogger(UpdateBenchmark.class);
+
+    /**
+     * The measurements from a run of the benchmark. Times are in milliseconds and
+     * latencies in microseconds.
+     */
+    public static class Result {
+        long downloadMillis;
+        long verifyMillis;
+        long decompressMillis;
+        long streamingMillis;
+        long reloadMillis;
+        long startupUpdateMillis;
+        String startupUpdateStatus;
+        long[] normalLatency;
+        long[] reloadLatency;
+
+        public long getDownloadMillis() {
+            return downloadMillis;
+        }
+
+        public long getVerifyMillis() {
+            return verifyMillis;
+        }
+
+        public long getDecompressMillis() {
+            return decompressMillis;
+        }
+
+        public long getStreamingMillis() {
+            return streamingMillis;
+        }
+
+        public long getReloadMillis() {
+            return reloadMillis;
+        }
+
+        public long getStartupUpdateMillis() {
+            return startupUpdateMillis;
+        }
+
+        public String getStartupUpdateStatus() {
+            return startupUpdateStatus;
+        }
+
+        /**
+         * @param quantile between 0 and 1
+         * @return latency of lookups made while no reload was in progress
+         */
+        public long getNormalLatency(double quantile) {
+            return percentile(normalLatency, quantile);
+        }
+
+        /**
+         * @param quantile between 0 and 1
+         * @return latency of lookups made while a reload was in progress
+         */
+        public long getReloadLatency(double quantile) {
+            return percentile(reloadLatency, quantile);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        configureLogback(getFilePath("logback.xml"));
+        String dataFile = args.length > 0 ? args[0] : ENTERPRISE_DATA_FILE_REL_PATH;
+        long bytesPerSecond = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_THREADS;
+        run(DataFileHelper.getDataFileLocation(dataFile), bytesPerSecond, threads,
+                new PrintWriter(System.out, true));
+    }
+
+    /**
+     * Run the benchmark.
+     * @param dataFileLocation the data file to serve and update to
+     * @param bytesPerSecond download rate limit, 0 for unlimited
+     * @param threads number of threads making lookups during the reload
+     * @param writer somewhere for the report
+     * @return the measurements
+     */
+    public static Result run(String dataFileLocation,
+                             long bytesPerSecond,
+                             int threads,
+                             PrintWriter writer) throws Exception {
+        logger.info("Running UpdateBenchmark using data file '{}'", dataFileLocation);
+        Map<String, String> initParams = new HashMap<>();
+        initParams.put(UpdateServer.DATA_FILE_INIT_PARAM, dataFileLocation);
+        initParams.put(UpdateServer.BYTES_PER_SECOND_INIT_PARAM, Long.toString(bytesPerSecond));
+        // bind an OS-assigned ephemeral port so runs do not conflict
+        Server server = EmbedJetty.startServlet("/*", 0, UpdateServer.class, initParams);
+        Path workDir = Files.createTempDirectory("update-benchmark-");
+        Result result = new Result();
+        try {
+            String url = "http://localhost:" + EmbedJetty.boundPort(server) + "/";
+            Path update = download(url, workDir, result);
+            reload(url, Paths.get(dataFileLocation), update, workDir, threads, result);
+            startupUpdate(url, workDir, result);
+        } finally {
+            EmbedJetty.stopAndJoin(server);
+            deleteRecursively(workDir);
+        }
+
+        writer.format("Download: %dms%n", result.downloadMillis);
+        writer.format("Verify MD5: %dms%n", result.verifyMillis);
+        writer.format("Decompress: %dms%n", result.decompressMillis);
+        writer.format("Streaming download, verify and decompress: %dms%n",
+                result.streamingMillis);
+        writer.format("Reload: %dms%n", result.reloadMillis);
+        writer.format("Lookups normal: %d, p50 %dus, p99 %dus%n", result.normalLatency.length,
+                result.getNormalLatency(0.5), result.getNormalLatency(0.99));
+        writer.format("Lookups during reload: %d, p50 %dus, p99 %dus%n",
+                result.reloadLatency.length,
+                result.getReloadLatency(0.5), result.getReloadLatency(0.99));
+        writer.format("Update on start-up: %dms, status %s%n",
+                result.startupUpdateMillis, result.startupUpdateStatus);
+        writer.flush();
+        return result;
+    }
+
+    /**
+     * Download, verify and decompress the data file as separate steps so each can be timed,
+     * then again as a single streaming pass.
+     * @return the data file from the streaming pass
+     */
+    private static Path download(String url, Path workDir, Result result) throws Exception {
+        Path compressed = workDir.resolve("download.ipi.gz");
+        long start = System.currentTimeMillis();
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+            throw new IllegalStateException("Download failed with status " +
+                    connection.getResponseCode());
+        }
+        String expectedMd5 = connection.getHeaderField("Content-MD5");
+        try (InputStream in = connection.getInputStream()) {
+            Files.copy(in, compressed, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            connection.disconnect();
+        }
+        result.downloadMillis = System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        MessageDigest digest = MessageDigest.getInstance("MD5");
+        try (InputStream in = new DigestInputStream(Files.newInputStream(compressed), digest)) {
+            byte[] buffer = new byte[64 * 1024];
+            while (in.read(buffer) > 0) {
+                // reading updates the digest
+            }
+        }
+        String actualMd5 = DataFileDownloader.toHex(digest.digest());
+        if (actualMd5.equalsIgnoreCase(expectedMd5) == false) {
+            throw new IllegalStateException("MD5 of download " + actualMd5 +
+                    " does not match " + expectedMd5);
+        }
+        result.verifyMillis = System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        Path decompressed = workDir.resolve("update.ipi");
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(compressed), 64 * 1024)) {
+            Files.copy(in, decompressed, StandardCopyOption.REPLACE_EXISTING);
+        }
+        result.decompressMillis = System.currentTimeMillis() - start;
+
+        // the same steps in a single pass, with the compressed file never
+        // written to disk
+        Path streamed = workDir.resolve("streamed.ipi");
+        DataFileDownloader.Result streaming = new DataFileDownloader()
+                .download(new URL(url), streamed);
+        result.streamingMillis = streaming.getMillis();
+        return streamed;
+    }
+
+    /**
+     * Replace the data file used by a running pipeline, which reloads it, while lookups
+     * are made on several threads.
+     */
+    private static void reload(String url,
+                               Path original,
+                               Path update,
+                               Path workDir,
+                               int threads,
+                               Result result) throws Exception {
+        Path live = workDir.resolve("live.ipi");
+        Files.copy(original, live, StandardCopyOption.REPLACE_EXISTING);
+        CountDownLatch reloaded = new CountDownLatch(1);
+        // other statuses, such as a poll of the server finding no newer file, are not
+        // the reload being measured, but the last one is reported if it never happens
+        AtomicReference<DataUpdateService.AutoUpdateStatus> lastStatus =
+                new AtomicReference<>();
+
+        try (DataUpdateService dataUpdateService = new DataUpdateServiceDefault()) {
+            dataUpdateService.onUpdateComplete((sender, args) -> {
+                logger.info("Update complete, status {}", args.getStatus());
+                lastStatus.set(args.getStatus());
+                if (args.getStatus() ==
+                        DataUpdateService.AutoUpdateStatus.AUTO_UPDATE_SUCCESS) {
+                    reloaded.countDown();
+                }
+            });
+            try (Pipeline pipeline = new IPIntelligencePipelineBuilder()
+                    .useOnPremise(live.toString(), true)
+                    .setPerformanceProfile(Constants.PerformanceProfiles.MaxPerformance)
+                    .setShareUsage(false)
+                    .setDataUpdateService(dataUpdateService)
+                    // any automatic update goes to the local server, not the distributor
+                    .setDataUpdateUrl(url)
+                    .setDataUpdateUseUrlFormatter(false)
+                    .setDataUpdateOnStartup(false)
+                    .setAutoUpdate(true)
+                    .setDataFileSystemWatcher(true)
+                    .setUpdatePollingInterval(1)
+                    .build()) {
+
+                AtomicBoolean running = new AtomicBoolean(true);
+                AtomicBoolean reloading = new AtomicBoolean(false);
+                ExecutorService executor = Executors.newFixedThreadPool(threads);
+                try {
+                    List<Future<List<long[]>>> futures = new ArrayList<>();
+                    for (int t = 0; t < threads; t++) {
+                        int offset = t;
+                        futures.add(executor.submit(() -> lookups(
+                                pipeline, offset, running, reloading)));
+                    }
+
+                    Thread.sleep(1000);
+                    reloading.set(true);
+                    long start = System.currentTimeMillis();
+                    Files.copy(update, live, StandardCopyOption.REPLACE_EXISTING);
+                    // make sure the watcher sees the file as changed even if the copy
+                    // kept the same modified time
+                    File liveFile = live.toFile();
+                    liveFile.setLastModified(System.currentTimeMillis() + 1000);
+                    if (reloaded.await(RELOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS) == false) {
+                        throw new IllegalStateException("Reload did not succeed within " +
+                                RELOAD_TIMEOUT_SECONDS + " seconds, last update status " +
+                                lastStatus.get());
+                    }
+                    result.reloadMillis = System.currentTimeMillis() - start;
+                    reloading.set(false);
+                    Thread.sleep(1000);
+                    running.set(false);
+
+                    List<long[]> normal = new ArrayList<>();
+                    List<long[]> duringReload = new ArrayList<>();
+                    for (Future<List<long[]>> future : futures) {
+                        List<long[]> latencies = future.get();
+                        normal.add(latencies.get(0));
+                        duringReload.add(latencies.get(1));
+                    }
+                    result.normalLatency = sorted(normal);
+                    result.reloadLatency = sorted(duringReload);
+                } finally {
+                    running.set(false);
+                    executor.shutdownNow();
+                }
+            }
+        }
+    }
+
+    /**
+     * Build a pipeline for a data file which does not exist yet, so that it is downloaded
+     * from the server, verified, decompressed and loaded by the update client on start-up.
+     */
+    private static void startupUpdate(String url, Path workDir, Result result) throws Exception {
+        Path target = workDir.resolve("startup.ipi");
+        AtomicReference<String> status = new AtomicReference<>("NONE");
+        try (DataUpdateService dataUpdateService = new DataUpdateServiceDefault()) {
+            dataUpdateService.onUpdateComplete(
+                    (sender, args) -> status.set(args.getStatus().toString()));
+            long start = System.currentTimeMillis();
+            try (Pipeline pipeline = new IPIntelligencePipelineBuilder()
+                    .useOnPremise(target.toString(), true)
+                    .setPerformanceProfile(Constants.PerformanceProfiles.MaxPerformance)
+                    .setShareUsage(false)
+                    .setDataUpdateService(dataUpdateService)
+                    .setDataUpdateUrl(url)
+                    .setDataUpdateUseUrlFormatter(false)
+                    .setDataUpdateOnStartup(true)
+                    .setAutoUpdate(true)
+                    .setDataFileSystemWatcher(false)
+                    .build()) {
+                result.startupUpdateMillis = System.currentTimeMillis() - start;
+            }
+        }
+        result.startupUpdateStatus = status.get();
+    }
+
+    /**
+     * Make lookups until stopped, returning the latencies in microseconds of those made
+     * while not reloading and while reloading.
+     */
+    private static List<long[]> lookups(Pipeline pipeline,
+                                        int offset,
+                                        AtomicBoolean running,
+                                        AtomicBoolean reloading) throws Exception {
+        long[][] latencies = {new long[1024], new long[1024]};
+        int[] counts = new int[2];
+        for (int i = offset; running.get(); i++) {
+            int phase = reloading.get() ? 1 : 0;
+            long start = System.nanoTime();
+            try (FlowData flowData = pipeline.createFlowData()) {
+                flowData.addEvidence("query.client-ip", IPS[i % IPS.length]);
+                flowData.process();
+            }
+            long micros = (System.nanoTime() - start) / 1000;
+            if (counts[phase] == latencies[phase].length) {
+                latencies[phase] = Arrays.copyOf(latencies[phase], counts[phase] * 2);
+            }
+            latencies[phase][counts[phase]++] = micros;
+        }
+        List<long[]> result = new ArrayList<>(2);
+        result.add(Arrays.copyOf(latencies[0], counts[0]));
+        result.add(Arrays.copyOf(latencies[1], counts[1]));
+        return result;
+    }
+
+    private static long[] sorted(List<long[]> arrays) {
+        long[] all = arrays.stream().flatMapToLong(Arrays::stream).toArray();
+        Arrays.sort(all);
+        return all;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted == null || sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, quantile * sorted.length)];
+    }
+
+    private static void deleteRecursively(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            List<Path> all = new ArrayList<>();
+            paths.forEach(all::add);
+            Collections.reverse(all);
+            for (Path path : all) {
+                Files.deleteIfExists(path);
+            }
+        } catch (Exception e) {
+            logger.warn("Could not delete '{}'", directory, e);
+        }
+    }
+}
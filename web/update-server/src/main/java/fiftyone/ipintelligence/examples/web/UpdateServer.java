@@ -0,0 +1,246 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+/*!
+ * @example web/UpdateServer.java
+ *
+ * This example hosts a local stand-in for the 51Degrees data file update service, so that
+ * automatic data file updates can be exercised without a license key or network access.
+ *
+ * The server responds to any path with the gzipped data file and the headers the update
+ * client expects:
+ *
+ * - `Content-MD5` holding the MD5 of the compressed content as hex, which is verified by
+ *   the client
+ * - `Last-Modified` holding the published date of the data file. A request with an
+ *   `If-Modified-Since` header at or after that date receives `304 Not Modified`
+ *
+ * The download rate can be throttled in bytes per second, and the number of concurrent
+ * downloads limited, with any further requests receiving `429 Too Many Requests` as the
+ * real service does.
+ *
+ * An on-premise pipeline is pointed at the server with
+ * ``` {java}
+ *     .setDataUpdateUrl("http://localhost:5226/")
+ *     .setDataUpdateUseUrlFormatter(false)
+ * ```
+ *
+ * See UpdateBenchmark for a benchmark of the update process which uses this server.
+ *
+ * This example is available in full on [GitHub](https://github.com/51Degrees/ip-intelligence-java-examples/blob/main/web/update-server/src/main/java/fiftyone/ipintelligence/examples/web/UpdateServer.java).
+ *
+ * Required Maven Dependencies:
+ * - [com.51degrees:ip-intelligence](https://central.sonatype.com/artifact/com.51degrees/ip-intelligence)
+ */
+
+package fiftyone.ipintelligence.examples.web;
+
+import fiftyone.ipintelligence.examples.shared.DataFileDownloader;
+import fiftyone.ipintelligence.examples.shared.DataFileHeader;
+import fiftyone.ipintelligence.examples.shared.DataFileHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+import static fiftyone.common.testhelpers.LogbackHelper.configureLogback;
+import static fiftyone.ipintelligence.examples.shared.DataFileHelper.ENTERPRISE_DATA_FILE_REL_PATH;
+import static fiftyone.pipeline.util.FileFinder.getFilePath;
+
+/**
+ * Serves a gzipped IP Intelligence data file in the same way as the 51Degrees update
+ * service. The data file is compressed once when the servlet starts, to a temporary
+ * file, so that each download only streams the compressed bytes.
+ * <p>
+ * The servlet is configured with init parameters: {@link #DATA_FILE_INIT_PARAM} the data
+ * file to serve, {@link #BYTES_PER_SECOND_INIT_PARAM} the maximum rate of each download
+ * where 0 is unlimited, and {@link #MAX_DOWNLOADS_INIT_PARAM} the maximum number of
+ * concurrent downloads where 0 is unlimited.
+ */
+public class UpdateServer extends HttpServlet {
+    private static final long serialVersionUID = -3624119510739583215L;
+    public static final int DEFAULT_PORT = 5226;
+    public static final String DATA_FILE_INIT_PARAM = "dataFile";
+    public static final String BYTES_PER_SECOND_INIT_PARAM = "bytesPerSecond";
+    public static final String MAX_DOWNLOADS_INIT_PARAM = "maxDownloads";
+    // HTTP status for too many requests, which HttpServletResponse does not define
+    public static final int SC_TOO_MANY_REQUESTS = 429;
+    // size of each write, and so the granularity of the throttling
+    private static final int CHUNK_SIZE = 64 * 1024;
+    public static Logger logger = LoggerFactory.getLogger(UpdateServer.class);
+
+    private Path compressed;
+    private String md5;
+    private String fileName;
+    private long lastModified;
+    private long bytesPerSecond;
+    private Semaphore downloads;
+
+    public static void main(String[] args) throws Exception {
+        configureLogback(getFilePath("logback.xml"));
+        String dataFile = args.length > 0 ? args[0] : ENTERPRISE_DATA_FILE_REL_PATH;
+        String bytesPerSecond = args.length > 1 ? args[1] : "0";
+        String dataFileLocation = DataFileHelper.getDataFileLocation(dataFile);
+        logger.info("Running UpdateServer using data file '{}'", dataFileLocation);
+
+        Map<String, String> initParams = new HashMap<>();
+        initParams.put(DATA_FILE_INIT_PARAM, dataFileLocation);
+        initParams.put(BYTES_PER_SECOND_INIT_PARAM, bytesPerSecond);
+        EmbedJetty.runServlet("/*", DEFAULT_PORT, UpdateServer.class, initParams);
+    }
+
+    @Override
+    public void init() throws ServletException {
+        Path source = Paths.get(getInitParameter(DATA_FILE_INIT_PARAM));
+        bytesPerSecond = parseLong(getInitParameter(BYTES_PER_SECOND_INIT_PARAM));
+        long maxDownloads = parseLong(getInitParameter(MAX_DOWNLOADS_INIT_PARAM));
+        downloads = maxDownloads > 0 ? new Semaphore((int) maxDownloads) : null;
+        fileName = source.getFileName() + ".gz";
+        try {
+            lastModified = lastModified(source);
+            compressed = Files.createTempFile("update-server-", ".ipi.gz");
+            compressed.toFile().deleteOnExit();
+            md5 = compress(source, compressed);
+            logger.info("Serving '{}' compressed to {} bytes with MD5 {}",
+                    source, Files.size(compressed), md5);
+        } catch (Exception e) {
+            throw new ServletException("Failed to compress data file '" + source + "'", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            Files.deleteIfExists(compressed);
+        } catch (IOException e) {
+            logger.warn("Could not delete '{}'", compressed, e);
+        }
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+        // HTTP dates have a resolution of one second
+        if (ifModifiedSince >= 0 && ifModifiedSince / 1000 >= lastModified / 1000) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        if (downloads != null && downloads.tryAcquire() == false) {
+            logger.info("Rejecting download, too many concurrent downloads");
+            response.setStatus(SC_TOO_MANY_REQUESTS);
+            return;
+        }
+        try {
+            response.setContentType("application/gzip");
+            response.setHeader("Content-Disposition",
+                    "attachment; filename=\"" + fileName + "\"");
+            response.setHeader("Content-MD5", md5);
+            response.setDateHeader("Last-Modified", lastModified);
+            response.setContentLengthLong(Files.size(compressed));
+            try (InputStream in = Files.newInputStream(compressed);
+                 OutputStream out = response.getOutputStream()) {
+                copy(in, out);
+            }
+        } finally {
+            if (downloads != null) {
+                downloads.release();
+            }
+        }
+    }
+
+    /**
+     * Copy the stream, sleeping between chunks if needed to keep to the
+     * configured rate.
+     */
+    private void copy(InputStream in, OutputStream out) throws IOException {
+        byte[] chunk = new byte[CHUNK_SIZE];
+        long start = System.nanoTime();
+        long sent = 0;
+        int read;
+        while ((read = in.read(chunk)) > 0) {
+            out.write(chunk, 0, read);
+            sent += read;
+            if (bytesPerSecond > 0) {
+                long dueNanos = sent * 1_000_000_000L / bytesPerSecond;
+                long aheadMillis = (dueNanos - (System.nanoTime() - start)) / 1_000_000;
+                if (aheadMillis > 0) {
+                    try {
+                        Thread.sleep(aheadMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted while throttling", e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Compress the source file to the target, returning the hex MD5 of the
+     * compressed bytes.
+     */
+    static String compress(Path source, Path target) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("MD5");
+        try (InputStream in = Files.newInputStream(source);
+             GZIPOutputStream gzip = new GZIPOutputStream(new DigestOutputStream(
+                     Files.newOutputStream(target), digest), CHUNK_SIZE)) {
+            byte[] chunk = new byte[CHUNK_SIZE];
+            int read;
+            while ((read = in.read(chunk)) > 0) {
+                gzip.write(chunk, 0, read);
+            }
+        }
+        return DataFileDownloader.toHex(digest.digest());
+    }
+
+    /**
+     * The published date of the data file from its header, or the time the
+     * file was modified if the header can not be read.
+     */
+    private static long lastModified(Path source) throws IOException {
+        try {
+            return DataFileHeader.read(source).getPublished().getTime();
+        } catch (IOException e) {
+            return Files.getLastModifiedTime(source).toMillis();
+        }
+    }
+
+    private static long parseLong(String value) {
+        return value == null || value.isEmpty() ? 0 : Long.parseLong(value);
+    }
+}
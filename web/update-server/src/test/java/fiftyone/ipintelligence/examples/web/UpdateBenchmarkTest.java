@@ -0,0 +1,50 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.web;
+
+import fiftyone.ipintelligence.examples.shared.DataFileHelper;
+import org.junit.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class UpdateBenchmarkTest {
+
+    @Test
+    public void testUpdateBenchmark() throws Exception {
+        String dataFilePath = DataFileHelper.findAvailableDataFile();
+        assumeTrue("Skipping test, no IP Intelligence data file found",
+                dataFilePath != null);
+
+        StringWriter report = new StringWriter();
+        UpdateBenchmark.Result result = UpdateBenchmark.run(
+                dataFilePath, 0, 2, new PrintWriter(report));
+        assertTrue("The reload should have been timed", result.getReloadMillis() > 0);
+        assertTrue("Lookups should have been made during the reload",
+                result.getReloadLatency(0.5) >= 0);
+        assertTrue(report.toString().contains("Update on start-up"));
+    }
+}
@@ -0,0 +1,155 @@
+/* *********************************************************************
+ * This Original Work is copyright of 51 Degrees Mobile Experts Limited.
+ * Copyright 2026 51 Degrees Mobile Experts Limited, Davidson House,
+ * Forbury Square, Reading, Berkshire, United Kingdom RG1 3EU.
+ *
+ * This Original Work is licensed under the European Union Public Licence
+ * (EUPL) v.1.2 and is subject to its terms as set out below.
+ *
+ * If a copy of the EUPL was not distributed with this file, You can obtain
+ * one at https://opensource.org/licenses/EUPL-1.2.
+ *
+ * The 'Compatible Licences' set out in the Appendix to the EUPL (as may be
+ * amended by the European Commission) shall be deemed incompatible for
+ * the purposes of the Work and the provisions of the compatibility
+ * clause in Article 5 of the EUPL shall not apply.
+ *
+ * If using the Work as, or as part of, a network application, by
+ * including the attribution notice(s) required under Article 5 of the EUPL
+ * in the end user terms of the application under an appropriate heading,
+ * such notice(s) shall fulfill the requirements of that article.
+ * ********************************************************************* */
+
+package fiftyone.ipintelligence.examples.web;
+
+import org.eclipse.jetty.server.Server;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class UpdateServerTest {
+    // a data file for the server does not need to be valid for these tests
+    private static final int FILE_SIZE = 256 * 1024;
+    private static byte[] CONTENT;
+    private static Path FILE;
+    private static Server SERVER;
+    private static int PORT;
+
+    @BeforeClass
+    public static void startJetty() throws Exception {
+        CONTENT = new byte[FILE_SIZE];
+        new Random(42).nextBytes(CONTENT);
+        FILE = Files.createTempFile("update-server-test-", ".ipi");
+        Files.write(FILE, CONTENT);
+        SERVER = start(0, 0);
+        PORT = EmbedJetty.boundPort(SERVER);
+    }
+
+    private static Server start(long bytesPerSecond, int maxDownloads) throws Exception {
+        Map<String, String> initParams = new HashMap<>();
+        initParams.put(UpdateServer.DATA_FILE_INIT_PARAM, FILE.toString());
+        initParams.put(UpdateServer.BYTES_PER_SECOND_INIT_PARAM, Long.toString(bytesPerSecond));
+        initParams.put(UpdateServer.MAX_DOWNLOADS_INIT_PARAM, Integer.toString(maxDownloads));
+        // Bind an OS-assigned ephemeral port (0) to avoid conflicts.
+        return EmbedJetty.startServlet("/*", 0, UpdateServer.class, initParams);
+    }
+
+    private static HttpURLConnection open(int port) throws Exception {
+        return (HttpURLConnection) new URL("http://localhost:" + port + "/").openConnection();
+    }
+
+    private static byte[] readAll(InputStream in) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) > 0) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static String md5(byte[] bytes) throws Exception {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("MD5").digest(bytes)) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    @Test
+    public void testDownload() throws Exception {
+        HttpURLConnection connection = open(PORT);
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("application/gzip", connection.getContentType());
+        byte[] body;
+        try (InputStream in = connection.getInputStream()) {
+            body = readAll(in);
+        }
+        assertEquals("Content-MD5 should be the MD5 of the compressed content",
+                md5(body), connection.getHeaderField("Content-MD5"));
+        assertEquals(body.length, connection.getContentLengthLong());
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertArrayEquals(CONTENT, readAll(in));
+        }
+        connection.disconnect();
+    }
+
+    @Test
+    public void testNotModified() throws Exception {
+        HttpURLConnection connection = open(PORT);
+        long lastModified = connection.getLastModified();
+        connection.disconnect();
+
+        connection = open(PORT);
+        connection.setIfModifiedSince(lastModified);
+        assertEquals(304, connection.getResponseCode());
+        connection.disconnect();
+
+        connection = open(PORT);
+        connection.setIfModifiedSince(lastModified - 60000);
+        assertEquals(200, connection.getResponseCode());
+        connection.disconnect();
+    }
+
+    @Test
+    public void testTooManyDownloads() throws Exception {
+        // throttled so that the first download is still in progress
+        Server server = start(64 * 1024, 1);
+        try {
+            int port = EmbedJetty.boundPort(server);
+            HttpURLConnection first = open(port);
+            assertEquals(200, first.getResponseCode());
+            try (InputStream in = first.getInputStream()) {
+                in.read();
+                HttpURLConnection second = open(port);
+                assertEquals(UpdateServer.SC_TOO_MANY_REQUESTS, second.getResponseCode());
+                second.disconnect();
+            }
+            first.disconnect();
+        } finally {
+            EmbedJetty.stopAndJoin(server);
+        }
+    }
+
+    @AfterClass
+    public static void stopJetty() throws Exception {
+        EmbedJetty.stopAndJoin(SERVER);
+        Files.deleteIfExists(FILE);
+    }
+}